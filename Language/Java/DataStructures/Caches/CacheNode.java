@@ -0,0 +1,50 @@
+package Language.Java.DataStructures.Caches;
+
+/*
+ * One cache entry. The node is both the value stored in the cache's hash table and the handle of its place in a
+ * RecencyList, so moving an entry to the front never has to search the list.
+ */
+public class CacheNode<K, V> {
+    final K key;
+    volatile V value; // Read without a lock by concurrent caches
+    int weight;
+    CacheNode<K, V> prev;
+    CacheNode<K, V> next;
+    RecencyList<K, V> list; // The list the node is in, or null
+
+    public CacheNode(K key, V value, int weight) {
+        this.key = key;
+        this.value = value;
+        this.weight = weight;
+    }
+
+    public K getKey() {
+        return key;
+    }
+
+    public V getValue() {
+        return value;
+    }
+
+    public void setValue(V value) {
+        this.value = value;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    // The next node of its list, towards the least recently used end
+    public CacheNode<K, V> getNext() {
+        return next;
+    }
+
+    // False once the node was taken out of its list, e.g. after an eviction
+    public boolean isLinked() {
+        return list != null;
+    }
+}
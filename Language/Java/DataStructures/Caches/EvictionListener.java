@@ -0,0 +1,11 @@
+package Language.Java.DataStructures.Caches;
+
+/*
+ * Called with every entry a cache drops to stay within its capacity.
+ * Entries removed with remove(...) or replaced by put(...) are not reported.
+ */
+@FunctionalInterface
+public interface EvictionListener<K, V> {
+
+    void onEviction(K key, V value);
+}
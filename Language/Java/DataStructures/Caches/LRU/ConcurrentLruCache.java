@@ -0,0 +1,221 @@
+package Language.Java.DataStructures.Caches.LRU;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import Language.Java.DataStructures.Caches.CacheNode;
+import Language.Java.DataStructures.Caches.EvictionListener;
+import Language.Java.DataStructures.Caches.RecencyList;
+import Language.Java.DataStructures.Caches.Weigher;
+import Language.Java.DataStructures.HashTables.ClosedAddressing.ConcurrentSeparateChaining.HashTable;
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+
+/*
+ * Thread-safe least recently used cache.
+ * Lookups go to a lock-striped ConcurrentSeparateChaining.HashTable without locking. A hit is not applied to the
+ * RecencyList straight away: the node is dropped into one of several small read buffers, picked by thread, and the
+ * buffers are replayed onto the list later by whoever holds the eviction lock. Writes take that lock, replay
+ * the buffers and evict. A full buffer simply forgets the hit, so the order is close to LRU rather than exact.
+ */
+public class ConcurrentLruCache<K, V> {
+
+    // A lossy ring of recent hits; any thread may add, only the holder of the eviction lock drains
+    private static final class ReadBuffer<K, V> {
+        final AtomicReferenceArray<CacheNode<K, V>> slots = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        final AtomicLong writeCounter = new AtomicLong();
+        volatile long readCounter;
+
+        // Returns false when the buffer is full and the hit was dropped
+        boolean offer(CacheNode<K, V> node) {
+            long tail = writeCounter.get();
+            if (tail - readCounter >= READ_BUFFER_SIZE) {
+                return false;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                slots.lazySet((int) (tail & (READ_BUFFER_SIZE - 1)), node);
+            }
+            return true;
+        }
+
+        void drainTo(RecencyList<K, V> recency) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & (READ_BUFFER_SIZE - 1));
+                CacheNode<K, V> node = slots.get(index);
+                if (node == null) {
+                    break; // Claimed by a reader that has not stored its node yet
+                }
+                slots.lazySet(index, null);
+                recency.moveToFront(node);
+            }
+            readCounter = head;
+        }
+    }
+
+    private static final int READ_BUFFER_SIZE = 16;
+    private static final int MAX_READ_BUFFERS = 64;
+
+    private final HashTable<K, CacheNode<K, V>> table;
+    private final ReadBuffer<K, V>[] readBuffers;
+    private final int bufferMask;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final RecencyList<K, V> recency = new RecencyList<>(); // Guarded by evictionLock
+    private final long maximumWeight;
+    private final Weigher<? super K, ? super V> weigher;
+    private volatile EvictionListener<? super K, ? super V> listener;
+    private volatile long weight = 0; // Only written under evictionLock
+    private final LongAdder evictions = new LongAdder();
+
+    public ConcurrentLruCache(long maximumSize) {
+        this(maximumSize, (key, value) -> 1, HashStrategies.defaultStrategy());
+    }
+
+    public ConcurrentLruCache(long maximumWeight, Weigher<? super K, ? super V> weigher) {
+        this(maximumWeight, weigher, HashStrategies.defaultStrategy());
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLruCache(long maximumWeight, Weigher<? super K, ? super V> weigher, HashStrategy<? super K> strategy) {
+        if (maximumWeight <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.table = new HashTable<>(strategy);
+        int buffers = 1;
+        while (buffers < 4 * Runtime.getRuntime().availableProcessors() && buffers < MAX_READ_BUFFERS) {
+            buffers <<= 1;
+        }
+        readBuffers = (ReadBuffer<K, V>[]) new ReadBuffer<?, ?>[buffers];
+        for (int i = 0; i < buffers; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+        bufferMask = buffers - 1;
+    }
+
+    public void setEvictionListener(EvictionListener<? super K, ? super V> listener) {
+        this.listener = listener;
+    }
+
+    public V get(K key) {
+        if (key == null) return null;
+        CacheNode<K, V> node = table.get(key);
+        if (node == null) return null;
+        V value = node.getValue();
+        ReadBuffer<K, V> buffer = readBuffers[HashStrategies.fmix32((int) Thread.currentThread().getId()) & bufferMask];
+        if (!buffer.offer(node) && evictionLock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        return value;
+    }
+
+    // Like get(...), but leaves the order alone
+    public boolean contains(K key) {
+        return table.contains(key);
+    }
+
+    public void put(K key, V value) {
+        if (key == null || value == null) return;
+        int entryWeight = weigher.weigh(key, value);
+        if (entryWeight < 0) throw new IllegalArgumentException("Negative weight for key " + key);
+        if (entryWeight > maximumWeight) {
+            // Would push out everything else and still not fit
+            remove(key);
+            evictions.increment();
+            EvictionListener<? super K, ? super V> current = listener;
+            if (current != null) current.onEviction(key, value);
+            return;
+        }
+        List<CacheNode<K, V>> evicted;
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            CacheNode<K, V> node = table.get(key);
+            if (node != null) {
+                weight += entryWeight - node.getWeight();
+                node.setValue(value);
+                node.setWeight(entryWeight);
+                recency.moveToFront(node);
+            } else {
+                node = new CacheNode<>(key, value, entryWeight);
+                table.add(key, node);
+                recency.insertFirst(node);
+                weight += entryWeight;
+            }
+            evicted = evict();
+        } finally {
+            evictionLock.unlock();
+        }
+        notifyEvicted(evicted);
+    }
+
+    public V remove(K key) {
+        if (key == null) return null;
+        evictionLock.lock();
+        try {
+            CacheNode<K, V> node = table.remove(key);
+            if (node == null) return null;
+            recency.remove(node);
+            weight -= node.getWeight();
+            return node.getValue();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void drainReadBuffers() {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            buffer.drainTo(recency);
+        }
+    }
+
+    // Runs under the eviction lock; the listener is called after it is released
+    private List<CacheNode<K, V>> evict() {
+        List<CacheNode<K, V>> evicted = null;
+        while (weight > maximumWeight) {
+            CacheNode<K, V> victim = recency.removeLast();
+            table.remove(victim.getKey());
+            weight -= victim.getWeight();
+            evictions.increment();
+            if (evicted == null) evicted = new ArrayList<>();
+            evicted.add(victim);
+        }
+        return evicted;
+    }
+
+    private void notifyEvicted(List<CacheNode<K, V>> evicted) {
+        EvictionListener<? super K, ? super V> current = listener;
+        if (evicted == null || current == null) return;
+        for (CacheNode<K, V> node : evicted) {
+            current.onEviction(node.getKey(), node.getValue());
+        }
+    }
+
+    public int size() {
+        return table.getSize();
+    }
+
+    public boolean isEmpty() {
+        return table.isEmpty();
+    }
+
+    public long weightedSize() {
+        return weight;
+    }
+
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,138 @@
+package Language.Java.DataStructures.Caches.LRU;
+
+import Language.Java.DataStructures.Caches.CacheNode;
+import Language.Java.DataStructures.Caches.EvictionListener;
+import Language.Java.DataStructures.Caches.RecencyList;
+import Language.Java.DataStructures.Caches.Weigher;
+import Language.Java.DataStructures.HashTables.ClosedAddressing.SeparateChaining.HashTable;
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+
+/*
+ * Least recently used cache.
+ * A SeparateChaining.HashTable maps every key to its CacheNode, and the same nodes form a RecencyList.
+ * A hit moves its node to the front, and when the cache is over capacity the node at the back is evicted,
+ * so get, put and evict are all O(1).
+ * Capacity is either a number of entries or, with a Weigher, a total weight. Not thread-safe, see ConcurrentLruCache.
+ */
+public class LruCache<K, V> {
+    private final HashTable<K, CacheNode<K, V>> table;
+    private final RecencyList<K, V> recency = new RecencyList<>();
+    private final long maximumWeight;
+    private final Weigher<? super K, ? super V> weigher;
+    private EvictionListener<? super K, ? super V> listener;
+    private long weight = 0;
+    private long evictions = 0;
+
+    public LruCache(long maximumSize) {
+        this(maximumSize, (key, value) -> 1, HashStrategies.defaultStrategy());
+    }
+
+    public LruCache(long maximumWeight, Weigher<? super K, ? super V> weigher) {
+        this(maximumWeight, weigher, HashStrategies.defaultStrategy());
+    }
+
+    public LruCache(long maximumWeight, Weigher<? super K, ? super V> weigher, HashStrategy<? super K> strategy) {
+        if (maximumWeight <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.table = new HashTable<>(strategy);
+    }
+
+    public void setEvictionListener(EvictionListener<? super K, ? super V> listener) {
+        this.listener = listener;
+    }
+
+    // Returns null on a miss; a hit makes the entry the most recently used one
+    public V get(K key) {
+        if (key == null || table.isEmpty()) return null;
+        CacheNode<K, V> node = table.get(key);
+        if (node == null) return null;
+        recency.moveToFront(node);
+        return node.getValue();
+    }
+
+    // Like get(...), but leaves the order alone
+    public boolean contains(K key) {
+        return key != null && !table.isEmpty() && table.get(key) != null;
+    }
+
+    public void put(K key, V value) {
+        if (key == null || value == null) return;
+        int entryWeight = weigh(key, value);
+        if (entryWeight > maximumWeight) {
+            // Would push out everything else and still not fit
+            remove(key);
+            evictions++;
+            if (listener != null) listener.onEviction(key, value);
+            return;
+        }
+        CacheNode<K, V> node = table.isEmpty() ? null : table.get(key);
+        if (node != null) {
+            weight += entryWeight - node.getWeight();
+            node.setValue(value);
+            node.setWeight(entryWeight);
+            recency.moveToFront(node);
+        } else {
+            node = new CacheNode<>(key, value, entryWeight);
+            table.add(key, node);
+            recency.insertFirst(node);
+            weight += entryWeight;
+        }
+        evict();
+    }
+
+    public V remove(K key) {
+        if (key == null || table.isEmpty()) return null;
+        CacheNode<K, V> node = table.remove(key);
+        if (node == null) return null;
+        recency.remove(node);
+        weight -= node.getWeight();
+        return node.getValue();
+    }
+
+    private void evict() {
+        while (weight > maximumWeight) {
+            CacheNode<K, V> victim = recency.removeLast();
+            table.remove(victim.getKey());
+            weight -= victim.getWeight();
+            evictions++;
+            if (listener != null) {
+                listener.onEviction(victim.getKey(), victim.getValue());
+            }
+        }
+    }
+
+    private int weigh(K key, V value) {
+        int entryWeight = weigher.weigh(key, value);
+        if (entryWeight < 0) throw new IllegalArgumentException("Negative weight for key " + key);
+        return entryWeight;
+    }
+
+    public void printCache() {
+        for (CacheNode<K, V> node = recency.first(); node != null; node = node.getNext()) {
+            System.out.println("Key: " + node.getKey() + " | Value: " + node.getValue() + " | Weight: " + node.getWeight());
+        }
+    }
+
+    public int size() {
+        return table.getSize();
+    }
+
+    public boolean isEmpty() {
+        return table.isEmpty();
+    }
+
+    // Total weight of the entries, equal to size() without a Weigher
+    public long weightedSize() {
+        return weight;
+    }
+
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    public long evictionCount() {
+        return evictions;
+    }
+}
@@ -0,0 +1,102 @@
+package Language.Java.DataStructures.Caches.LRU;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LruCacheDemo {
+    public static void main(String[] args) throws InterruptedException {
+        // 1. Size-bounded: the least recently used key goes first
+        System.out.println("### Size-Bounded Cache ###");
+        LruCache<String, Integer> cache = new LruCache<>(3);
+        cache.setEvictionListener((key, value) -> System.out.println("Evicted: " + key + "=" + value));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.get("a"); // "b" is now the least recently used
+        cache.put("d", 4); // Expected: Evicted: b=2
+        cache.printCache(); // Expected: d, a, c
+        System.out.println("Contains 'b': " + cache.contains("b")); // Expected: false
+        System.out.println("Removed 'c': " + cache.remove("c")); // Expected: 3
+        System.out.println("Size: " + cache.size()); // Expected: 2
+
+        // 2. Weight-bounded: strings weighed by their length
+        System.out.println("\n### Weight-Bounded Cache ###");
+        LruCache<Integer, String> weighted = new LruCache<>(20, (key, value) -> value.length());
+        weighted.setEvictionListener((key, value) -> System.out.println("Evicted: " + key + "=" + value));
+        weighted.put(1, "ten chars!");
+        weighted.put(2, "five!");
+        weighted.put(3, "five!");
+        weighted.put(4, "three"); // Expected: Evicted: 1=ten chars!
+        System.out.println("Weighted size: " + weighted.weightedSize()); // Expected: 15
+        weighted.put(5, "far more than twenty characters"); // Heavier than the whole cache, evicted at once
+        // Expected: Evicted: 5=far more than twenty characters
+        System.out.println("Size: " + weighted.size() + ", weighted size: " + weighted.weightedSize()); // Expected: 3, 15
+
+        // 3. Random operations checked against an access-ordered LinkedHashMap
+        System.out.println("\n### Random Operations Against LinkedHashMap ###");
+        int capacity = 500;
+        LruCache<Integer, Integer> lru = new LruCache<>(capacity);
+        Map<Integer, Integer> model = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return size() > capacity;
+            }
+        };
+        Random random = new Random(7);
+        int mismatches = 0;
+        for (int i = 0; i < 1000000; i++) {
+            int key = random.nextInt(2000);
+            int op = random.nextInt(4);
+            if (op == 0) {
+                lru.put(key, i);
+                model.put(key, i);
+            } else if (op == 1) {
+                if (!Objects.equals(lru.remove(key), model.remove(key))) mismatches++;
+            } else if (!Objects.equals(lru.get(key), model.get(key))) {
+                mismatches++;
+            }
+        }
+        if (lru.size() != model.size()) mismatches++;
+        System.out.println("Mismatches: " + mismatches); // Expected: 0
+
+        // 4. Concurrent cache: readers and writers on shared keys, every value must belong to its key
+        System.out.println("\n### Concurrent Cache ###");
+        ConcurrentLruCache<Integer, Integer> concurrent = new ConcurrentLruCache<>(1000);
+        AtomicInteger wrong = new AtomicInteger();
+        AtomicLong hits = new AtomicLong();
+        AtomicLong evicted = new AtomicLong();
+        concurrent.setEvictionListener((key, value) -> evicted.incrementAndGet());
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int seed = t;
+            threads[t] = new Thread(() -> {
+                Random keys = new Random(seed);
+                for (int i = 0; i < 500000; i++) {
+                    // Squaring a uniform number makes small keys far more popular
+                    double u = keys.nextDouble();
+                    int key = (int) (u * u * 5000);
+                    Integer value = concurrent.get(key);
+                    if (value == null) {
+                        concurrent.put(key, key * 2);
+                    } else if (value != key * 2) {
+                        wrong.incrementAndGet();
+                    } else {
+                        hits.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.println("Wrong values: " + wrong.get()); // Expected: 0
+        System.out.println("Size: " + concurrent.size() + ", weighted size: " + concurrent.weightedSize()); // Expected: 1000, 1000
+        System.out.println("Evictions reported: " + evicted.get() + " of " + concurrent.evictionCount());
+        System.out.printf("Hit ratio: %.3f%n", hits.get() / 2000000.0);
+    }
+}
@@ -0,0 +1,78 @@
+package Language.Java.DataStructures.Caches;
+
+/*
+ * Doubly linked list of cache nodes, most recently used first.
+ * Like LinkedLists.DoublyLinkedList, but the links live inside the nodes, so a caller holding a node
+ * can move or remove it in O(1).
+ */
+public class RecencyList<K, V> {
+    private CacheNode<K, V> head;
+    private CacheNode<K, V> tail;
+    private int size = 0;
+
+    public void insertFirst(CacheNode<K, V> node) {
+        if (node.list != null) throw new RuntimeException("Node is already in a list");
+        node.prev = null;
+        node.next = head;
+        if (head != null) {
+            head.prev = node;
+        } else {
+            tail = node;
+        }
+        head = node;
+        node.list = this;
+        size++;
+    }
+
+    // Nodes that are not in this list are ignored
+    public void moveToFront(CacheNode<K, V> node) {
+        if (node.list != this || node == head) return;
+        remove(node);
+        insertFirst(node);
+    }
+
+    public void remove(CacheNode<K, V> node) {
+        if (node.list != this) return;
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            head = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            tail = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        node.list = null;
+        size--;
+    }
+
+    public CacheNode<K, V> removeLast() {
+        if (isEmpty()) throw new RuntimeException("List is empty");
+        CacheNode<K, V> last = tail;
+        remove(last);
+        return last;
+    }
+
+    public boolean contains(CacheNode<K, V> node) {
+        return node.list == this;
+    }
+
+    public CacheNode<K, V> first() {
+        return head;
+    }
+
+    public CacheNode<K, V> last() {
+        return tail;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,79 @@
+package Language.Java.DataStructures.Caches.TinyLFU;
+
+import Language.Java.DataStructures.HashTables.HashStrategies;
+
+/*
+ * Count-min sketch of 4-bit counters, sixteen packed into every long.
+ * Each key has one counter in each of four rows, all rows sharing the same table, and its estimated frequency
+ * is the smallest of the four. Once sampleSize increments have been counted every counter is halved,
+ * so the sketch forgets old popularity and follows changes in the workload.
+ */
+public class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final long HALF_MASK = 0x7777777777777777L;
+    private static final int[] SEEDS = {0x97CB3127, 0xB24B9E6D, 0x6D0F27BD, 0x2C1B3C6D};
+
+    private final long[] table;
+    private final int counterMask;
+    private final int sampleSize;
+    private int size = 0; // Increments since the last reset
+    private int resets = 0;
+
+    // Enough counters for about 16 per cached entry, aged every 10 * maximumSize increments
+    public FrequencySketch(int maximumSize) {
+        if (maximumSize <= 0) throw new IllegalArgumentException("Maximum size must be positive");
+        int longs = 1;
+        while (longs < maximumSize && longs < (1 << 26)) {
+            longs <<= 1;
+        }
+        table = new long[longs];
+        counterMask = longs * 16 - 1;
+        sampleSize = (int) Math.min(10L * maximumSize, Integer.MAX_VALUE);
+    }
+
+    // hash should already be well mixed, e.g. from a HashStrategy
+    public int frequency(int hash) {
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            int counter = counterIndex(hash, i);
+            frequency = Math.min(frequency, (int) (table[counter >>> 4] >>> ((counter & 15) << 2)) & MAX_COUNT);
+        }
+        return frequency;
+    }
+
+    public void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int counter = counterIndex(hash, i);
+            int shift = (counter & 15) << 2;
+            if (((table[counter >>> 4] >>> shift) & MAX_COUNT) != MAX_COUNT) {
+                table[counter >>> 4] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    // Halves every counter. Each odd counter loses half an increment, so their number is taken off the size too
+    private void reset() {
+        long odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & HALF_MASK;
+        }
+        size = Math.max(0, size - (int) (odd >>> 2)) >>> 1;
+        resets++;
+    }
+
+    private int counterIndex(int hash, int row) {
+        return HashStrategies.fmix32(hash + SEEDS[row]) & counterMask;
+    }
+
+    public int resetCount() {
+        return resets;
+    }
+}
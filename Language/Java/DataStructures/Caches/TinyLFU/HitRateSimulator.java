@@ -0,0 +1,116 @@
+package Language.Java.DataStructures.Caches.TinyLFU;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import Language.Java.DataStructures.Caches.LRU.LruCache;
+
+/*
+ * Replays key traces against LruCache and TinyLfuCache and prints their hit rates.
+ * Without arguments it generates a Zipf trace, a loop trace and a Zipf trace interrupted by scans.
+ * With arguments it replays a file instead: HitRateSimulator <trace file> <cache size>...,
+ * where the file holds one integer key per line.
+ */
+public class HitRateSimulator {
+
+    interface Policy {
+        // Returns true on a hit; a miss loads the key into the cache
+        boolean access(Integer key);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            int[] trace = readTrace(Path.of(args[0]));
+            int[] sizes = args.length > 1 ? new int[args.length - 1] : new int[]{1000};
+            for (int i = 1; i < args.length; i++) {
+                sizes[i - 1] = Integer.parseInt(args[i]);
+            }
+            simulate(args[0], trace, sizes);
+            return;
+        }
+        Random random = new Random(42);
+        simulate("Zipf 0.9 over 100000 keys", zipf(random, 100000, 0.9, 2000000), new int[]{500, 2000, 10000});
+        simulate("Loop over 2500 keys", loop(2500, 1000000), new int[]{500, 2000, 10000});
+        simulate("Zipf 0.9 with a 5000-key scan every 20000 accesses",
+                scans(random, zipf(random, 100000, 0.9, 2000000), 20000, 5000), new int[]{500, 2000, 10000});
+    }
+
+    static void simulate(String name, int[] trace, int[] sizes) {
+        System.out.println("### " + name + " (" + trace.length + " accesses) ###");
+        for (int size : sizes) {
+            LruCache<Integer, Integer> lru = new LruCache<>(size);
+            TinyLfuCache<Integer, Integer> tinyLfu = new TinyLfuCache<>(size);
+            double lruRate = hitRate(trace, key -> {
+                if (lru.get(key) != null) return true;
+                lru.put(key, key);
+                return false;
+            });
+            double tinyLfuRate = hitRate(trace, key -> {
+                if (tinyLfu.get(key) != null) return true;
+                tinyLfu.put(key, key);
+                return false;
+            });
+            System.out.printf("Cache size %6d: LRU %6.2f%% | W-TinyLFU %6.2f%%%n", size, lruRate * 100, tinyLfuRate * 100);
+        }
+        System.out.println();
+    }
+
+    static double hitRate(int[] trace, Policy policy) {
+        long hits = 0;
+        for (int key : trace) {
+            if (policy.access(key)) hits++;
+        }
+        return (double) hits / trace.length;
+    }
+
+    // Key k (0-based) is drawn with probability proportional to 1 / (k + 1)^skew
+    static int[] zipf(Random random, int keys, double skew, int length) {
+        double[] cumulative = new double[keys];
+        double sum = 0;
+        for (int k = 0; k < keys; k++) {
+            sum += 1 / Math.pow(k + 1, skew);
+            cumulative[k] = sum;
+        }
+        int[] trace = new int[length];
+        for (int i = 0; i < length; i++) {
+            int k = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            trace[i] = k >= 0 ? k : Math.min(-k - 1, keys - 1);
+        }
+        return trace;
+    }
+
+    // 0, 1, ..., keys - 1, 0, 1, ... : plain LRU misses every access once the loop is bigger than the cache
+    static int[] loop(int keys, int length) {
+        int[] trace = new int[length];
+        for (int i = 0; i < length; i++) {
+            trace[i] = i % keys;
+        }
+        return trace;
+    }
+
+    // Inserts a run of never repeated keys after every period accesses
+    static int[] scans(Random random, int[] base, int period, int scanLength) {
+        int scansCount = base.length / period;
+        int[] trace = new int[base.length + scansCount * scanLength];
+        int next = 0;
+        int scanKey = Integer.MAX_VALUE / 2;
+        for (int i = 0; i < base.length; i++) {
+            trace[next++] = base[i];
+            if ((i + 1) % period == 0) {
+                for (int j = 0; j < scanLength; j++) {
+                    trace[next++] = scanKey++;
+                }
+            }
+        }
+        return trace;
+    }
+
+    static int[] readTrace(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        return lines.stream().map(String::trim).filter(line -> !line.isEmpty()).mapToInt(Integer::parseInt).toArray();
+    }
+}
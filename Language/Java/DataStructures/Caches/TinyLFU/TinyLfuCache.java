@@ -0,0 +1,167 @@
+package Language.Java.DataStructures.Caches.TinyLFU;
+
+import Language.Java.DataStructures.Caches.CacheNode;
+import Language.Java.DataStructures.Caches.EvictionListener;
+import Language.Java.DataStructures.Caches.RecencyList;
+import Language.Java.DataStructures.HashTables.ClosedAddressing.SeparateChaining.HashTable;
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+
+/*
+ * W-TinyLFU cache.
+ * New entries first go into a small LRU window (1% of the capacity). An entry pushed out of the window
+ * only gets into the main cache if the FrequencySketch says it has been asked for more often than the entry
+ * the main cache would evict for it. The main cache is a segmented LRU: entries start on probation and move to
+ * the protected segment (80% of the main cache) when they are hit again.
+ * One-off keys, like those of a scan, therefore rarely push out popular ones. Not thread-safe.
+ */
+public class TinyLfuCache<K, V> {
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final HashTable<K, CacheNode<K, V>> table;
+    private final HashStrategy<? super K> strategy;
+    private final FrequencySketch sketch;
+    private final RecencyList<K, V> window = new RecencyList<>();
+    private final RecencyList<K, V> probation = new RecencyList<>();
+    private final RecencyList<K, V> protectedSegment = new RecencyList<>();
+    private final int maximumSize;
+    private final int maxWindow;
+    private final int maxProtected;
+    private EvictionListener<? super K, ? super V> listener;
+    private long evictions = 0;
+
+    public TinyLfuCache(int maximumSize) {
+        this(maximumSize, HashStrategies.defaultStrategy());
+    }
+
+    public TinyLfuCache(int maximumSize, HashStrategy<? super K> strategy) {
+        if (maximumSize <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        this.maximumSize = maximumSize;
+        this.strategy = strategy;
+        this.table = new HashTable<>(strategy);
+        this.sketch = new FrequencySketch(maximumSize);
+        this.maxWindow = Math.max(1, (int) (maximumSize * WINDOW_RATIO));
+        this.maxProtected = (int) ((maximumSize - maxWindow) * PROTECTED_RATIO);
+    }
+
+    public void setEvictionListener(EvictionListener<? super K, ? super V> listener) {
+        this.listener = listener;
+    }
+
+    // Every read is counted by the sketch, misses too, so a key that keeps missing earns its way in.
+    // put(...) is not counted: it usually follows a miss that already was
+    public V get(K key) {
+        if (key == null) return null;
+        sketch.increment(strategy.hash(key));
+        CacheNode<K, V> node = table.isEmpty() ? null : table.get(key);
+        if (node == null) return null;
+        onHit(node);
+        return node.getValue();
+    }
+
+    // Like get(...), but neither counts the access nor changes the order
+    public boolean contains(K key) {
+        return key != null && !table.isEmpty() && table.get(key) != null;
+    }
+
+    public void put(K key, V value) {
+        if (key == null || value == null) return;
+        CacheNode<K, V> node = table.isEmpty() ? null : table.get(key);
+        if (node != null) {
+            node.setValue(value);
+            onHit(node);
+            return;
+        }
+        node = new CacheNode<>(key, value, 1);
+        table.add(key, node);
+        window.insertFirst(node);
+        if (window.getSize() > maxWindow) {
+            admit(window.removeLast());
+        }
+    }
+
+    public V remove(K key) {
+        if (key == null || table.isEmpty()) return null;
+        CacheNode<K, V> node = table.remove(key);
+        if (node == null) return null;
+        window.remove(node);
+        probation.remove(node);
+        protectedSegment.remove(node);
+        return node.getValue();
+    }
+
+    private void onHit(CacheNode<K, V> node) {
+        if (probation.contains(node)) {
+            probation.remove(node);
+            protectedSegment.insertFirst(node);
+            if (protectedSegment.getSize() > maxProtected) {
+                probation.insertFirst(protectedSegment.removeLast());
+            }
+        } else if (protectedSegment.contains(node)) {
+            protectedSegment.moveToFront(node);
+        } else {
+            window.moveToFront(node);
+        }
+    }
+
+    // A candidate leaving the window joins the main cache while it has room. Once it is full, the candidate
+    // and the main cache's own victim compete, and whichever the sketch thinks is used less is evicted
+    private void admit(CacheNode<K, V> candidate) {
+        if (probation.getSize() + protectedSegment.getSize() < maximumSize - maxWindow) {
+            probation.insertFirst(candidate);
+            return;
+        }
+        RecencyList<K, V> victimList = probation.isEmpty() ? protectedSegment : probation;
+        CacheNode<K, V> victim = victimList.last();
+        if (victim == null) {
+            evict(candidate); // A cache of one entry has no main cache
+            return;
+        }
+        int candidateFrequency = sketch.frequency(strategy.hash(candidate.getKey()));
+        int victimFrequency = sketch.frequency(strategy.hash(victim.getKey()));
+        if (candidateFrequency > victimFrequency) {
+            victimList.remove(victim);
+            probation.insertFirst(candidate);
+            evict(victim);
+        } else {
+            evict(candidate);
+        }
+    }
+
+    private void evict(CacheNode<K, V> node) {
+        table.remove(node.getKey());
+        evictions++;
+        if (listener != null) {
+            listener.onEviction(node.getKey(), node.getValue());
+        }
+    }
+
+    public void printCache() {
+        printList("Window", window);
+        printList("Probation", probation);
+        printList("Protected", protectedSegment);
+    }
+
+    private void printList(String name, RecencyList<K, V> list) {
+        for (CacheNode<K, V> node = list.first(); node != null; node = node.getNext()) {
+            System.out.println("Key: " + node.getKey() + " | Value: " + node.getValue() + " | " + name);
+        }
+    }
+
+    public int size() {
+        return table.getSize();
+    }
+
+    public boolean isEmpty() {
+        return table.isEmpty();
+    }
+
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    public long evictionCount() {
+        return evictions;
+    }
+}
@@ -0,0 +1,62 @@
+package Language.Java.DataStructures.Caches.TinyLFU;
+
+import java.util.HashMap;
+import java.util.Random;
+
+public class TinyLfuCacheDemo {
+    public static void main(String[] args) {
+        // 1. Basic operations
+        System.out.println("### Basic Operations ###");
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(100);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("a", 11);
+        System.out.println("Get 'a': " + cache.get("a")); // Expected: 11
+        System.out.println("Removed 'b': " + cache.remove("b")); // Expected: 2
+        System.out.println("Contains 'b': " + cache.contains("b")); // Expected: false
+        System.out.println("Size: " + cache.size()); // Expected: 1
+
+        // 2. A scan of one-off keys does not push out keys that are read all the time
+        System.out.println("\n### Scan Resistance ###");
+        TinyLfuCache<Integer, Integer> scanned = new TinyLfuCache<>(100);
+        for (int round = 0; round < 5; round++) {
+            for (int key = 0; key < 100; key++) {
+                if (scanned.get(key) == null) scanned.put(key, key);
+            }
+        }
+        for (int key = 1000; key < 11000; key++) {
+            if (scanned.get(key) == null) scanned.put(key, key);
+        }
+        int kept = 0;
+        for (int key = 0; key < 100; key++) {
+            if (scanned.contains(key)) kept++;
+        }
+        System.out.println("Popular keys still cached after a 10000-key scan: " + kept + " of 100");
+
+        // 3. Random operations: whatever the cache keeps must be the latest value, and it never grows too big
+        System.out.println("\n### Random Operations ###");
+        TinyLfuCache<Integer, Integer> random = new TinyLfuCache<>(1000);
+        HashMap<Integer, Integer> latest = new HashMap<>();
+        Random keys = new Random(7);
+        int wrong = 0;
+        int maxSize = 0;
+        for (int i = 0; i < 1000000; i++) {
+            int key = keys.nextInt(5000);
+            int op = keys.nextInt(4);
+            if (op == 0) {
+                random.put(key, i);
+                latest.put(key, i);
+            } else if (op == 1) {
+                random.remove(key);
+                latest.remove(key);
+            } else {
+                Integer value = random.get(key);
+                if (value != null && !value.equals(latest.get(key))) wrong++;
+            }
+            maxSize = Math.max(maxSize, random.size());
+        }
+        System.out.println("Wrong values: " + wrong + ", largest size: " + maxSize); // Expected: 0, at most 1000
+
+        System.out.println("\nSee HitRateSimulator for hit rates against LRU.");
+    }
+}
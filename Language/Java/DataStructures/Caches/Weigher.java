@@ -0,0 +1,10 @@
+package Language.Java.DataStructures.Caches;
+
+/*
+ * Tells a weight-bounded cache how much of its capacity an entry uses, e.g. its size in bytes.
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    int weigh(K key, V value);
+}
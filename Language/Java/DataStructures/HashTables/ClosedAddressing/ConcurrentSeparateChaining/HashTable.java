@@ -0,0 +1,307 @@
+package Language.Java.DataStructures.HashTables.ClosedAddressing.ConcurrentSeparateChaining;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+
+/*
+ * Thread-safe separate chaining.
+ * Writers lock one stripe of the bucket array, readers never lock: chain heads and links are volatile.
+ * Resizing moves buckets in chunks, and any writer that runs into a moved bucket helps with the remaining chunks.
+ */
+public class HashTable<K, V> {
+
+    static class HashNode<K, V> {
+        final int hashCodeVal;
+        final K key;
+        volatile V val;
+        volatile HashNode<K, V> next;
+
+        HashNode(int hashCodeVal, K key, V val, HashNode<K, V> next) {
+            this.hashCodeVal = hashCodeVal;
+            this.key = key;
+            this.val = val;
+            this.next = next;
+        }
+    }
+
+    // Left in an old bucket once its nodes have been moved, points readers and writers at the new array
+    static final class ForwardingNode<K, V> extends HashNode<K, V> {
+        final AtomicReferenceArray<HashNode<K, V>> nextTable;
+
+        ForwardingNode(AtomicReferenceArray<HashNode<K, V>> nextTable) {
+            super(0, null, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    private static final class Resize<K, V> {
+        final AtomicReferenceArray<HashNode<K, V>> oldTable;
+        final AtomicReferenceArray<HashNode<K, V>> nextTable;
+        final ForwardingNode<K, V> forward;
+        final AtomicInteger nextChunk = new AtomicInteger();
+        final AtomicInteger bucketsDone = new AtomicInteger();
+
+        Resize(AtomicReferenceArray<HashNode<K, V>> oldTable) {
+            this.oldTable = oldTable;
+            this.nextTable = new AtomicReferenceArray<>(oldTable.length() * 2);
+            this.forward = new ForwardingNode<>(nextTable);
+        }
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int DEFAULT_STRIPES = 64;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int TRANSFER_CHUNK = 64;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private volatile AtomicReferenceArray<HashNode<K, V>> table;
+    private final AtomicReference<Resize<K, V>> resizing = new AtomicReference<>();
+    private final ReentrantLock[] locks;
+    private final int stripeMask;
+    private final LongAdder size = new LongAdder();
+    private final HashStrategy<? super K> strategy;
+
+    public HashTable() {
+        this(DEFAULT_CAPACITY, DEFAULT_STRIPES, HashStrategies.defaultStrategy());
+    }
+
+    public HashTable(HashStrategy<? super K> strategy) {
+        this(DEFAULT_CAPACITY, DEFAULT_STRIPES, strategy);
+    }
+
+    public HashTable(int initialCapacity, int stripes, HashStrategy<? super K> strategy) {
+        if (initialCapacity <= 0 || stripes <= 0) {
+            throw new IllegalArgumentException("Capacity and stripes must be positive");
+        }
+        this.strategy = strategy;
+        this.table = new AtomicReferenceArray<>(powerOfTwo(initialCapacity));
+        this.locks = new ReentrantLock[powerOfTwo(stripes)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.stripeMask = locks.length - 1;
+    }
+
+    // Returns the previous value, or null if the key was not present
+    public V add(K key, V val) {
+        if (key == null || val == null) {
+            return null;
+        }
+        int hashCode = strategy.hash(key);
+        AtomicReferenceArray<HashNode<K, V>> tab = table;
+        while (true) {
+            int n = tab.length();
+            int bucketIndex = hashCode & (n - 1);
+            HashNode<K, V> head = tab.get(bucketIndex);
+            if (head instanceof ForwardingNode<K, V> forward) {
+                tab = helpResize(forward);
+                continue;
+            }
+            ReentrantLock lock = locks[bucketIndex & stripeMask];
+            lock.lock();
+            try {
+                head = tab.get(bucketIndex);
+                if (head instanceof ForwardingNode) {
+                    continue;
+                }
+                for (HashNode<K, V> e = head; e != null; e = e.next) {
+                    if (e.hashCodeVal == hashCode && strategy.keyEquals(e.key, key)) {
+                        V old = e.val;
+                        e.val = val;
+                        return old;
+                    }
+                }
+                // Publishing the new head is a volatile write, so readers see a fully built node
+                tab.set(bucketIndex, new HashNode<>(hashCode, key, val, head));
+            } finally {
+                lock.unlock();
+            }
+            size.increment();
+            if (size.sum() >= (long) (n * LOAD_FACTOR)) {
+                tryResize(tab);
+            }
+            return null;
+        }
+    }
+
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        int hashCode = strategy.hash(key);
+        AtomicReferenceArray<HashNode<K, V>> tab = table;
+        while (true) {
+            int bucketIndex = hashCode & (tab.length() - 1);
+            HashNode<K, V> head = tab.get(bucketIndex);
+            if (head == null) {
+                return null;
+            }
+            if (head instanceof ForwardingNode<K, V> forward) {
+                tab = helpResize(forward);
+                continue;
+            }
+            ReentrantLock lock = locks[bucketIndex & stripeMask];
+            lock.lock();
+            try {
+                head = tab.get(bucketIndex);
+                if (head instanceof ForwardingNode) {
+                    continue;
+                }
+                HashNode<K, V> prev = null;
+                for (HashNode<K, V> e = head; e != null; prev = e, e = e.next) {
+                    if (e.hashCodeVal == hashCode && strategy.keyEquals(e.key, key)) {
+                        if (prev == null) {
+                            tab.set(bucketIndex, e.next);
+                        } else {
+                            prev.next = e.next;
+                        }
+                        size.decrement();
+                        return e.val;
+                    }
+                }
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Lock-free: follows forwarding nodes into the new array while a resize is running
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        int hashCode = strategy.hash(key);
+        AtomicReferenceArray<HashNode<K, V>> tab = table;
+        while (true) {
+            HashNode<K, V> e = tab.get(hashCode & (tab.length() - 1));
+            if (e instanceof ForwardingNode<K, V> forward) {
+                tab = forward.nextTable;
+                continue;
+            }
+            for (; e != null; e = e.next) {
+                if (e.hashCodeVal == hashCode && strategy.keyEquals(e.key, key)) {
+                    return e.val;
+                }
+            }
+            return null;
+        }
+    }
+
+    public boolean contains(K key) {
+        return get(key) != null;
+    }
+
+    private void tryResize(AtomicReferenceArray<HashNode<K, V>> tab) {
+        Resize<K, V> resize = resizing.get();
+        if (resize == null) {
+            if (table != tab || tab.length() >= MAX_CAPACITY) {
+                return;
+            }
+            resize = new Resize<>(tab);
+            if (!resizing.compareAndSet(null, resize)) {
+                resize = resizing.get();
+                if (resize == null) {
+                    return;
+                }
+            } else if (table != tab) {
+                // Another resize of tab finished between our check and the CAS
+                resizing.compareAndSet(resize, null);
+                return;
+            }
+        }
+        transfer(resize);
+    }
+
+    private AtomicReferenceArray<HashNode<K, V>> helpResize(ForwardingNode<K, V> forward) {
+        Resize<K, V> resize = resizing.get();
+        if (resize != null && resize.nextTable == forward.nextTable) {
+            transfer(resize);
+        }
+        return forward.nextTable;
+    }
+
+    // Claims chunks of buckets until none are left; whoever finishes the last chunk installs the new array
+    private void transfer(Resize<K, V> resize) {
+        if (table != resize.oldTable) {
+            // A Resize published by tryResize after its array had already been replaced. Its buckets hold
+            // forwarding nodes, so moving them would install an array that has lost every mapping
+            resizing.compareAndSet(resize, null);
+            return;
+        }
+        int n = resize.oldTable.length();
+        while (true) {
+            int start = resize.nextChunk.getAndAdd(TRANSFER_CHUNK);
+            if (start >= n) {
+                return;
+            }
+            int end = Math.min(start + TRANSFER_CHUNK, n);
+            for (int i = start; i < end; i++) {
+                transferBucket(resize, i);
+            }
+            if (resize.bucketsDone.addAndGet(end - start) == n) {
+                table = resize.nextTable;
+                resizing.compareAndSet(resize, null);
+                return;
+            }
+        }
+    }
+
+    private void transferBucket(Resize<K, V> resize, int bucketIndex) {
+        int n = resize.oldTable.length();
+        ReentrantLock lock = locks[bucketIndex & stripeMask];
+        lock.lock();
+        try {
+            HashNode<K, V> head = resize.oldTable.get(bucketIndex);
+            if (head != null) {
+                // The tail run that all goes to the same new bucket is reused as is
+                HashNode<K, V> lastRun = head;
+                int runBit = head.hashCodeVal & n;
+                for (HashNode<K, V> p = head.next; p != null; p = p.next) {
+                    int bit = p.hashCodeVal & n;
+                    if (bit != runBit) {
+                        runBit = bit;
+                        lastRun = p;
+                    }
+                }
+                HashNode<K, V> low = runBit == 0 ? lastRun : null;
+                HashNode<K, V> high = runBit == 0 ? null : lastRun;
+                // Nodes in front of it are copied, readers may still be walking the old chain
+                for (HashNode<K, V> p = head; p != lastRun; p = p.next) {
+                    if ((p.hashCodeVal & n) == 0) {
+                        low = new HashNode<>(p.hashCodeVal, p.key, p.val, low);
+                    } else {
+                        high = new HashNode<>(p.hashCodeVal, p.key, p.val, high);
+                    }
+                }
+                resize.nextTable.set(bucketIndex, low);
+                resize.nextTable.set(bucketIndex + n, high);
+            }
+            resize.oldTable.set(bucketIndex, resize.forward);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int powerOfTwo(int n) {
+        int cap = 1;
+        while (cap < n && cap < MAX_CAPACITY) {
+            cap <<= 1;
+        }
+        return cap;
+    }
+
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    public int getSize() {
+        return (int) size.sum();
+    }
+}
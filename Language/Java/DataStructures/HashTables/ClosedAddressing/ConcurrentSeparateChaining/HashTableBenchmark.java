@@ -0,0 +1,112 @@
+package Language.Java.DataStructures.HashTables.ClosedAddressing.ConcurrentSeparateChaining;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * Multi-threaded throughput of the striped table against SeparateChaining.HashTable behind one global lock.
+ * Each thread runs 80% get, 15% add and 5% remove over a shared key range.
+ */
+public class HashTableBenchmark {
+
+    interface Table {
+        void add(Integer key, Integer val);
+
+        Integer get(Integer key);
+
+        void remove(Integer key);
+    }
+
+    static final int KEY_RANGE = 1 << 20;
+    static final int OPS_PER_THREAD = 2000000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        System.out.println("Available processors: " + maxThreads);
+        System.out.printf("%-8s %20s %20s%n", "Threads", "synchronized (ops/ms)", "striped (ops/ms)");
+        for (int threads = 1; threads <= Math.max(8, maxThreads); threads *= 2) {
+            double baseline = run(threads, synchronizedTable());
+            double striped = run(threads, stripedTable());
+            System.out.printf("%-8d %20.0f %20.0f%n", threads, baseline, striped);
+        }
+    }
+
+    static Table synchronizedTable() {
+        Language.Java.DataStructures.HashTables.ClosedAddressing.SeparateChaining.HashTable<Integer, Integer> table =
+                new Language.Java.DataStructures.HashTables.ClosedAddressing.SeparateChaining.HashTable<>();
+        return new Table() {
+            public synchronized void add(Integer key, Integer val) {
+                table.add(key, val);
+            }
+
+            public synchronized Integer get(Integer key) {
+                return table.get(key);
+            }
+
+            public synchronized void remove(Integer key) {
+                table.remove(key);
+            }
+        };
+    }
+
+    static Table stripedTable() {
+        HashTable<Integer, Integer> table = new HashTable<>();
+        return new Table() {
+            public void add(Integer key, Integer val) {
+                table.add(key, val);
+            }
+
+            public Integer get(Integer key) {
+                return table.get(key);
+            }
+
+            public void remove(Integer key) {
+                table.remove(key);
+            }
+        };
+    }
+
+    static double run(int threads, Table table) throws InterruptedException {
+        for (int i = 0; i < KEY_RANGE; i += 2) {
+            table.add(i, i);
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        long[] checksum = new long[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long sum = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    Integer key = random.nextInt(KEY_RANGE);
+                    int op = random.nextInt(100);
+                    if (op < 80) {
+                        Integer val = table.get(key);
+                        if (val != null) {
+                            sum += val;
+                        }
+                    } else if (op < 95) {
+                        table.add(key, i);
+                    } else {
+                        table.remove(key);
+                    }
+                }
+                checksum[id] = sum;
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double millis = (System.nanoTime() - begin) / 1e6;
+        return (double) threads * OPS_PER_THREAD / millis;
+    }
+}
@@ -0,0 +1,76 @@
+package Language.Java.DataStructures.HashTables.ClosedAddressing.ConcurrentSeparateChaining;
+
+public class HashTableDemo {
+    public static void main(String[] args) throws InterruptedException {
+        HashTable<String, String> hashTable = new HashTable<>();
+
+        // 1. Single threaded usage looks like the SeparateChaining table
+        System.out.println("Adding entries to the hash table...");
+        hashTable.add("key1", "value1");
+        hashTable.add("key2", "value2");
+        hashTable.add("key3", "value3");
+        System.out.println("Current size: " + hashTable.getSize()); // Should be 3
+        System.out.println("Value for key1: " + hashTable.get("key1")); // Should return "value1"
+        System.out.println("Previous value when updating key1: " + hashTable.add("key1", "newValue1")); // "value1"
+        System.out.println("Removed key2: " + hashTable.remove("key2")); // Should return "value2"
+        System.out.println("Value for key2 after removal: " + hashTable.get("key2")); // Should return null
+        System.out.println("Current size after removal: " + hashTable.getSize()); // Should be 2
+
+        // 2. Many threads add disjoint ranges while the table keeps resizing
+        System.out.println("\n=== Concurrent adds across resizes ===");
+        HashTable<Integer, Integer> shared = new HashTable<>();
+        int threads = 8;
+        int perThread = 200000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            workers[t] = new Thread(() -> {
+                for (int i = base; i < base + perThread; i++) {
+                    shared.add(i, i);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        int missing = 0;
+        for (int i = 0; i < threads * perThread; i++) {
+            if (!Integer.valueOf(i).equals(shared.get(i))) {
+                missing++;
+            }
+        }
+        System.out.println("Size: " + shared.getSize()); // Should be 1600000
+        System.out.println("Missing or wrong values: " + missing); // Should be 0
+
+        // 3. Concurrent removes of every odd key while readers keep reading even keys
+        System.out.println("\n=== Concurrent removes with lock-free readers ===");
+        int[] readerErrors = new int[1];
+        Thread reader = new Thread(() -> {
+            for (int round = 0; round < 5; round++) {
+                for (int i = 0; i < threads * perThread; i += 2) {
+                    if (!Integer.valueOf(i).equals(shared.get(i))) {
+                        readerErrors[0]++;
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            workers[t] = new Thread(() -> {
+                for (int i = base + 1; i < base + perThread; i += 2) {
+                    shared.remove(i);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        reader.join();
+        System.out.println("Size after removing odd keys: " + shared.getSize()); // Should be 800000
+        System.out.println("Even keys the reader failed to see: " + readerErrors[0]); // Should be 0
+        System.out.println("Contains 1: " + shared.contains(1)); // Should be false
+    }
+}
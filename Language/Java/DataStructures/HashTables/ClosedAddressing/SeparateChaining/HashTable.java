@@ -1,47 +1,125 @@
 package Language.Java.DataStructures.HashTables.ClosedAddressing.SeparateChaining;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
-public class HashTable<K,V>{
-   private class HashNode<K,V>{
+import Language.Java.DataStructures.HashTables.Codec;
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+import Language.Java.DataStructures.HashTables.HashTableMetrics;
+import Language.Java.DataStructures.HashTables.Snapshot;
+
+public class HashTable<K,V> implements Iterable<Map.Entry<K,V>>{
+   private class HashNode<K,V> implements Map.Entry<K,V>{
     K key;
     V val;
-    HashNode next;
+    HashNode<K,V> next;
     int hashCodeVal;
     HashNode(K key, V val, int hashCodeVal){
         this.key = key;
         this.val = val;
         this.hashCodeVal = hashCodeVal;
     }
+    @Override
+    public K getKey(){
+        return key;
+    }
+    @Override
+    public V getValue(){
+        return val;
+    }
+    // Writes through to the table. Null values are not stored, same as in add(...)
+    @Override
+    public V setValue(V value){
+        if(value == null) throw new NullPointerException("Null values are not stored");
+        V old = val;
+        val = value;
+        return old;
+    }
+    @Override
+    public boolean equals(Object o){
+        return o instanceof Map.Entry<?,?> e && Objects.equals(key, e.getKey()) && Objects.equals(val, e.getValue());
+    }
+    @Override
+    public int hashCode(){
+        return Objects.hashCode(key) ^ Objects.hashCode(val);
+    }
+    @Override
+    public String toString(){
+        return key + "=" + val;
+    }
    }
+
+   // A bucket whose chain grew past TREEIFY_THRESHOLD holds one TreeBin instead of a chain. Its nodes form an
+   // AVL tree ordered by hash code, then by compareTo when both keys are of the same Comparable class, then
+   // like java.util.HashMap's tieBreakOrder by class name and identity hash code, then by insertion order.
+   // They are also linked through next so they can be walked like a chain
+   private class TreeNode<K,V> extends HashNode<K,V>{
+    TreeNode<K,V> left;
+    TreeNode<K,V> right;
+    TreeNode<K,V> prev;
+    int height = 1;
+    long seq;
+    TreeNode(K key, V val, int hashCodeVal){
+        super(key, val, hashCodeVal);
+    }
+   }
+
+   private class TreeBin<K,V> extends HashNode<K,V>{
+    TreeNode<K,V> root;
+    TreeNode<K,V> first;
+    int count;
+    TreeBin(){
+        super(null, null, 0);
+    }
+   }
+
+  private static final int TREEIFY_THRESHOLD = 8;
+  private static final int UNTREEIFY_THRESHOLD = 6;
+  private static final int MIN_TREEIFY_CAPACITY = 64; // Smaller tables grow soon anyway, which splits their chains
+  private static final String SNAPSHOT_LAYOUT = HashTable.class.getName();
+  private static final int MIN_SPLIT_BUCKETS = 1 << 10; // Below this a spliterator part is not worth a task of its own
+
   private ArrayList<HashNode<K,V>> bucketArray;
   private int numBucket;
   private int size = 0;
 
+  private final HashStrategy<? super K> strategy;
+
+  // Incremental resize: the old array only exists while buckets are still being moved out of it
+  private static final int REHASH_STEP = 4;
+  private boolean incrementalResize = false;
+  private ArrayList<HashNode<K,V>> oldBucketArray;
+  private int oldNumBucket;
+  private int rehashIndex;
+
+  private long treeSeq; // Tie-breaker for tree nodes whose keys do not order themselves
+
+  private HashTableMetrics metrics; // null until enableMetrics()
+  private int probes; // Nodes compared by the last counted findNode(...), only kept while metrics are on
+
     private int hash(K key){
-        if(key instanceof Integer integer){
-            return integer;
-        } else {
-            String keyStr = "" + key;
-            int n = keyStr.length();
-            int hashCode = 0;
-            int power = 1;
-            for (int i = n - 1 ; i <= 0; i--){
-                hashCode += keyStr.charAt(i) * power;
-                power *= 31; 
-            }
-            System.out.println(hashCode);
-            return hashCode;
-        }
+        return strategy.hash(key);
     }
-    private int getBucketIndex(K key){
-        int rawHashKey = hash(key);
-        int hashKey = rawHashKey < 0 ? rawHashKey * -1 : rawHashKey;
-        int index = hashKey % numBucket;
-        return index;
+    private int getBucketIndex(int hashCode){
+        return (hashCode & 0x7FFFFFFF) % numBucket;
     }
 
     public HashTable() {
+        this(HashStrategies.defaultStrategy());
+    }
+
+    public HashTable(HashStrategy<? super K> strategy) {
+        this.strategy = strategy;
         bucketArray = new ArrayList<>();
         numBucket = 10;
         for (int i = 0; i < numBucket; i++) {
@@ -49,66 +127,123 @@ public class HashTable<K,V>{
         }
     }
 
+    // When enabled, a resize moves a few buckets per operation instead of all of them at once
+    public void setIncrementalResize(boolean incrementalResize){
+        this.incrementalResize = incrementalResize;
+        if(!incrementalResize){
+            finishRehash();
+        }
+    }
+
+    public boolean isRehashing(){
+        return oldBucketArray != null;
+    }
+
+    // Starts counting chain lengths, hits, collisions and resizes. Until then the table only checks for null.
+    // Chaining leaves no tombstones behind, so that count is always 0
+    public HashTableMetrics enableMetrics(){
+        if(metrics == null){
+            metrics = new HashTableMetrics(strategy, () -> 0);
+        }
+        return metrics;
+    }
+
+    public void disableMetrics(){
+        metrics = null;
+    }
+
     public void add(K key, V val){
         if(key == null || val == null) return;
-        int bucketIndex = getBucketIndex(key);
+        if(isRehashing()) migrateStep();
         int hashCode = hash(key);
-        HashNode<K,V> newNode = new HashNode<>(key, val, hashCode);
-        HashNode<K,V> head = bucketArray.get(bucketIndex);
-        HashNode<K,V> prev = null;
-        while(head != null){
-            if(head.key.equals(key) && head.hashCodeVal == hashCode ){
-                head.val = val;
-                return;
-            }
-            prev = head;
-            head = head.next;
+        HashNode<K,V> existing = findNode(key, hashCode, false);
+        if(existing != null){
+            existing.val = val;
+            return;
         }
+        if(metrics != null) metrics.recordInsert(bucketArray.get(getBucketIndex(hashCode)) != null);
+        link(new HashNode<>(key, val, hashCode));
         size++;
-        if(prev != null){
-            prev.next = newNode;
-        } else {
-            newNode.next = head;
-            bucketArray.set(bucketIndex, newNode);
-        }
 
         // This code will be executed when Load factor is exceeded (Load Factor = 0.7 or 70% of the hashtable)
         if(( 1.0 * size  / numBucket) >= 0.7){
-            ArrayList<HashNode<K,V>> temp = bucketArray;
-            numBucket = 2 * numBucket;
-            bucketArray = new ArrayList<>(numBucket);
-            size = 0;
-            for (int i = 0; i < numBucket; i++) {
-            bucketArray.add(null); // Empty out all elements with null initially
-            }   
-
-            for(HashNode<K,V> headNode : temp){
-                while(headNode != null){
-                add(headNode.key, headNode.val);
-                headNode = headNode.next;
-                }
-            }
+            resize();
         }
     }
 
     public V remove(K key){
         if(key == null) return null;
         if(isEmpty()) throw new RuntimeException("Hash table is empty");
-        int bucketIndex = getBucketIndex(key);
+        if(isRehashing()) migrateStep();
         int code = hash(key);
-        HashNode<K,V> head = bucketArray.get(bucketIndex);
+        HashNode<K,V> removed = removeNode(bucketArray, getBucketIndex(code), key, code);
+        if(removed == null && isRehashing()){
+            removed = removeNode(oldBucketArray, (code & 0x7FFFFFFF) % oldNumBucket, key, code);
+        }
+        if(removed == null) return null;
+        size--;
+        return removed.val;
+    }
+
+    public V get(K key){
+        if(isEmpty()) throw new RuntimeException("Hash table is empty");
+        if(isRehashing()) migrateStep();
+        HashTableMetrics recording = metrics;
+        HashNode<K,V> node = findNode(key, hash(key), recording != null);
+        if(recording != null) recording.recordLookup(probes, node != null);
+        return node == null ? null : node.val;
+    }
+
+    // While rehashing a key can still be in the old array, so both are searched.
+    // Only a counted search touches probes, so with metrics off a lookup writes no field
+    private HashNode<K,V> findNode(K key, int code, boolean counted){
+        if(counted) probes = 0;
+        HashNode<K,V> node = findInBucket(bucketArray.get(getBucketIndex(code)), key, code, counted);
+        if(node == null && isRehashing()){
+            node = findInBucket(oldBucketArray.get((code & 0x7FFFFFFF) % oldNumBucket), key, code, counted);
+        }
+        return node;
+    }
+
+    private HashNode<K,V> findInBucket(HashNode<K,V> head, K key, int code, boolean counted){
+        if(head instanceof TreeBin){
+            return findTreeNode(((TreeBin<K,V>) head).root, key, code, counted);
+        }
+        int compared = 0;
+        while(head != null){
+            compared++;
+            if(head.hashCodeVal == code && strategy.keyEquals(head.key, key)){
+                if(counted) probes += compared;
+                return head;
+            }
+            head = head.next;
+        }
+        if(counted) probes += compared;
+        return null;
+    }
+
+    private HashNode<K,V> removeNode(ArrayList<HashNode<K,V>> buckets, int bucketIndex, K key, int code){
+        HashNode<K,V> head = buckets.get(bucketIndex);
+        if(head instanceof TreeBin){
+            TreeBin<K,V> bin = (TreeBin<K,V>) head;
+            TreeNode<K,V> node = findTreeNode(bin.root, key, code, false);
+            if(node != null){
+                unlinkTreeNode(bin, node);
+                if(bin.count <= UNTREEIFY_THRESHOLD){
+                    untreeify(buckets, bucketIndex, bin);
+                }
+            }
+            return node;
+        }
         HashNode<K,V> prev = null;
         while(head != null){
-            if(head.key.equals(key) && head.hashCodeVal == code){
+            if(head.hashCodeVal == code && strategy.keyEquals(head.key, key)){
                 if(prev != null){
                     prev.next = head.next;
-                    size--;
-                    return head.val;
                 } else {
-                    bucketArray.set(bucketIndex,head.next);
-                    size--;
-                    return head.val;
+                    buckets.set(bucketIndex, head.next);
                 }
+                return head;
             }
             prev = head;
             head = head.next;
@@ -116,20 +251,484 @@ public class HashTable<K,V>{
         return null;
     }
 
-    public V get(K key){
-        if(isEmpty()) throw new RuntimeException("Hash table is empty");
-        int bucketIndex = getBucketIndex(key);
-        int code = hash(key);
+    private void resize(){
+        long start = metrics == null ? 0 : System.nanoTime();
+        // The table filled up again before the previous migration finished
+        if(isRehashing()) finishRehash();
+        oldBucketArray = bucketArray;
+        oldNumBucket = numBucket;
+        rehashIndex = 0;
+        numBucket = 2 * numBucket;
+        bucketArray = new ArrayList<>(Collections.nCopies(numBucket, null));
+        if(!incrementalResize) finishRehash();
+        if(metrics != null) metrics.recordResize(System.nanoTime() - start);
+    }
+
+    // One step of an incremental resize, timed when metrics are on
+    private void migrateStep(){
+        if(metrics == null){
+            rehashStep(REHASH_STEP);
+            return;
+        }
+        long start = System.nanoTime();
+        rehashStep(REHASH_STEP);
+        metrics.recordResizeTime(System.nanoTime() - start);
+    }
+
+    private void finishRehash(){
+        while(isRehashing()) rehashStep(oldNumBucket);
+    }
+
+    // Moves up to n non-empty buckets into the new array, relinking the existing nodes
+    private void rehashStep(int n){
+        int emptyVisits = n >= oldNumBucket ? oldNumBucket : n * 10;
+        while(n > 0 && rehashIndex < oldNumBucket){
+            HashNode<K,V> node = oldBucketArray.get(rehashIndex);
+            if(node == null){
+                rehashIndex++;
+                if(--emptyVisits == 0) return;
+                continue;
+            }
+            if(node instanceof TreeBin){
+                node = ((TreeBin<K,V>) node).first;
+            }
+            while(node != null){
+                HashNode<K,V> next = node.next;
+                link(node);
+                node = next;
+            }
+            oldBucketArray.set(rehashIndex, null);
+            rehashIndex++;
+            n--;
+        }
+        if(rehashIndex >= oldNumBucket){
+            oldBucketArray = null;
+            oldNumBucket = 0;
+        }
+    }
+    
+    // Puts a node that is not in the table yet into its bucket of the current array,
+    // turning the bucket into a tree once its chain gets longer than TREEIFY_THRESHOLD
+    private void link(HashNode<K,V> node){
+        int bucketIndex = getBucketIndex(node.hashCodeVal);
         HashNode<K,V> head = bucketArray.get(bucketIndex);
+        if(head instanceof TreeBin){
+            insertTreeNode((TreeBin<K,V>) head, toTreeNode(node));
+            return;
+        }
+        if(node instanceof TreeNode){
+            TreeNode<K,V> moved = (TreeNode<K,V>) node; // Moved out of a tree by a resize
+            moved.left = moved.right = moved.prev = null;
+        }
+        node.next = head;
+        bucketArray.set(bucketIndex, node);
+        if(numBucket >= MIN_TREEIFY_CAPACITY && longerThan(node, TREEIFY_THRESHOLD)){
+            treeify(bucketIndex, node);
+        }
+    }
+
+    private boolean longerThan(HashNode<K,V> head, int length){
+        for(int i = 0; i <= length; i++){
+            if(head == null) return false;
+            head = head.next;
+        }
+        return true;
+    }
+
+    private void treeify(int bucketIndex, HashNode<K,V> head){
+        TreeBin<K,V> bin = new TreeBin<>();
         while(head != null){
-            if(head.key.equals(key) && head.hashCodeVal == code){
-                return head.val;
+            HashNode<K,V> next = head.next;
+            insertTreeNode(bin, toTreeNode(head));
+            head = next;
+        }
+        bucketArray.set(bucketIndex, bin);
+    }
+
+    // The tree nodes go back to being a plain chain, they are already linked through next
+    private void untreeify(ArrayList<HashNode<K,V>> buckets, int bucketIndex, TreeBin<K,V> bin){
+        for(TreeNode<K,V> node = bin.first; node != null; node = (TreeNode<K,V>) node.next){
+            node.left = node.right = node.prev = null;
+        }
+        buckets.set(bucketIndex, bin.first);
+    }
+
+    private TreeNode<K,V> toTreeNode(HashNode<K,V> node){
+        if(node instanceof TreeNode){
+            TreeNode<K,V> treeNode = (TreeNode<K,V>) node;
+            treeNode.left = treeNode.right = treeNode.prev = null;
+            treeNode.next = null;
+            treeNode.height = 1;
+            return treeNode;
+        }
+        return new TreeNode<>(node.key, node.val, node.hashCodeVal);
+    }
+
+    private void insertTreeNode(TreeBin<K,V> bin, TreeNode<K,V> node){
+        node.seq = treeSeq++;
+        node.next = bin.first;
+        if(bin.first != null) bin.first.prev = node;
+        bin.first = node;
+        bin.root = insertTree(bin.root, node);
+        bin.count++;
+    }
+
+    private void unlinkTreeNode(TreeBin<K,V> bin, TreeNode<K,V> node){
+        TreeNode<K,V> next = (TreeNode<K,V>) node.next;
+        if(node.prev != null){
+            node.prev.next = next;
+        } else {
+            bin.first = next;
+        }
+        if(next != null) next.prev = node.prev;
+        bin.root = deleteTree(bin.root, node);
+        bin.count--;
+    }
+
+    // Equal hash codes whose keys cannot be ordered may sit on either side, so both subtrees are searched
+    private TreeNode<K,V> findTreeNode(TreeNode<K,V> node, K key, int code, boolean counted){
+        while(node != null){
+            if(counted) probes++;
+            if(code != node.hashCodeVal){
+                node = code < node.hashCodeVal ? node.left : node.right;
+                continue;
+            }
+            if(strategy.keyEquals(node.key, key)){
+                return node;
+            }
+            int comp = compareKeys(key, node.key);
+            if(comp == 0) comp = compareClassNames(key, node.key);
+            if(comp < 0){
+                node = node.left;
+            } else if(comp > 0){
+                node = node.right;
+            } else {
+                TreeNode<K,V> found = findTreeNode(node.left, key, code, counted);
+                if(found != null) return found;
+                node = node.right;
             }
-            head = head.next;
         }
         return null;
     }
-    
+
+    // A total order over the nodes of one tree. Keys of different classes are never compared with compareTo,
+    // they are ordered by class name, so a mix of Comparable and other keys in one bin stays consistent
+    private int compareNodes(TreeNode<K,V> a, TreeNode<K,V> b){
+        if(a.hashCodeVal != b.hashCodeVal){
+            return a.hashCodeVal < b.hashCodeVal ? -1 : 1;
+        }
+        int comp = compareKeys(a.key, b.key);
+        if(comp != 0) return comp;
+        comp = tieBreakOrder(a.key, b.key);
+        return comp != 0 ? comp : Long.compare(a.seq, b.seq);
+    }
+
+    // Like java.util.HashMap.tieBreakOrder: class name first, then identity hash code
+    private static int tieBreakOrder(Object key1, Object key2){
+        int comp = compareClassNames(key1, key2);
+        if(comp != 0) return comp;
+        return Integer.compare(System.identityHashCode(key1), System.identityHashCode(key2));
+    }
+
+    private static int compareClassNames(Object key1, Object key2){
+        return Integer.signum(key1.getClass().getName().compareTo(key2.getClass().getName()));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(Object key1, Object key2){
+        if(key1 instanceof Comparable && key1.getClass() == key2.getClass()){
+            return Integer.signum(((Comparable) key1).compareTo(key2));
+        }
+        return 0;
+    }
+
+    private TreeNode<K,V> insertTree(TreeNode<K,V> root, TreeNode<K,V> node){
+        if(root == null) return node;
+        if(compareNodes(node, root) < 0){
+            root.left = insertTree(root.left, node);
+        } else {
+            root.right = insertTree(root.right, node);
+        }
+        return balance(root);
+    }
+
+    private TreeNode<K,V> deleteTree(TreeNode<K,V> root, TreeNode<K,V> node){
+        int comp = compareNodes(node, root);
+        if(comp < 0){
+            root.left = deleteTree(root.left, node);
+        } else if(comp > 0){
+            root.right = deleteTree(root.right, node);
+        } else {
+            if(root.left == null) return root.right;
+            if(root.right == null) return root.left;
+            TreeNode<K,V> successor = root.right;
+            while(successor.left != null){
+                successor = successor.left;
+            }
+            successor.right = deleteMin(root.right);
+            successor.left = root.left;
+            root = successor;
+        }
+        return balance(root);
+    }
+
+    private TreeNode<K,V> deleteMin(TreeNode<K,V> root){
+        if(root.left == null) return root.right;
+        root.left = deleteMin(root.left);
+        return balance(root);
+    }
+
+    private int height(TreeNode<K,V> node){
+        return node == null ? 0 : node.height;
+    }
+
+    private TreeNode<K,V> balance(TreeNode<K,V> node){
+        int diff = height(node.left) - height(node.right);
+        if(diff > 1){
+            if(height(node.left.left) < height(node.left.right)){
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if(diff < -1){
+            if(height(node.right.right) < height(node.right.left)){
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        return node;
+    }
+
+    private TreeNode<K,V> rotateRight(TreeNode<K,V> node){
+        TreeNode<K,V> top = node.left;
+        node.left = top.right;
+        top.right = node;
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        top.height = 1 + Math.max(height(top.left), height(top.right));
+        return top;
+    }
+
+    private TreeNode<K,V> rotateLeft(TreeNode<K,V> node){
+        TreeNode<K,V> top = node.right;
+        node.right = top.left;
+        top.left = node;
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        top.height = 1 + Math.max(height(top.left), height(top.right));
+        return top;
+    }
+
+    // Writes every entry with its bucket index and hash code. A migration in progress is finished first
+    public void writeSnapshot(WritableByteChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException{
+        finishRehash();
+        Snapshot.Writer<K,V> writer = new Snapshot.Writer<>(channel, SNAPSHOT_LAYOUT, numBucket, size, keyCodec, valueCodec);
+        for(int i = 0; i < numBucket; i++){
+            HashNode<K,V> node = bucketArray.get(i);
+            if(node instanceof TreeBin){
+                node = ((TreeBin<K,V>) node).first;
+            }
+            while(node != null){
+                writer.write(i, node.hashCodeVal, node.key, node.val);
+                node = node.next;
+            }
+        }
+        writer.finish();
+    }
+
+    // Replaces the contents of the table. A snapshot from a separate chaining table takes over its bucket count
+    // and links each entry into its bucket using the stored hash code, without hashing or searching the chain;
+    // any other snapshot is added key by key into a table that is sized for it up front.
+    // The first entry's hash tells whether the snapshot used the same HashStrategy
+    public void loadSnapshot(FileChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException{
+        Snapshot.Reader<K,V> reader = new Snapshot.Reader<>(channel, keyCodec, valueCodec);
+        boolean sameLayout = SNAPSHOT_LAYOUT.equals(reader.layout()) && reader.capacity() > 0;
+        oldBucketArray = null;
+        oldNumBucket = 0;
+        numBucket = sameLayout ? reader.capacity() : Math.max(10, (int) (reader.size() / 0.7) + 1);
+        bucketArray = new ArrayList<>(Collections.nCopies(numBucket, null));
+        size = 0;
+        boolean direct = sameLayout;
+        while(reader.next()){
+            if(direct && size == 0 && hash(reader.key()) != reader.hash()){
+                direct = false;
+            }
+            if(direct){
+                link(new HashNode<>(reader.key(), reader.value(), reader.hash()));
+                size++;
+            } else {
+                add(reader.key(), reader.value());
+            }
+        }
+    }
+
+    // While an incremental resize is in progress, iterators and spliterators walk the new array and the buckets
+    // of the old one that have not been moved yet, like lookups do, so starting one does not finish the resize.
+    // The entries are the table's own nodes, so setValue(...) writes through. Any add, remove or get on the table
+    // while iterating may move entries (a get advances the resize too), so entries may be skipped or returned twice
+    @Override
+    public Iterator<Map.Entry<K,V>> iterator(){
+        return new NodeIterator<Map.Entry<K,V>>(){
+            @Override
+            Map.Entry<K,V> map(HashNode<K,V> node){
+                return node;
+            }
+        };
+    }
+
+    public Iterator<K> keyIterator(){
+        return new NodeIterator<K>(){
+            @Override
+            K map(HashNode<K,V> node){
+                return node.key;
+            }
+        };
+    }
+
+    public Iterator<V> valueIterator(){
+        return new NodeIterator<V>(){
+            @Override
+            V map(HashNode<K,V> node){
+                return node.val;
+            }
+        };
+    }
+
+    // Splits by bucket range, so StreamSupport.stream(table.spliterator(), true) scans the table on every core
+    @Override
+    public Spliterator<Map.Entry<K,V>> spliterator(){
+        BucketView view = new BucketView();
+        return new NodeSpliterator(view, 0, view.length, size, true);
+    }
+
+    // The new array followed by the not yet moved part of the old one, as one range of bucket indexes
+    private class BucketView{
+        private final ArrayList<HashNode<K,V>> buckets = bucketArray;
+        private final ArrayList<HashNode<K,V>> oldBuckets = oldBucketArray;
+        private final int newLength = numBucket;
+        private final int oldStart = rehashIndex;
+        private final int length = oldBuckets == null ? newLength : newLength + oldNumBucket - oldStart;
+
+        HashNode<K,V> chainAt(int index){
+            return chain(index < newLength ? buckets.get(index) : oldBuckets.get(oldStart + index - newLength));
+        }
+    }
+
+    // A tree bin is walked through its nodes' next links, like a chain
+    private HashNode<K,V> chain(HashNode<K,V> head){
+        return head instanceof TreeBin ? ((TreeBin<K,V>) head).first : head;
+    }
+
+    private abstract class NodeIterator<T> implements Iterator<T>{
+        private final BucketView buckets = new BucketView();
+        private int index;
+        private HashNode<K,V> next;
+
+        NodeIterator(){
+            advance();
+        }
+
+        abstract T map(HashNode<K,V> node);
+
+        private void advance(){
+            if(next != null) next = next.next;
+            while(next == null && index < buckets.length){
+                next = buckets.chainAt(index++);
+            }
+        }
+
+        @Override
+        public boolean hasNext(){
+            return next != null;
+        }
+
+        @Override
+        public T next(){
+            if(next == null) throw new NoSuchElementException();
+            HashNode<K,V> node = next;
+            advance();
+            return map(node);
+        }
+    }
+
+    // Like HashTables.SlotSpliterator, but a bucket holds a whole chain. Only an unsplit spliterator knows
+    // its exact size; after a split the size is halved as an estimate
+    private class NodeSpliterator implements Spliterator<Map.Entry<K,V>>{
+        private final BucketView buckets;
+        private int index;
+        private final int fence;
+        private HashNode<K,V> current; // Rest of the chain of bucket index - 1
+        private long estimate;
+        private boolean exact;
+
+        NodeSpliterator(BucketView buckets, int origin, int fence, long size, boolean exact){
+            this.buckets = buckets;
+            this.index = origin;
+            this.fence = fence;
+            this.estimate = size;
+            this.exact = exact;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map.Entry<K,V>> action){
+            while(current == null && index < fence){
+                current = buckets.chainAt(index++);
+            }
+            if(current == null) return false;
+            HashNode<K,V> node = current;
+            current = node.next;
+            action.accept(node);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Map.Entry<K,V>> action){
+            for(HashNode<K,V> node = current; node != null; node = node.next){
+                action.accept(node);
+            }
+            current = null;
+            for(; index < fence; index++){
+                for(HashNode<K,V> node = buckets.chainAt(index); node != null; node = node.next){
+                    action.accept(node);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<Map.Entry<K,V>> trySplit(){
+            int mid = (index + fence) >>> 1;
+            if(mid - index < MIN_SPLIT_BUCKETS) return null;
+            estimate >>>= 1;
+            exact = false;
+            NodeSpliterator lower = new NodeSpliterator(buckets, index, mid, estimate, false);
+            index = mid;
+            return lower;
+        }
+
+        @Override
+        public long estimateSize(){
+            return estimate;
+        }
+
+        @Override
+        public int characteristics(){
+            return (exact ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+    }
+
+    // Buckets currently stored as trees, in both arrays while a resize is in progress
+    public int treeBinCount(){
+        int count = 0;
+        for(HashNode<K,V> head : bucketArray){
+            if(head instanceof TreeBin) count++;
+        }
+        if(isRehashing()){
+            for(HashNode<K,V> head : oldBucketArray){
+                if(head instanceof TreeBin) count++;
+            }
+        }
+        return count;
+    }
+
     public boolean isEmpty(){
         return size == 0;
     }
@@ -0,0 +1,55 @@
+package Language.Java.DataStructures.HashTables.ClosedAddressing.SeparateChaining;
+
+public class IncrementalResizeDemo {
+    public static void main(String[] args) {
+        int n = 3000000;
+
+        // 1. Correctness while a migration is in progress
+        System.out.println("=== Lookups during an incremental resize ===");
+        HashTable<Integer, String> table = new HashTable<>();
+        table.setIncrementalResize(true);
+        for (int i = 0; i < 7; i++) {
+            table.add(i, "Number " + i); // the 7th add crosses 0.7 and starts a migration
+        }
+        System.out.println("Rehashing after crossing the load factor? " + table.isRehashing()); // Expected: true
+        int entries = 0;
+        for (java.util.Map.Entry<Integer, String> entry : table) {
+            entries++; // Walks both arrays, leaving the migration where it was
+        }
+        System.out.println("Entries iterated: " + entries + ", still rehashing? " + table.isRehashing()); // Expected: 7, true
+        System.out.println("Key: 3, Value: " + table.get(3)); // Expected: "Number 3"
+        System.out.println("Removed key 5: " + table.remove(5)); // Expected: "Number 5"
+        table.add(2, "Updated Two");
+        System.out.println("Key: 2, Value: " + table.get(2)); // Expected: "Updated Two"
+        System.out.println("Size: " + table.getSize()); // Expected: 6
+
+        // 2. Longest single add() with and without incremental resizing
+        // Run with a large heap (e.g. -Xms3g -Xmx3g) so garbage collection pauses don't hide the resize pause
+        System.out.println("\n=== Worst single add() while inserting " + n + " keys ===");
+        for (int round = 0; round < 2; round++) {
+            System.out.println("Stop-the-world resize: " + worstAddMillis(n, false) + " ms");
+            System.out.println("Incremental resize:    " + worstAddMillis(n, true) + " ms");
+        }
+    }
+
+    static double worstAddMillis(int n, boolean incremental) {
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = i;
+        }
+        HashTable<Integer, Integer> table = new HashTable<>();
+        table.setIncrementalResize(incremental);
+        long worst = 0;
+        for (int i = 0; i < n; i++) {
+            long start = System.nanoTime();
+            table.add(keys[i], keys[i]);
+            worst = Math.max(worst, System.nanoTime() - start);
+        }
+        for (int i = 0; i < n; i += 1000) {
+            if (table.get(i) != i) {
+                throw new RuntimeException("Lost key " + i);
+            }
+        }
+        return worst / 1e6;
+    }
+}
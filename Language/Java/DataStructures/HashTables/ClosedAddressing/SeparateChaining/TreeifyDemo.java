@@ -0,0 +1,100 @@
+package Language.Java.DataStructures.HashTables.ClosedAddressing.SeparateChaining;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import Language.Java.DataStructures.HashTables.HashStrategies;
+
+public class TreeifyDemo {
+    public static void main(String[] args) {
+        // 1. Every key has the same hash code, so they all land in one bucket
+        System.out.println("=== One bucket, 1000 keys ===");
+        HashTable<Integer, String> table = new HashTable<>(key -> 42);
+        for (int i = 0; i < 1000; i++) {
+            table.add(i, "Number " + i);
+        }
+        System.out.println("Tree bins: " + table.treeBinCount()); // Expected: 1
+        System.out.println("Key: 500, Value: " + table.get(500)); // Expected: "Number 500"
+        System.out.println("Key: 1000, Value: " + table.get(1000)); // Expected: null
+
+        // 2. Shrinking the bucket back below the threshold turns it into a chain again
+        for (int i = 0; i < 995; i++) {
+            table.remove(i);
+        }
+        System.out.println("Size: " + table.getSize()); // Expected: 5
+        System.out.println("Tree bins after removing 995 keys: " + table.treeBinCount()); // Expected: 0
+        System.out.println("Key: 997, Value: " + table.get(997)); // Expected: "Number 997"
+
+        // 3. Hash flooding: strings built from "Aa" and "BB" all share one String.hashCode(),
+        // so a strategy that starts from hashCode() puts them in a single bucket
+        int blocks = 16;
+        List<String> keys = collidingStrings(blocks);
+        System.out.println("\n=== " + keys.size() + " strings with hashCode() " + keys.get(0).hashCode() + " ===");
+        HashTable<String, Integer> flooded = new HashTable<>(HashStrategies.murmur3());
+        long start = System.nanoTime();
+        for (int i = 0; i < keys.size(); i++) {
+            flooded.add(keys.get(i), i);
+        }
+        int wrong = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            if (flooded.get(keys.get(i)) != i) wrong++;
+        }
+        System.out.printf("Added and looked up every key in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+        System.out.println("Wrong values: " + wrong + ", tree bins: " + flooded.treeBinCount()); // Expected: 0, 1
+
+        // 4. One bin holding keys of several classes: Integers and Strings order themselves with compareTo,
+        // Points do not, and BigDecimals can compareTo 0 without being equal. Checked against java.util.HashMap
+        System.out.println("\n=== One bucket, mixed key classes ===");
+        HashTable<Object, Integer> mixed = new HashTable<>(key -> 7);
+        Map<Object, Integer> expected = new HashMap<>();
+        Random random = new Random(14);
+        int mismatches = 0;
+        for (int i = 0; i < 20000; i++) {
+            Object key = mixedKey(random);
+            if (random.nextInt(3) == 0) {
+                boolean present = !mixed.isEmpty() && mixed.get(key) != null; // get(...) throws on an empty table
+                if (expected.containsKey(key) != present) mismatches++;
+                if (expected.remove(key) != null) mixed.remove(key);
+            } else {
+                expected.put(key, i);
+                mixed.add(key, i);
+            }
+            if (expected.size() != mixed.getSize()) mismatches++;
+        }
+        for (Map.Entry<Object, Integer> entry : expected.entrySet()) {
+            if (!entry.getValue().equals(mixed.get(entry.getKey()))) mismatches++;
+        }
+        System.out.println("Size: " + mixed.getSize() + ", expected: " + expected.size()); // Expected: equal
+        System.out.println("Mismatches: " + mismatches + ", tree bins: " + mixed.treeBinCount()); // Expected: 0, 1
+    }
+
+    record Point(int x, int y) {
+    }
+
+    static Object mixedKey(Random random) {
+        int n = random.nextInt(40);
+        return switch (random.nextInt(4)) {
+            case 0 -> n;
+            case 1 -> "key" + n;
+            case 2 -> new Point(n, -n);
+            default -> new BigDecimal(n).setScale(random.nextInt(2)); // 5 and 5.0 compareTo 0 but are not equal
+        };
+    }
+
+    // All 2^blocks strings made of blocks pieces, each piece "Aa" or "BB"
+    static List<String> collidingStrings(int blocks) {
+        List<String> keys = new ArrayList<>();
+        for (int bits = 0; bits < 1 << blocks; bits++) {
+            StringBuilder key = new StringBuilder();
+            for (int i = 0; i < blocks; i++) {
+                key.append((bits >>> i & 1) == 0 ? "Aa" : "BB");
+            }
+            keys.add(key.toString());
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,12 @@
+package Language.Java.DataStructures.HashTables;
+
+/*
+ * Turns a key or value into bytes and back, for tables that store their entries outside the Java heap or on disk.
+ * Codecs holds the built-in ones.
+ */
+public interface Codec<T> {
+
+    byte[] encode(T value);
+
+    T decode(byte[] bytes);
+}
@@ -0,0 +1,79 @@
+package Language.Java.DataStructures.HashTables;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Built-in Codec implementations.
+ * Numbers are written big-endian so the bytes are the same on every machine.
+ */
+public final class Codecs {
+
+    private static final Codec<String> STRINGS = new Codec<String>() {
+        @Override
+        public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    private static final Codec<Integer> INTEGERS = new Codec<Integer>() {
+        @Override
+        public byte[] encode(Integer value) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+        }
+
+        @Override
+        public Integer decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getInt();
+        }
+    };
+
+    private static final Codec<Long> LONGS = new Codec<Long>() {
+        @Override
+        public byte[] encode(Long value) {
+            return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+        }
+
+        @Override
+        public Long decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getLong();
+        }
+    };
+
+    // Stores the array as it is, decode returns the same bytes it is given
+    private static final Codec<byte[]> BYTES = new Codec<byte[]>() {
+        @Override
+        public byte[] encode(byte[] value) {
+            return value;
+        }
+
+        @Override
+        public byte[] decode(byte[] bytes) {
+            return bytes;
+        }
+    };
+
+    private Codecs() {
+    }
+
+    public static Codec<String> strings() {
+        return STRINGS;
+    }
+
+    public static Codec<Integer> integers() {
+        return INTEGERS;
+    }
+
+    public static Codec<Long> longs() {
+        return LONGS;
+    }
+
+    public static Codec<byte[]> bytes() {
+        return BYTES;
+    }
+}
@@ -0,0 +1,334 @@
+package Language.Java.DataStructures.HashTables.ExtendibleHashing;
+
+import Language.Java.DataStructures.HashTables.Codec;
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/*
+ * Extendible hashing over a PageFile.
+ * Every bucket is one page. The directory has 2^globalDepth entries and maps the low globalDepth bits of a hash
+ * to the page holding those keys; a page with local depth d is shared by the 2^(globalDepth - d) entries that agree
+ * on the low d bits. When a page overflows only that page is split: its entries are divided over itself and one
+ * new page by bit d of their hash. The directory doubles when d reaches globalDepth, which copies page numbers
+ * but moves no entries, so the table never rehashes as a whole.
+ *
+ * Page 0 is the file header. Bucket pages start with local depth, hash pattern, entry count and used bytes,
+ * followed by records of hash, key length, value length, key bytes and value bytes.
+ * The directory lives in memory and is rebuilt from the bucket headers when the file is opened again.
+ * A split writes the new page before it rewrites the old one, so a crash in between leaves every record on disk;
+ * open() then finishes the split.
+ */
+public class HashTable<K, V> {
+
+    private static final long MAGIC = 0x45585448415348L; // "EXTHASH"
+    private static final int BUCKET_HEADER = 16;
+    private static final int RECORD_HEADER = 12;
+    private static final int MAX_GLOBAL_DEPTH = 24; // A directory of 16M page numbers
+
+    private final PageFile pages;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final HashStrategy<? super K> strategy;
+    private int[] directory;
+    private int globalDepth = 0;
+    private int size = 0;
+    private long splits = 0;
+
+    public HashTable(FileChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        this(channel, 4096, 64, keyCodec, valueCodec, HashStrategies.defaultStrategy());
+    }
+
+    // An empty channel starts a new table, otherwise the table stored in it is opened with the same page size
+    public HashTable(FileChannel channel, int pageSize, int cachedPages, Codec<K> keyCodec, Codec<V> valueCodec,
+                     HashStrategy<? super K> strategy) throws IOException {
+        this.pages = new PageFile(channel, pageSize, cachedPages);
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.strategy = strategy;
+        if (pages.pageCount() == 0) {
+            create();
+        } else {
+            open();
+        }
+    }
+
+    private void create() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(pages.pageSize());
+        header.putLong(MAGIC).putInt(pages.pageSize());
+        pages.allocate(header);
+        directory = new int[]{pages.allocate(emptyBucket(0, 0))};
+    }
+
+    private void open() throws IOException {
+        ByteBuffer header = pages.read(0);
+        if (header.getLong() != MAGIC) throw new IOException("Not an extendible hash table file");
+        if (header.getInt() != pages.pageSize()) throw new IOException("File was written with another page size");
+        int[] depths = new int[pages.pageCount()];
+        int[] patterns = new int[pages.pageCount()];
+        int[] counts = new int[pages.pageCount()];
+        for (int page = 1; page < pages.pageCount(); page++) {
+            ByteBuffer bucket = pages.read(page);
+            depths[page] = bucket.getInt(0);
+            patterns[page] = bucket.getInt(4);
+            counts[page] = bucket.getInt(8);
+            if (depths[page] < 0 || depths[page] > MAX_GLOBAL_DEPTH || patterns[page] >>> depths[page] != 0) {
+                throw new IOException("Corrupt bucket header on page " + page);
+            }
+            globalDepth = Math.max(globalDepth, depths[page]);
+        }
+        // A page split off later has a higher number, so it takes over its half of the older page's entries
+        directory = new int[1 << globalDepth];
+        for (int page = 1; page < pages.pageCount(); page++) {
+            for (int i = patterns[page]; i < directory.length; i += 1 << depths[page]) {
+                directory[i] = page;
+            }
+        }
+        int[] references = new int[pages.pageCount()];
+        for (int page : directory) {
+            if (page == 0) throw new IOException("Directory has a hole, the file is incomplete");
+            references[page]++;
+        }
+        for (int page = 1; page < pages.pageCount(); page++) {
+            int expected = 1 << (globalDepth - depths[page]);
+            if (references[page] == expected / 2) {
+                counts[page] = finishSplit(page, depths[page], patterns[page]);
+            } else if (references[page] != expected) {
+                throw new IOException("Page " + page + " is referenced " + references[page] + " times, expected "
+                        + expected);
+            }
+            size += counts[page];
+        }
+    }
+
+    // The page was being split when the file was last closed: its upper half was written to a new page but the
+    // page itself still has every record. Keeps only the records the directory still sends here and returns their count
+    private int finishSplit(int page, int depth, int pattern) throws IOException {
+        ByteBuffer bucket = pages.read(page);
+        ByteBuffer kept = emptyBucket(depth + 1, pattern);
+        int used = bucket.getInt(12);
+        for (int offset = BUCKET_HEADER; offset < used; ) {
+            int end = next(bucket, offset);
+            if (directory[bucket.getInt(offset) & (directory.length - 1)] == page) {
+                kept.put(kept.getInt(12), bucket, offset, end - offset);
+                kept.putInt(8, kept.getInt(8) + 1);
+                kept.putInt(12, kept.getInt(12) + end - offset);
+            }
+            offset = end;
+        }
+        pages.write(page, kept);
+        return kept.getInt(8);
+    }
+
+    public void add(K key, V val) throws IOException {
+        if (key == null || val == null) {
+            return;
+        }
+        byte[] keyBytes = keyCodec.encode(key);
+        byte[] valBytes = valueCodec.encode(val);
+        int recordSize = RECORD_HEADER + keyBytes.length + valBytes.length;
+        if (recordSize > pages.pageSize() - BUCKET_HEADER) {
+            throw new IllegalArgumentException("Entry of " + recordSize + " bytes does not fit in a page");
+        }
+        int hashCode = strategy.hash(key);
+        while (true) {
+            int page = directory[hashCode & (directory.length - 1)];
+            ByteBuffer bucket = pages.read(page);
+            int record = find(bucket, key, hashCode);
+            int replaced = record < 0 ? 0 : next(bucket, record) - record;
+            // The buffer is the cached page, so it is only changed once the new record is known to fit
+            if (bucket.getInt(12) - replaced + recordSize <= pages.pageSize()) {
+                if (record >= 0) {
+                    delete(bucket, record);
+                }
+                int used = bucket.getInt(12);
+                bucket.position(used);
+                bucket.putInt(hashCode).putInt(keyBytes.length).putInt(valBytes.length).put(keyBytes).put(valBytes);
+                bucket.putInt(8, bucket.getInt(8) + 1);
+                bucket.putInt(12, used + recordSize);
+                pages.write(page, bucket);
+                if (record < 0) {
+                    size++;
+                }
+                return;
+            }
+            split(page, bucket, hashCode);
+        }
+    }
+
+    public V get(K key) throws IOException {
+        if (key == null) {
+            return null;
+        }
+        int hashCode = strategy.hash(key);
+        ByteBuffer bucket = pages.read(directory[hashCode & (directory.length - 1)]);
+        int record = find(bucket, key, hashCode);
+        return record < 0 ? null : value(bucket, record);
+    }
+
+    public boolean contains(K key) throws IOException {
+        if (key == null) {
+            return false;
+        }
+        int hashCode = strategy.hash(key);
+        return find(pages.read(directory[hashCode & (directory.length - 1)]), key, hashCode) >= 0;
+    }
+
+    // Pages are never merged back, a bucket emptied by removals stays allocated
+    public V remove(K key) throws IOException {
+        if (key == null) {
+            return null;
+        }
+        int hashCode = strategy.hash(key);
+        int page = directory[hashCode & (directory.length - 1)];
+        ByteBuffer bucket = pages.read(page);
+        int record = find(bucket, key, hashCode);
+        if (record < 0) {
+            return null;
+        }
+        V removed = value(bucket, record);
+        delete(bucket, record);
+        pages.write(page, bucket);
+        size--;
+        return removed;
+    }
+
+    // Offset of the key's record in the bucket, or -1
+    private int find(ByteBuffer bucket, K key, int hashCode) {
+        int used = bucket.getInt(12);
+        for (int offset = BUCKET_HEADER; offset < used; offset = next(bucket, offset)) {
+            if (bucket.getInt(offset) == hashCode && strategy.keyEquals(key(bucket, offset), key)) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    private int next(ByteBuffer bucket, int offset) {
+        return offset + RECORD_HEADER + bucket.getInt(offset + 4) + bucket.getInt(offset + 8);
+    }
+
+    private K key(ByteBuffer bucket, int offset) {
+        byte[] bytes = new byte[bucket.getInt(offset + 4)];
+        bucket.get(offset + RECORD_HEADER, bytes);
+        return keyCodec.decode(bytes);
+    }
+
+    private V value(ByteBuffer bucket, int offset) {
+        int keyLength = bucket.getInt(offset + 4);
+        byte[] bytes = new byte[bucket.getInt(offset + 8)];
+        bucket.get(offset + RECORD_HEADER + keyLength, bytes);
+        return valueCodec.decode(bytes);
+    }
+
+    // Shifts the records after this one down over it
+    private void delete(ByteBuffer bucket, int offset) {
+        int used = bucket.getInt(12);
+        int end = next(bucket, offset);
+        System.arraycopy(bucket.array(), end, bucket.array(), offset, used - end);
+        bucket.putInt(8, bucket.getInt(8) - 1);
+        bucket.putInt(12, used - (end - offset));
+    }
+
+    // Writes the entries whose hash has bit depth set to a new page, then rewrites the overflowing page with the
+    // others. Only directory entries pointing at the old page change
+    private void split(int page, ByteBuffer bucket, int hashCode) throws IOException {
+        int depth = bucket.getInt(0);
+        int pattern = bucket.getInt(4);
+        if (sameHash(bucket, hashCode)) {
+            throw new RuntimeException("A page is full of keys with the same hash code, use a better HashStrategy");
+        }
+        if (depth == globalDepth) {
+            if (globalDepth == MAX_GLOBAL_DEPTH) {
+                throw new RuntimeException("Directory cannot grow past 2^" + MAX_GLOBAL_DEPTH + " entries");
+            }
+            int length = directory.length;
+            directory = Arrays.copyOf(directory, length * 2);
+            System.arraycopy(directory, 0, directory, length, length);
+            globalDepth++;
+        }
+        int highPattern = pattern | (1 << depth);
+        ByteBuffer low = emptyBucket(depth + 1, pattern);
+        ByteBuffer high = emptyBucket(depth + 1, highPattern);
+        int used = bucket.getInt(12);
+        for (int offset = BUCKET_HEADER; offset < used; ) {
+            int end = next(bucket, offset);
+            ByteBuffer target = (bucket.getInt(offset) >>> depth & 1) == 0 ? low : high;
+            target.put(target.getInt(12), bucket, offset, end - offset);
+            target.putInt(8, target.getInt(8) + 1);
+            target.putInt(12, target.getInt(12) + end - offset);
+            offset = end;
+        }
+        int newPage = pages.allocate(high);
+        pages.write(page, low);
+        for (int i = highPattern; i < directory.length; i += 1 << (depth + 1)) {
+            directory[i] = newPage;
+        }
+        splits++;
+    }
+
+    // No number of splits can separate keys that all have the same hash code
+    private boolean sameHash(ByteBuffer bucket, int hashCode) {
+        int used = bucket.getInt(12);
+        for (int offset = BUCKET_HEADER; offset < used; offset = next(bucket, offset)) {
+            if (bucket.getInt(offset) != hashCode) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ByteBuffer emptyBucket(int depth, int pattern) {
+        ByteBuffer bucket = ByteBuffer.allocate(pages.pageSize());
+        bucket.putInt(0, depth).putInt(4, pattern).putInt(8, 0).putInt(12, BUCKET_HEADER);
+        return bucket;
+    }
+
+    // Makes every write so far durable
+    public void flush() throws IOException {
+        pages.force();
+    }
+
+    public void printHashTable() throws IOException {
+        if (isEmpty()) {
+            return;
+        }
+        for (int page = 1; page < pages.pageCount(); page++) {
+            ByteBuffer bucket = pages.read(page);
+            int used = bucket.getInt(12);
+            for (int offset = BUCKET_HEADER; offset < used; offset = next(bucket, offset)) {
+                System.out.println("Key: " + key(bucket, offset) + " | Value: " + value(bucket, offset)
+                        + " | Page: " + page + " | Local depth: " + bucket.getInt(0));
+            }
+        }
+    }
+
+    public int globalDepth() {
+        return globalDepth;
+    }
+
+    // Bucket pages, the header page not counted
+    public int bucketCount() {
+        return pages.pageCount() - 1;
+    }
+
+    public long splitCount() {
+        return splits;
+    }
+
+    public PageFile pageFile() {
+        return pages;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,90 @@
+package Language.Java.DataStructures.HashTables.ExtendibleHashing;
+
+import Language.Java.DataStructures.HashTables.Codecs;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class HashTableDemo {
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("extendible", ".pages");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            HashTable<String, Integer> hashTable = new HashTable<>(channel, Codecs.strings(), Codecs.integers());
+
+            // 1. Add elements to the hash table
+            System.out.println("### Adding Elements ###");
+            hashTable.add("One", 1);
+            hashTable.add("Two", 2);
+            hashTable.add("Three", 3);
+            hashTable.add("Two", 22);
+            hashTable.add(null, 4); // Ignored
+            hashTable.printHashTable();
+            System.out.println("Size: " + hashTable.size()); // Expected: 3
+            System.out.println("Get 'Two': " + hashTable.get("Two")); // Expected: 22
+
+            // 2. Remove elements
+            System.out.println("\n### Removing Elements ###");
+            System.out.println("Removed 'One': " + hashTable.remove("One")); // Expected: 1
+            System.out.println("Removed 'Five': " + hashTable.remove("Five")); // Expected: null
+            System.out.println("Contains 'One': " + hashTable.contains("One")); // Expected: false
+            System.out.println("Size: " + hashTable.size()); // Expected: 2
+        }
+        Files.delete(file);
+
+        // 3. Growing one page at a time: a split writes the page that overflowed and one new page
+        System.out.println("\n### Growing To 500000 Entries ###");
+        int n = 500000;
+        file = Files.createTempFile("extendible", ".pages");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            HashTable<Integer, String> table = new HashTable<>(channel, Codecs.integers(), Codecs.strings());
+            long worstAdd = 0;
+            for (int i = 0; i < n; i++) {
+                long start = System.nanoTime();
+                table.add(i, "value-" + i);
+                worstAdd = Math.max(worstAdd, System.nanoTime() - start);
+            }
+            System.out.println("Global depth: " + table.globalDepth() + " | bucket pages: " + table.bucketCount()
+                    + " | splits: " + table.splitCount());
+            System.out.printf("Page writes: %d = %d adds + 2 per split%n",
+                    table.pageFile().writeCount() - 2, n); // Header and first bucket not counted
+            System.out.printf("Entries per page: %.0f | worst add: %.2f ms%n",
+                    (double) n / table.bucketCount(), worstAdd / 1e6);
+            for (int i = 0; i < n; i += 2) {
+                table.remove(i);
+            }
+            table.flush();
+        }
+
+        // 4. Reopening the file rebuilds the directory from the page headers
+        System.out.println("\n### Reopening The File ###");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            HashTable<Integer, String> table = new HashTable<>(channel, Codecs.integers(), Codecs.strings());
+            int wrong = 0;
+            for (int i = 0; i < n; i++) {
+                String expected = i % 2 == 0 ? null : "value-" + i;
+                String found = table.get(i);
+                if (expected == null ? found != null : !expected.equals(found)) wrong++;
+            }
+            System.out.println("Size: " + table.size() + " | wrong values: " + wrong); // Expected: 250000, 0
+            System.out.println("Pages read: " + table.pageFile().readCount());
+        }
+        Files.delete(file);
+
+        // 5. Keys with one hash code cannot be split apart
+        System.out.println("\n### Identical Hash Codes ###");
+        file = Files.createTempFile("extendible", ".pages");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            HashTable<Integer, Integer> table = new HashTable<>(channel, 128, 4, Codecs.integers(), Codecs.integers(), key -> 7);
+            for (int i = 0; i < 100; i++) {
+                table.add(i, i);
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,94 @@
+package Language.Java.DataStructures.HashTables.ExtendibleHashing;
+
+import Language.Java.DataStructures.Caches.LRU.LruCache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/*
+ * A file cut into fixed-size pages, numbered from 0.
+ * The most recently used pages are kept in an LruCache so hot buckets are read from disk only once.
+ * Writes go straight through to the channel, so the cache never holds changes the file does not have.
+ */
+public class PageFile {
+    private final FileChannel channel;
+    private final int pageSize;
+    private final LruCache<Integer, ByteBuffer> cache;
+    private int pageCount;
+    private long reads = 0;
+    private long writes = 0;
+
+    public PageFile(FileChannel channel, int pageSize, int cachedPages) throws IOException {
+        if (pageSize < 64) throw new IllegalArgumentException("Pages must be at least 64 bytes");
+        if (channel.size() % pageSize != 0) throw new IOException("File size is not a multiple of the page size");
+        if (channel.size() / pageSize > Integer.MAX_VALUE) throw new IOException("Too many pages");
+        this.channel = channel;
+        this.pageSize = pageSize;
+        this.cache = new LruCache<>(cachedPages);
+        this.pageCount = (int) (channel.size() / pageSize);
+    }
+
+    // Returns the cached copy of the page, positioned at 0. Changes to it must be saved with write(...)
+    public ByteBuffer read(int page) throws IOException {
+        checkPage(page);
+        ByteBuffer buffer = cache.get(page);
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate(pageSize);
+            long position = (long) page * pageSize;
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Page " + page + " is truncated");
+                }
+            }
+            reads++;
+            cache.put(page, buffer);
+        }
+        return buffer.clear();
+    }
+
+    public void write(int page, ByteBuffer buffer) throws IOException {
+        checkPage(page);
+        if (buffer.capacity() != pageSize) throw new IllegalArgumentException("Buffer is not one page long");
+        ByteBuffer source = buffer.duplicate().clear();
+        long position = (long) page * pageSize;
+        while (source.hasRemaining()) {
+            channel.write(source, position + source.position());
+        }
+        writes++;
+        cache.put(page, buffer);
+    }
+
+    // Writes the buffer as a new page at the end of the file and returns its number
+    public int allocate(ByteBuffer buffer) throws IOException {
+        if (pageCount == Integer.MAX_VALUE) throw new IOException("Too many pages");
+        pageCount++;
+        write(pageCount - 1, buffer);
+        return pageCount - 1;
+    }
+
+    private void checkPage(int page) {
+        if (page < 0 || page >= pageCount) throw new IllegalArgumentException("No page " + page);
+    }
+
+    public void force() throws IOException {
+        channel.force(false);
+    }
+
+    public int pageSize() {
+        return pageSize;
+    }
+
+    public int pageCount() {
+        return pageCount;
+    }
+
+    // Pages read from the channel, cache hits not included
+    public long readCount() {
+        return reads;
+    }
+
+    public long writeCount() {
+        return writes;
+    }
+}
@@ -0,0 +1,365 @@
+package Language.Java.DataStructures.HashTables;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/*
+ * Built-in HashStrategy and LongHashStrategy implementations.
+ * None of them allocate: strings are hashed straight from their chars and byte arrays from their bytes.
+ */
+public final class HashStrategies {
+
+    private static final int PRIME1 = 0x9E3779B1;
+    private static final int PRIME2 = 0x85EBCA77;
+    private static final int PRIME3 = 0xC2B2AE3D;
+    private static final int PRIME4 = 0x27D4EB2F;
+    private static final int PRIME5 = 0x165667B1;
+
+    private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME64_3 = 0x165667B19E3779F9L;
+    private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final HashStrategy<Object> MURMUR3 = key -> fmix32(key.hashCode());
+
+    private static final HashStrategy<Integer> INTEGERS = key -> fmix32(key);
+
+    private static final HashStrategy<Long> LONGS = key -> fold(fmix64(key));
+
+    private static final HashStrategy<String> STRINGS = HashStrategies::xxHash32;
+
+    private static final HashStrategy<byte[]> BYTE_ARRAYS = new HashStrategy<byte[]>() {
+        @Override
+        public int hash(byte[] key) {
+            return xxHash32(key, 0, key.length, 0);
+        }
+
+        @Override
+        public boolean keyEquals(byte[] a, byte[] b) {
+            return Arrays.equals(a, b);
+        }
+    };
+
+    private static final LongHashStrategy<String> STRINGS_64 = HashStrategies::xxHash64;
+
+    private static final LongHashStrategy<byte[]> BYTE_ARRAYS_64 = (key, seed) -> xxHash64(key, 0, key.length, seed);
+
+    private static final HashStrategy<Object> DEFAULT = key -> {
+        if (key instanceof Integer integer) {
+            return fmix32(integer);
+        } else if (key instanceof Long longKey) {
+            return fold(fmix64(longKey));
+        } else if (key instanceof String str) {
+            return xxHash32(str);
+        }
+        return fmix32(key.hashCode());
+    };
+
+    private HashStrategies() {
+    }
+
+    // Dispatches to the Integer, Long and String strategies, falls back to murmur3() for everything else
+    @SuppressWarnings("unchecked")
+    public static <K> HashStrategy<K> defaultStrategy() {
+        return (HashStrategy<K>) DEFAULT;
+    }
+
+    // key.hashCode() run through the murmur3 fmix32 finalizer
+    @SuppressWarnings("unchecked")
+    public static <K> HashStrategy<K> murmur3() {
+        return (HashStrategy<K>) MURMUR3;
+    }
+
+    public static HashStrategy<Integer> integers() {
+        return INTEGERS;
+    }
+
+    public static HashStrategy<Long> longs() {
+        return LONGS;
+    }
+
+    public static HashStrategy<String> strings() {
+        return STRINGS;
+    }
+
+    // Hashes and compares array contents rather than array identity
+    public static HashStrategy<byte[]> byteArrays() {
+        return BYTE_ARRAYS;
+    }
+
+    // xxHash64 of the string's chars, the same value as xxHash64 over its UTF-16LE bytes
+    public static LongHashStrategy<String> strings64() {
+        return STRINGS_64;
+    }
+
+    public static LongHashStrategy<byte[]> byteArrays64() {
+        return BYTE_ARRAYS_64;
+    }
+
+    // xxHash64 of codec.encode(key), for key types without a built-in strategy. Allocates a byte[] per call
+    public static <K> LongHashStrategy<K> encoded64(Codec<? super K> codec) {
+        return (key, seed) -> {
+            byte[] bytes = codec.encode(key);
+            return xxHash64(bytes, 0, bytes.length, seed);
+        };
+    }
+
+    // Name of a built-in strategy, or the class name of any other one, e.g. to label HashTableMetrics
+    public static String nameOf(HashStrategy<?> strategy) {
+        if (strategy == DEFAULT) {
+            return "defaultStrategy";
+        }
+        if (strategy == MURMUR3) {
+            return "murmur3";
+        }
+        if (strategy == INTEGERS) {
+            return "integers";
+        }
+        if (strategy == LONGS) {
+            return "longs";
+        }
+        if (strategy == STRINGS) {
+            return "strings";
+        }
+        if (strategy == BYTE_ARRAYS) {
+            return "byteArrays";
+        }
+        return strategy.getClass().getName();
+    }
+
+    public static int fmix32(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    public static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int fold(long h) {
+        return (int) (h ^ (h >>> 32));
+    }
+
+    public static int xxHash32(byte[] data, int offset, int length, int seed) {
+        int end = offset + length;
+        int i = offset;
+        int h;
+        if (length >= 16) {
+            int v1 = seed + PRIME1 + PRIME2;
+            int v2 = seed + PRIME2;
+            int v3 = seed;
+            int v4 = seed - PRIME1;
+            int limit = end - 16;
+            while (i <= limit) {
+                v1 = round(v1, (int) INT_LE.get(data, i));
+                v2 = round(v2, (int) INT_LE.get(data, i + 4));
+                v3 = round(v3, (int) INT_LE.get(data, i + 8));
+                v4 = round(v4, (int) INT_LE.get(data, i + 12));
+                i += 16;
+            }
+            h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7)
+                    + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            h = seed + PRIME5;
+        }
+        h += length;
+        while (i <= end - 4) {
+            h += (int) INT_LE.get(data, i) * PRIME3;
+            h = Integer.rotateLeft(h, 17) * PRIME4;
+            i += 4;
+        }
+        while (i < end) {
+            h += (data[i] & 0xFF) * PRIME5;
+            h = Integer.rotateLeft(h, 11) * PRIME1;
+            i++;
+        }
+        return avalanche(h);
+    }
+
+    // Same shape as xxHash32 but reads two chars per 32-bit lane, so no byte[] is ever built
+    public static int xxHash32(String str) {
+        int length = str.length();
+        int i = 0;
+        int h;
+        if (length >= 8) {
+            int v1 = PRIME1 + PRIME2;
+            int v2 = PRIME2;
+            int v3 = 0;
+            int v4 = -PRIME1;
+            int limit = length - 8;
+            while (i <= limit) {
+                v1 = round(v1, str.charAt(i) | (str.charAt(i + 1) << 16));
+                v2 = round(v2, str.charAt(i + 2) | (str.charAt(i + 3) << 16));
+                v3 = round(v3, str.charAt(i + 4) | (str.charAt(i + 5) << 16));
+                v4 = round(v4, str.charAt(i + 6) | (str.charAt(i + 7) << 16));
+                i += 8;
+            }
+            h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7)
+                    + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            h = PRIME5;
+        }
+        h += length * 2;
+        while (i <= length - 2) {
+            h += (str.charAt(i) | (str.charAt(i + 1) << 16)) * PRIME3;
+            h = Integer.rotateLeft(h, 17) * PRIME4;
+            i += 2;
+        }
+        if (i < length) {
+            h += str.charAt(i) * PRIME5;
+            h = Integer.rotateLeft(h, 11) * PRIME1;
+        }
+        return avalanche(h);
+    }
+
+    // 64-bit xxHash, for callers that need more than 32 bits, e.g. to tell millions of keys apart by hash alone
+    public static long xxHash64(byte[] data, int offset, int length, long seed) {
+        int end = offset + length;
+        int i = offset;
+        long h;
+        if (length >= 32) {
+            long v1 = seed + PRIME64_1 + PRIME64_2;
+            long v2 = seed + PRIME64_2;
+            long v3 = seed;
+            long v4 = seed - PRIME64_1;
+            int limit = end - 32;
+            while (i <= limit) {
+                v1 = round64(v1, (long) LONG_LE.get(data, i));
+                v2 = round64(v2, (long) LONG_LE.get(data, i + 8));
+                v3 = round64(v3, (long) LONG_LE.get(data, i + 16));
+                v4 = round64(v4, (long) LONG_LE.get(data, i + 24));
+                i += 32;
+            }
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = mergeRound64(h, v1);
+            h = mergeRound64(h, v2);
+            h = mergeRound64(h, v3);
+            h = mergeRound64(h, v4);
+        } else {
+            h = seed + PRIME64_5;
+        }
+        h += length;
+        while (i <= end - 8) {
+            h ^= round64(0, (long) LONG_LE.get(data, i));
+            h = Long.rotateLeft(h, 27) * PRIME64_1 + PRIME64_4;
+            i += 8;
+        }
+        if (i <= end - 4) {
+            h ^= ((int) INT_LE.get(data, i) & 0xFFFFFFFFL) * PRIME64_1;
+            h = Long.rotateLeft(h, 23) * PRIME64_2 + PRIME64_3;
+            i += 4;
+        }
+        while (i < end) {
+            h ^= (data[i] & 0xFF) * PRIME64_5;
+            h = Long.rotateLeft(h, 11) * PRIME64_1;
+            i++;
+        }
+        h ^= h >>> 33;
+        h *= PRIME64_2;
+        h ^= h >>> 29;
+        h *= PRIME64_3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    // Same steps as xxHash64 over the string's UTF-16LE bytes, but reads four chars per 64-bit lane,
+    // so no byte[] is ever built
+    public static long xxHash64(String str, long seed) {
+        int length = str.length();
+        int i = 0;
+        long h;
+        if (length >= 16) {
+            long v1 = seed + PRIME64_1 + PRIME64_2;
+            long v2 = seed + PRIME64_2;
+            long v3 = seed;
+            long v4 = seed - PRIME64_1;
+            int limit = length - 16;
+            while (i <= limit) {
+                v1 = round64(v1, lane64(str, i));
+                v2 = round64(v2, lane64(str, i + 4));
+                v3 = round64(v3, lane64(str, i + 8));
+                v4 = round64(v4, lane64(str, i + 12));
+                i += 16;
+            }
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = mergeRound64(h, v1);
+            h = mergeRound64(h, v2);
+            h = mergeRound64(h, v3);
+            h = mergeRound64(h, v4);
+        } else {
+            h = seed + PRIME64_5;
+        }
+        h += length * 2L;
+        while (i <= length - 4) {
+            h ^= round64(0, lane64(str, i));
+            h = Long.rotateLeft(h, 27) * PRIME64_1 + PRIME64_4;
+            i += 4;
+        }
+        if (i <= length - 2) {
+            h ^= (str.charAt(i) | (long) str.charAt(i + 1) << 16) * PRIME64_1;
+            h = Long.rotateLeft(h, 23) * PRIME64_2 + PRIME64_3;
+            i += 2;
+        }
+        if (i < length) {
+            // The last char is two single bytes, low byte first
+            char c = str.charAt(i);
+            h ^= (c & 0xFF) * PRIME64_5;
+            h = Long.rotateLeft(h, 11) * PRIME64_1;
+            h ^= (c >>> 8) * PRIME64_5;
+            h = Long.rotateLeft(h, 11) * PRIME64_1;
+        }
+        h ^= h >>> 33;
+        h *= PRIME64_2;
+        h ^= h >>> 29;
+        h *= PRIME64_3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    // Four chars as one little-endian 64-bit lane
+    private static long lane64(String str, int i) {
+        return str.charAt(i) | (long) str.charAt(i + 1) << 16 | (long) str.charAt(i + 2) << 32
+                | (long) str.charAt(i + 3) << 48;
+    }
+
+    private static long round64(long acc, long lane) {
+        acc += lane * PRIME64_2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * PRIME64_1;
+    }
+
+    private static long mergeRound64(long acc, long v) {
+        acc ^= round64(0, v);
+        return acc * PRIME64_1 + PRIME64_4;
+    }
+
+    private static int round(int acc, int lane) {
+        acc += lane * PRIME2;
+        acc = Integer.rotateLeft(acc, 13);
+        return acc * PRIME1;
+    }
+
+    private static int avalanche(int h) {
+        h ^= h >>> 15;
+        h *= PRIME2;
+        h ^= h >>> 13;
+        h *= PRIME3;
+        h ^= h >>> 16;
+        return h;
+    }
+}
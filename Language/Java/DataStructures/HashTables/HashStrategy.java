@@ -0,0 +1,15 @@
+package Language.Java.DataStructures.HashTables;
+
+/*
+ * Decides how a hash table turns a key into an int and how two keys are compared.
+ * Every HashTable accepts one through its constructor; HashStrategies holds the built-in ones.
+ */
+@FunctionalInterface
+public interface HashStrategy<K> {
+
+    int hash(K key);
+
+    default boolean keyEquals(K a, K b) {
+        return a.equals(b);
+    }
+}
@@ -0,0 +1,154 @@
+package Language.Java.DataStructures.HashTables;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/*
+ * Opt-in counters for one hash table: probe lengths of lookups, hits and misses, collisions on insert,
+ * tombstones, and how often and how long the table rebuilt itself.
+ * A table keeps a null reference until enableMetrics() is called, so without metrics a lookup pays
+ * one null check and nothing is allocated. The counters are LongAdders, so recording from several
+ * threads does not make them fight over one cache line.
+ */
+public final class HashTableMetrics implements HashTableMetricsMXBean {
+    public static final int HISTOGRAM_BUCKETS = 16;
+
+    private final String hashStrategy;
+    private final IntSupplier tombstones;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder inserts = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder resizes = new LongAdder();
+    private final LongAdder resizeNanos = new LongAdder();
+    private final LongAdder[] probeHistogram = new LongAdder[HISTOGRAM_BUCKETS];
+
+    public HashTableMetrics(HashStrategy<?> strategy, IntSupplier tombstones) {
+        this.hashStrategy = HashStrategies.nameOf(strategy);
+        this.tombstones = tombstones;
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            probeHistogram[i] = new LongAdder();
+        }
+    }
+
+    // probes: slots looked at by open addressing, or nodes compared by chaining
+    public void recordLookup(int probes, boolean hit) {
+        (hit ? hits : misses).increment();
+        this.probes.add(probes);
+        probeHistogram[Math.min(HISTOGRAM_BUCKETS - 1, Integer.SIZE - Integer.numberOfLeadingZeros(probes))].increment();
+    }
+
+    // collided: the new key's home slot or bucket already held another key
+    public void recordInsert(boolean collided) {
+        inserts.increment();
+        if (collided) {
+            collisions.increment();
+        }
+    }
+
+    public void recordResize(long nanos) {
+        resizes.increment();
+        resizeNanos.add(nanos);
+    }
+
+    // Time spent moving entries outside of a resize, e.g. the small steps of an incremental resize
+    public void recordResizeTime(long nanos) {
+        resizeNanos.add(nanos);
+    }
+
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(hashStrategy, hits.sum(), misses.sum(), inserts.sum(), collisions.sum(),
+                probes.sum(), getProbeHistogram(), tombstones.getAsInt(), resizes.sum(), resizeNanos.sum());
+    }
+
+    // Registers these metrics with the platform MBean server under
+    // Language.Java.DataStructures.HashTables:type=HashTableMetrics,name=<name>
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName(getClass().getPackageName() + ":type=HashTableMetrics,name="
+                + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    public static void unregister(ObjectName objectName) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    }
+
+    @Override
+    public String getHashStrategy() {
+        return hashStrategy;
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        return snapshot().hitRate();
+    }
+
+    @Override
+    public long getInserts() {
+        return inserts.sum();
+    }
+
+    @Override
+    public double getCollisionRate() {
+        return snapshot().collisionRate();
+    }
+
+    @Override
+    public double getMeanProbeLength() {
+        return snapshot().meanProbeLength();
+    }
+
+    @Override
+    public long[] getProbeHistogram() {
+        long[] counts = new long[HISTOGRAM_BUCKETS];
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            counts[i] = probeHistogram[i].sum();
+        }
+        return counts;
+    }
+
+    @Override
+    public int getTombstones() {
+        return tombstones.getAsInt();
+    }
+
+    @Override
+    public long getResizes() {
+        return resizes.sum();
+    }
+
+    @Override
+    public double getResizeMillis() {
+        return resizeNanos.sum() / 1e6;
+    }
+
+    @Override
+    public void reset() {
+        hits.reset();
+        misses.reset();
+        probes.reset();
+        inserts.reset();
+        collisions.reset();
+        resizes.reset();
+        resizeNanos.reset();
+        for (LongAdder bucket : probeHistogram) {
+            bucket.reset();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package Language.Java.DataStructures.HashTables;
+
+/*
+ * The attributes a HashTableMetrics shows in JConsole or any other JMX client once it is registered.
+ */
+public interface HashTableMetricsMXBean {
+
+    String getHashStrategy();
+
+    long getHits();
+
+    long getMisses();
+
+    double getHitRate();
+
+    long getInserts();
+
+    double getCollisionRate();
+
+    double getMeanProbeLength();
+
+    // Lookups by probe length: index 0 counts 0 probes, index i counts 2^(i-1) to 2^i - 1 probes
+    long[] getProbeHistogram();
+
+    int getTombstones();
+
+    long getResizes();
+
+    double getResizeMillis();
+
+    void reset();
+}
@@ -0,0 +1,223 @@
+package Language.Java.DataStructures.HashTables;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
+
+public class IterationDemo {
+
+    interface Table extends Iterable<Map.Entry<Integer, Integer>> {
+        void add(Integer key, Integer val);
+
+        void remove(Integer key);
+
+        Iterator<Integer> keyIterator();
+
+        Iterator<Integer> valueIterator();
+    }
+
+    public static void main(String[] args) {
+        int n = 1000000;
+        String[] names = {"Linear probing", "Quadratic probing", "Double hashing", "Separate chaining"};
+        Table[] tables = {linear(), quadratic(), doubleHashing(), chaining()};
+        for (Table table : tables) {
+            for (int i = 0; i < n; i++) {
+                table.add(i, i);
+            }
+            for (int i = 0; i < n; i += 4) {
+                table.remove(i); // Leaves tombstones behind in the open addressing tables
+            }
+        }
+        long expectedKeys = (long) n * (n - 1) / 2 - sumOfMultiplesOf4(n);
+
+        // 1. Keys, values and entries, each walked once
+        System.out.println("### Iterators ###");
+        for (int t = 0; t < tables.length; t++) {
+            long keys = 0;
+            long values = 0;
+            long entries = 0;
+            for (Iterator<Integer> it = tables[t].keyIterator(); it.hasNext(); ) {
+                keys += it.next();
+            }
+            for (Iterator<Integer> it = tables[t].valueIterator(); it.hasNext(); ) {
+                values += it.next();
+            }
+            for (Map.Entry<Integer, Integer> entry : tables[t]) {
+                entries++;
+            }
+            System.out.println(names[t] + ": " + entries + " entries, key sum " + keys + ", value sum " + values);
+            // Expected: 750000 entries and both sums equal to expectedKeys
+        }
+        System.out.println("Expected key sum: " + expectedKeys);
+
+        // 2. setValue(...) writes through to the table
+        System.out.println("\n### Entry.setValue ###");
+        for (int t = 0; t < tables.length; t++) {
+            for (Map.Entry<Integer, Integer> entry : tables[t]) {
+                entry.setValue(entry.getValue() * 2);
+            }
+            long values = 0;
+            for (Iterator<Integer> it = tables[t].valueIterator(); it.hasNext(); ) {
+                values += it.next();
+            }
+            System.out.println(names[t] + ": value sum " + values); // Expected: 2 * expectedKeys
+        }
+
+        // 3. What the spliterator reports before and after a split
+        System.out.println("\n### Spliterator ###");
+        Spliterator<Map.Entry<Integer, Integer>> root = tables[0].spliterator();
+        System.out.println("Root SIZED: " + root.hasCharacteristics(Spliterator.SIZED)
+                + ", size " + root.estimateSize()); // Expected: true, 750000
+        Spliterator<Map.Entry<Integer, Integer>> lower = root.trySplit();
+        System.out.println("After split SIZED: " + root.hasCharacteristics(Spliterator.SIZED)
+                + ", estimates " + lower.estimateSize() + " + " + root.estimateSize()); // Expected: false, 375000 + 375000
+        long[] counted = new long[1];
+        lower.forEachRemaining(entry -> counted[0]++);
+        root.forEachRemaining(entry -> counted[0]++);
+        System.out.println("Both halves: " + counted[0]); // Expected: 750000
+
+        // 4. Sequential and parallel streams give the same sum
+        System.out.println("\n### Sequential And Parallel Streams ###");
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        for (int t = 0; t < tables.length; t++) {
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                long sequential = StreamSupport.stream(tables[t].spliterator(), false)
+                        .mapToLong(entry -> entry.getKey()).sum();
+                long sequentialNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+                long parallel = StreamSupport.stream(tables[t].spliterator(), true)
+                        .mapToLong(entry -> entry.getKey()).sum();
+                long parallelNanos = System.nanoTime() - start;
+                System.out.printf("%-18s sequential %d in %.1f ms | parallel %d in %.1f ms%n", names[t],
+                        sequential, sequentialNanos / 1e6, parallel, parallelNanos / 1e6); // Expected: same sums
+            }
+        }
+    }
+
+    static long sumOfMultiplesOf4(int n) {
+        long count = (n + 3) / 4;
+        return 4 * count * (count - 1) / 2;
+    }
+
+    static Table linear() {
+        Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing.HashTable<Integer, Integer> table =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing.HashTable<>();
+        return new Table() {
+            public void add(Integer key, Integer val) {
+                table.add(key, val);
+            }
+
+            public void remove(Integer key) {
+                table.remove(key);
+            }
+
+            public Iterator<Integer> keyIterator() {
+                return table.keyIterator();
+            }
+
+            public Iterator<Integer> valueIterator() {
+                return table.valueIterator();
+            }
+
+            public Iterator<Map.Entry<Integer, Integer>> iterator() {
+                return table.iterator();
+            }
+
+            public Spliterator<Map.Entry<Integer, Integer>> spliterator() {
+                return table.spliterator();
+            }
+        };
+    }
+
+    static Table quadratic() {
+        Language.Java.DataStructures.HashTables.OpenAddressing.QuadraticProbing.HashTable<Integer, Integer> table =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.QuadraticProbing.HashTable<>();
+        return new Table() {
+            public void add(Integer key, Integer val) {
+                table.add(key, val);
+            }
+
+            public void remove(Integer key) {
+                table.remove(key);
+            }
+
+            public Iterator<Integer> keyIterator() {
+                return table.keyIterator();
+            }
+
+            public Iterator<Integer> valueIterator() {
+                return table.valueIterator();
+            }
+
+            public Iterator<Map.Entry<Integer, Integer>> iterator() {
+                return table.iterator();
+            }
+
+            public Spliterator<Map.Entry<Integer, Integer>> spliterator() {
+                return table.spliterator();
+            }
+        };
+    }
+
+    static Table doubleHashing() {
+        Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.HashTable<Integer, Integer> table =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.HashTable<>(10);
+        return new Table() {
+            public void add(Integer key, Integer val) {
+                table.add(key, val);
+            }
+
+            public void remove(Integer key) {
+                table.remove(key);
+            }
+
+            public Iterator<Integer> keyIterator() {
+                return table.keyIterator();
+            }
+
+            public Iterator<Integer> valueIterator() {
+                return table.valueIterator();
+            }
+
+            public Iterator<Map.Entry<Integer, Integer>> iterator() {
+                return table.iterator();
+            }
+
+            public Spliterator<Map.Entry<Integer, Integer>> spliterator() {
+                return table.spliterator();
+            }
+        };
+    }
+
+    static Table chaining() {
+        Language.Java.DataStructures.HashTables.ClosedAddressing.SeparateChaining.HashTable<Integer, Integer> table =
+                new Language.Java.DataStructures.HashTables.ClosedAddressing.SeparateChaining.HashTable<>();
+        return new Table() {
+            public void add(Integer key, Integer val) {
+                table.add(key, val);
+            }
+
+            public void remove(Integer key) {
+                table.remove(key);
+            }
+
+            public Iterator<Integer> keyIterator() {
+                return table.keyIterator();
+            }
+
+            public Iterator<Integer> valueIterator() {
+                return table.valueIterator();
+            }
+
+            public Iterator<Map.Entry<Integer, Integer>> iterator() {
+                return table.iterator();
+            }
+
+            public Spliterator<Map.Entry<Integer, Integer>> spliterator() {
+                return table.spliterator();
+            }
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package Language.Java.DataStructures.HashTables;
+
+/*
+ * 64-bit counterpart of HashStrategy, for structures that tell keys apart by hash alone or keep hashes in a file.
+ * The result may only depend on the key's contents and the seed, never on the JVM that computed it,
+ * so a file built on one machine can be read on another. HashStrategies holds the built-in ones.
+ */
+@FunctionalInterface
+public interface LongHashStrategy<K> {
+
+    long hash(K key, long seed);
+}
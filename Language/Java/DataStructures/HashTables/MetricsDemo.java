@@ -0,0 +1,215 @@
+package Language.Java.DataStructures.HashTables;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class MetricsDemo {
+
+    interface Table {
+        void add(Integer key, Integer val);
+
+        Integer get(Integer key);
+
+        void remove(Integer key);
+
+        HashTableMetrics enableMetrics();
+
+        void disableMetrics();
+    }
+
+    public static void main(String[] args) throws JMException {
+        int n = 200000;
+
+        // 1. The same workload on every table: add n keys, look up n present and n absent keys, remove a quarter
+        System.out.println("### Every Table, Default Strategy ###");
+        String[] names = {"Linear probing", "Quadratic probing", "Double hashing", "Separate chaining"};
+        Table[] tables = {linear(HashStrategies.defaultStrategy()), quadratic(), doubleHashing(), chaining()};
+        for (int t = 0; t < tables.length; t++) {
+            HashTableMetrics metrics = tables[t].enableMetrics();
+            runWorkload(tables[t], n);
+            System.out.println(names[t] + ": " + metrics.snapshot());
+        }
+
+        // 2. A strategy that throws away the low bits shows up as collisions and long probes
+        System.out.println("\n### Linear Probing, Good And Bad Strategy ###");
+        Table good = linear(HashStrategies.integers());
+        Table bad = linear(key -> key & ~0xF);
+        MetricsSnapshot goodSnapshot = measure(good, n);
+        MetricsSnapshot badSnapshot = measure(bad, n);
+        System.out.printf("%-40s collision rate %.3f | mean probes %.2f%n", goodSnapshot.hashStrategy(),
+                goodSnapshot.collisionRate(), goodSnapshot.meanProbeLength());
+        System.out.printf("%-40s collision rate %.3f | mean probes %.2f%n", "key & ~0xF",
+                badSnapshot.collisionRate(), badSnapshot.meanProbeLength()); // Expected: far higher than integers
+
+        // 3. The same numbers over JMX
+        System.out.println("\n### Reading The MXBean ###");
+        Table registered = linear(HashStrategies.defaultStrategy());
+        ObjectName name = registered.enableMetrics().register("demo-linear");
+        runWorkload(registered, n);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        System.out.println(name);
+        System.out.println("Hits: " + server.getAttribute(name, "Hits")); // Expected: 200000
+        System.out.println("Misses: " + server.getAttribute(name, "Misses")); // Expected: 200000
+        System.out.println("Resizes: " + server.getAttribute(name, "Resizes"));
+        System.out.println("ProbeHistogram: " + Arrays.toString((long[]) server.getAttribute(name, "ProbeHistogram")));
+        server.invoke(name, "reset", null, null);
+        System.out.println("Hits after reset: " + server.getAttribute(name, "Hits")); // Expected: 0
+        HashTableMetrics.unregister(name);
+
+        // 4. What recording costs on the lookup path
+        System.out.println("\n### Lookup Cost With And Without Metrics ###");
+        Table timed = linear(HashStrategies.defaultStrategy());
+        for (int i = 0; i < n; i++) {
+            timed.add(i, i);
+        }
+        for (int round = 0; round < 3; round++) {
+            timed.disableMetrics();
+            double off = timeLookups(timed, n);
+            timed.enableMetrics();
+            double on = timeLookups(timed, n);
+            System.out.printf("off %.1f ns | on %.1f ns per get%n", off, on);
+        }
+    }
+
+    static void runWorkload(Table table, int n) {
+        for (int i = 0; i < n; i++) {
+            table.add(i, i);
+        }
+        for (int i = 0; i < n; i++) {
+            table.get(i);
+            table.get(n + i);
+        }
+        for (int i = 0; i < n; i += 4) {
+            table.remove(i);
+        }
+    }
+
+    static MetricsSnapshot measure(Table table, int n) {
+        HashTableMetrics metrics = table.enableMetrics();
+        runWorkload(table, n);
+        return metrics.snapshot();
+    }
+
+    static double timeLookups(Table table, int n) {
+        long sum = 0;
+        long start = System.nanoTime();
+        for (int repeat = 0; repeat < 10; repeat++) {
+            for (int i = 0; i < n; i++) {
+                sum += table.get(i);
+            }
+        }
+        double nanos = (double) (System.nanoTime() - start) / (10L * n);
+        if (sum == 42) {
+            System.out.println(); // Keeps the loop from being optimized away
+        }
+        return nanos;
+    }
+
+    static Table linear(HashStrategy<Integer> strategy) {
+        Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing.HashTable<Integer, Integer> table =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing.HashTable<>(strategy);
+        return new Table() {
+            public void add(Integer key, Integer val) {
+                table.add(key, val);
+            }
+
+            public Integer get(Integer key) {
+                return table.get(key);
+            }
+
+            public void remove(Integer key) {
+                table.remove(key);
+            }
+
+            public HashTableMetrics enableMetrics() {
+                return table.enableMetrics();
+            }
+
+            public void disableMetrics() {
+                table.disableMetrics();
+            }
+        };
+    }
+
+    static Table quadratic() {
+        Language.Java.DataStructures.HashTables.OpenAddressing.QuadraticProbing.HashTable<Integer, Integer> table =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.QuadraticProbing.HashTable<>();
+        return new Table() {
+            public void add(Integer key, Integer val) {
+                table.add(key, val);
+            }
+
+            public Integer get(Integer key) {
+                return table.get(key);
+            }
+
+            public void remove(Integer key) {
+                table.remove(key);
+            }
+
+            public HashTableMetrics enableMetrics() {
+                return table.enableMetrics();
+            }
+
+            public void disableMetrics() {
+                table.disableMetrics();
+            }
+        };
+    }
+
+    static Table doubleHashing() {
+        Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.HashTable<Integer, Integer> table =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.HashTable<>(10);
+        return new Table() {
+            public void add(Integer key, Integer val) {
+                table.add(key, val);
+            }
+
+            public Integer get(Integer key) {
+                return table.get(key);
+            }
+
+            public void remove(Integer key) {
+                table.remove(key);
+            }
+
+            public HashTableMetrics enableMetrics() {
+                return table.enableMetrics();
+            }
+
+            public void disableMetrics() {
+                table.disableMetrics();
+            }
+        };
+    }
+
+    static Table chaining() {
+        Language.Java.DataStructures.HashTables.ClosedAddressing.SeparateChaining.HashTable<Integer, Integer> table =
+                new Language.Java.DataStructures.HashTables.ClosedAddressing.SeparateChaining.HashTable<>();
+        return new Table() {
+            public void add(Integer key, Integer val) {
+                table.add(key, val);
+            }
+
+            public Integer get(Integer key) {
+                return table.get(key);
+            }
+
+            public void remove(Integer key) {
+                table.remove(key);
+            }
+
+            public HashTableMetrics enableMetrics() {
+                return table.enableMetrics();
+            }
+
+            public void disableMetrics() {
+                table.disableMetrics();
+            }
+        };
+    }
+}
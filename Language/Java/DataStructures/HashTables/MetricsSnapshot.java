@@ -0,0 +1,94 @@
+package Language.Java.DataStructures.HashTables;
+
+/*
+ * The values of a HashTableMetrics at one moment. The counters keep running, a snapshot does not change.
+ */
+public final class MetricsSnapshot {
+    private final String hashStrategy;
+    private final long hits;
+    private final long misses;
+    private final long inserts;
+    private final long collisions;
+    private final long probes;
+    private final long[] probeHistogram;
+    private final int tombstones;
+    private final long resizes;
+    private final long resizeNanos;
+
+    MetricsSnapshot(String hashStrategy, long hits, long misses, long inserts, long collisions, long probes,
+                    long[] probeHistogram, int tombstones, long resizes, long resizeNanos) {
+        this.hashStrategy = hashStrategy;
+        this.hits = hits;
+        this.misses = misses;
+        this.inserts = inserts;
+        this.collisions = collisions;
+        this.probes = probes;
+        this.probeHistogram = probeHistogram;
+        this.tombstones = tombstones;
+        this.resizes = resizes;
+        this.resizeNanos = resizeNanos;
+    }
+
+    public String hashStrategy() {
+        return hashStrategy;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    public double hitRate() {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    public long inserts() {
+        return inserts;
+    }
+
+    // Share of inserts whose home slot or bucket already held another key
+    public double collisionRate() {
+        return inserts == 0 ? 0 : (double) collisions / inserts;
+    }
+
+    public double meanProbeLength() {
+        return hits + misses == 0 ? 0 : (double) probes / (hits + misses);
+    }
+
+    public long[] probeHistogram() {
+        return probeHistogram.clone();
+    }
+
+    public int tombstones() {
+        return tombstones;
+    }
+
+    public long resizes() {
+        return resizes;
+    }
+
+    public double resizeMillis() {
+        return resizeNanos / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder histogram = new StringBuilder();
+        for (int i = 0; i < probeHistogram.length; i++) {
+            if (probeHistogram[i] == 0) {
+                continue;
+            }
+            long low = i == 0 ? 0 : 1L << (i - 1);
+            long high = i == 0 ? 0 : (1L << i) - 1;
+            histogram.append(histogram.length() == 0 ? "" : ", ")
+                    .append(low == high ? String.valueOf(low) : low + "-" + high).append(": ").append(probeHistogram[i]);
+        }
+        return String.format("Strategy: %s | Hits: %d | Misses: %d | Mean probes: %.2f | Collision rate: %.3f | "
+                        + "Tombstones: %d | Resizes: %d (%.1f ms)%nProbe lengths: [%s]",
+                hashStrategy, hits, misses, meanProbeLength(), collisionRate(), tombstones, resizes, resizeMillis(),
+                histogram);
+    }
+}
@@ -0,0 +1,437 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.Cuckoo;
+
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+
+/*
+ * Bucketized cuckoo hashing.
+ * Every key may live in one of two buckets of 4 slots, chosen by two seeded hash functions, or in a
+ * stash of STASH_SIZE entries. A lookup therefore checks at most 8 slots plus the stash, however full the table is.
+ * When both buckets are full an insert kicks a random resident to its other bucket, which may kick another
+ * one, and so on. A chain that gets too long ends in the stash. When the stash is full too the table is rebuilt:
+ * with new seeds if the keys merely collide, with twice the buckets if it is getting full.
+ */
+public class HashTable<K, V> {
+
+    private static final int SLOTS_PER_BUCKET = 4;
+    private static final int STASH_SIZE = 4;
+    private static final int MAX_KICKS = 256;
+    private static final int REHASHES_PER_SIZE = 8; // Rebuilds with new seeds before a rebuild also doubles the buckets
+    // Keys with the same full hash code always share both buckets, whatever the seeds, so any more than this
+    // many of them can only be stashed
+    private static final int MAX_SAME_HASH_IN_BUCKETS = 2 * SLOTS_PER_BUCKET;
+
+    K[] keys;
+    V[] vals;
+    int[] hashes;
+    int numBucket = 4; // Buckets, each holding SLOTS_PER_BUCKET slots
+    int bucketMask = numBucket - 1;
+    int bucketShift = Integer.numberOfLeadingZeros(bucketMask); // bucket1 takes the top bits of a product
+    int size = 0;
+    double loadFactor = 0.9;
+    HashStrategy<? super K> strategy;
+
+    K[] stashKeys;
+    V[] stashVals;
+    int[] stashHashes;
+    int stashSize = 0;
+    private int forcedStash = 0; // Stash entries taken by keys beyond MAX_SAME_HASH_IN_BUCKETS of one hash code
+
+    // Mixed into the two bucket hashes and replaced whenever the table is rebuilt because keys collide
+    private int seed1 = 0x9E3779B1;
+    private int seed2 = 0x5BD1E995;
+
+    // The entry left without a slot when a kick chain and the stash both fail
+    private K homelessKey;
+    private V homelessVal;
+    private int homelessHash;
+
+    private int random = 0x2545F491;
+
+    // Kick-chain statistics
+    private long inserts;
+    private long totalKicks;
+    private int maxKickChain;
+    private int resizes;
+    private int rehashes;
+
+    public HashTable() {
+        this(HashStrategies.defaultStrategy());
+    }
+
+    @SuppressWarnings("unchecked")
+    public HashTable(HashStrategy<? super K> strategy) {
+        this.strategy = strategy;
+        allocate(numBucket);
+        stashKeys = (K[]) new Object[STASH_SIZE];
+        stashVals = (V[]) new Object[STASH_SIZE];
+        stashHashes = new int[STASH_SIZE];
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int buckets) {
+        numBucket = buckets;
+        bucketMask = buckets - 1;
+        bucketShift = Integer.numberOfLeadingZeros(bucketMask);
+        keys = (K[]) new Object[buckets * SLOTS_PER_BUCKET];
+        vals = (V[]) new Object[buckets * SLOTS_PER_BUCKET];
+        hashes = new int[buckets * SLOTS_PER_BUCKET];
+    }
+
+    public void setLoadFactor(double loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1");
+        }
+        this.loadFactor = loadFactor;
+    }
+
+    public void add(K key, V val) {
+        if (key == null || val == null) {
+            return;
+        }
+        int hashCode = strategy.hash(key);
+        int slot = findSlot(key, hashCode);
+        if (slot >= 0) {
+            vals[slot] = val;
+            return;
+        }
+        int stashSlot = findStash(key, hashCode);
+        if (stashSlot >= 0) {
+            stashVals[stashSlot] = val;
+            return;
+        }
+        if (countSameHash(hashCode) >= MAX_SAME_HASH_IN_BUCKETS) {
+            if (forcedStash == STASH_SIZE) {
+                throw new RuntimeException("Too many keys share hash code " + hashCode
+                        + ", no seeds or table size can separate them. Use a better HashStrategy");
+            }
+            forcedStash++;
+        }
+        if ((double) (size + 1) / (numBucket * SLOTS_PER_BUCKET) > loadFactor) {
+            resize(numBucket * 2, false);
+        }
+        inserts++;
+        if (!place(key, val, hashCode)) {
+            // With plenty of free slots the keys collide rather than the table being full, so new seeds are enough
+            boolean full = size >= numBucket * SLOTS_PER_BUCKET * loadFactor / 2;
+            resize(full ? numBucket * 2 : numBucket, true);
+        }
+        size++;
+    }
+
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        int hashCode = strategy.hash(key);
+        int slot = findSlot(key, hashCode);
+        if (slot >= 0) {
+            V removed = vals[slot];
+            keys[slot] = null;
+            vals[slot] = null;
+            size--;
+            refillFromStash(slot / SLOTS_PER_BUCKET);
+            releaseForcedStash(hashCode);
+            return removed;
+        }
+        int stashSlot = findStash(key, hashCode);
+        if (stashSlot < 0) {
+            return null;
+        }
+        V removed = stashVals[stashSlot];
+        stashSize--;
+        stashKeys[stashSlot] = stashKeys[stashSize];
+        stashVals[stashSlot] = stashVals[stashSize];
+        stashHashes[stashSlot] = stashHashes[stashSize];
+        stashKeys[stashSize] = null;
+        stashVals[stashSize] = null;
+        size--;
+        releaseForcedStash(hashCode);
+        return removed;
+    }
+
+    // Called after removing a key: if its hash code still has too many keys for two buckets, it had one extra
+    private void releaseForcedStash(int hashCode) {
+        if (countSameHash(hashCode) >= MAX_SAME_HASH_IN_BUCKETS) {
+            forcedStash--;
+        }
+    }
+
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        int hashCode = strategy.hash(key);
+        int slot = findSlot(key, hashCode);
+        if (slot >= 0) {
+            return vals[slot];
+        }
+        int stashSlot = findStash(key, hashCode);
+        return stashSlot < 0 ? null : stashVals[stashSlot];
+    }
+
+    public boolean contains(K key) {
+        if (key == null) {
+            return false;
+        }
+        int hashCode = strategy.hash(key);
+        return findSlot(key, hashCode) >= 0 || findStash(key, hashCode) >= 0;
+    }
+
+    private int findSlot(K key, int hashCode) {
+        int slot = scanBucket(bucket1(hashCode), key, hashCode);
+        return slot >= 0 ? slot : scanBucket(bucket2(hashCode), key, hashCode);
+    }
+
+    private int scanBucket(int bucket, K key, int hashCode) {
+        int base = bucket * SLOTS_PER_BUCKET;
+        for (int slot = base; slot < base + SLOTS_PER_BUCKET; slot++) {
+            if (hashes[slot] == hashCode && keys[slot] != null && strategy.keyEquals(keys[slot], key)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    // Entries with this exact hash code, wherever the current seeds put them
+    private int countSameHash(int hashCode) {
+        int count = countInBucket(bucket1(hashCode), hashCode);
+        if (bucket2(hashCode) != bucket1(hashCode)) {
+            count += countInBucket(bucket2(hashCode), hashCode);
+        }
+        for (int i = 0; i < stashSize; i++) {
+            if (stashHashes[i] == hashCode) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int countInBucket(int bucket, int hashCode) {
+        int count = 0;
+        int base = bucket * SLOTS_PER_BUCKET;
+        for (int slot = base; slot < base + SLOTS_PER_BUCKET; slot++) {
+            if (keys[slot] != null && hashes[slot] == hashCode) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int findStash(K key, int hashCode) {
+        for (int i = 0; i < stashSize; i++) {
+            if (stashHashes[i] == hashCode && strategy.keyEquals(stashKeys[i], key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Puts a new entry into one of its buckets, kicking residents along if needed.
+    // Returns false, with the entry that is still left over in homelessKey, when even the stash is full
+    private boolean place(K key, V val, int hashCode) {
+        int b1 = bucket1(hashCode);
+        int b2 = bucket2(hashCode);
+        if (insertIntoBucket(b1, key, val, hashCode) || insertIntoBucket(b2, key, val, hashCode)) {
+            return true;
+        }
+        int bucket = (nextRandom() & 1) == 0 ? b1 : b2;
+        for (int kicks = 1; kicks <= MAX_KICKS; kicks++) {
+            int slot = bucket * SLOTS_PER_BUCKET + (nextRandom() & (SLOTS_PER_BUCKET - 1));
+            K kickedKey = keys[slot];
+            V kickedVal = vals[slot];
+            int kickedHash = hashes[slot];
+            keys[slot] = key;
+            vals[slot] = val;
+            hashes[slot] = hashCode;
+            key = kickedKey;
+            val = kickedVal;
+            hashCode = kickedHash;
+            bucket = bucket1(hashCode) == bucket ? bucket2(hashCode) : bucket1(hashCode);
+            if (insertIntoBucket(bucket, key, val, hashCode)) {
+                recordKicks(kicks);
+                return true;
+            }
+        }
+        recordKicks(MAX_KICKS);
+        homelessKey = key;
+        homelessVal = val;
+        homelessHash = hashCode;
+        if (stashSize < stashKeys.length) {
+            stashHomeless();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean insertIntoBucket(int bucket, K key, V val, int hashCode) {
+        int base = bucket * SLOTS_PER_BUCKET;
+        for (int slot = base; slot < base + SLOTS_PER_BUCKET; slot++) {
+            if (keys[slot] == null) {
+                keys[slot] = key;
+                vals[slot] = val;
+                hashes[slot] = hashCode;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // A stashed entry whose bucket just got a free slot moves back, so lookups rarely reach the stash
+    private void refillFromStash(int bucket) {
+        for (int i = 0; i < stashSize; i++) {
+            int hashCode = stashHashes[i];
+            if ((bucket1(hashCode) == bucket || bucket2(hashCode) == bucket)
+                    && insertIntoBucket(bucket, stashKeys[i], stashVals[i], hashCode)) {
+                stashSize--;
+                stashKeys[i] = stashKeys[stashSize];
+                stashVals[i] = stashVals[stashSize];
+                stashHashes[i] = stashHashes[stashSize];
+                stashKeys[stashSize] = null;
+                stashVals[stashSize] = null;
+                return;
+            }
+        }
+    }
+
+    // Moves every old entry, the stash and the homeless entry into the new buckets, with new seeds if reseed is set.
+    // If they still do not fit, the seeds are replaced and it starts over, doubling the buckets every
+    // REHASHES_PER_SIZE attempts. add(...) refuses keys that could never fit, so this ends
+    private void resize(int buckets, boolean reseed) {
+        K[] oldKeys = keys;
+        V[] oldVals = vals;
+        int[] oldHashes = hashes;
+        K[] oldStashKeys = stashKeys.clone();
+        V[] oldStashVals = stashVals.clone();
+        int[] oldStashHashes = stashHashes.clone();
+        int oldStashSize = stashSize;
+        K pendingKey = homelessKey;
+        V pendingVal = homelessVal;
+        int pendingHash = homelessHash;
+        homelessKey = null;
+        homelessVal = null;
+        resizes++;
+        // Moving old entries is not an insert, keep it out of the kick statistics
+        long kicksBefore = totalKicks;
+        int maxBefore = maxKickChain;
+        for (int attempt = 1; ; attempt++) {
+            if (reseed) {
+                seed1 = nextRandom() | 1; // Odd, so the multiply in bucket1 loses no bits
+                seed2 = nextRandom();
+                rehashes++;
+            }
+            allocate(buckets);
+            clearStash();
+            boolean placed = pendingKey == null || place(pendingKey, pendingVal, pendingHash);
+            for (int i = 0; placed && i < oldStashSize; i++) {
+                placed = place(oldStashKeys[i], oldStashVals[i], oldStashHashes[i]);
+            }
+            for (int i = 0; placed && i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    placed = place(oldKeys[i], oldVals[i], oldHashes[i]);
+                }
+            }
+            if (placed) {
+                totalKicks = kicksBefore;
+                maxKickChain = maxBefore;
+                return;
+            }
+            homelessKey = null;
+            homelessVal = null;
+            reseed = true;
+            if (attempt % REHASHES_PER_SIZE == 0) {
+                buckets *= 2;
+            }
+        }
+    }
+
+    private void stashHomeless() {
+        stashKeys[stashSize] = homelessKey;
+        stashVals[stashSize] = homelessVal;
+        stashHashes[stashSize] = homelessHash;
+        stashSize++;
+        homelessKey = null;
+        homelessVal = null;
+    }
+
+    private void clearStash() {
+        for (int i = 0; i < stashKeys.length; i++) {
+            stashKeys[i] = null;
+            stashVals[i] = null;
+        }
+        stashSize = 0;
+    }
+
+    private void recordKicks(int kicks) {
+        totalKicks += kicks;
+        maxKickChain = Math.max(maxKickChain, kicks);
+    }
+
+    // Multiplicative hashing: the top bits of hashCode * seed1 depend on every bit of the hash code
+    private int bucket1(int hashCode) {
+        return (hashCode * seed1) >>> bucketShift;
+    }
+
+    // Remixed so that keys sharing their first bucket are spread over different second buckets
+    private int bucket2(int hashCode) {
+        return HashStrategies.fmix32(hashCode ^ seed2) & bucketMask;
+    }
+
+    private int nextRandom() {
+        random ^= random << 13;
+        random ^= random >>> 17;
+        random ^= random << 5;
+        return random;
+    }
+
+    // Fraction of bucket slots in use, stashed entries not included
+    public double loadFactor() {
+        return (double) (size - stashSize) / (numBucket * SLOTS_PER_BUCKET);
+    }
+
+    // Longest chain of kicks a single insert needed since the table was created
+    public int maxKickChain() {
+        return maxKickChain;
+    }
+
+    // Kicks per newly added key, averaged over every insert including those that needed none
+    public double meanKickChain() {
+        return inserts == 0 ? 0 : (double) totalKicks / inserts;
+    }
+
+    public int stashSize() {
+        return stashSize;
+    }
+
+    // Rebuilds, with or without more buckets
+    public int resizeCount() {
+        return resizes;
+    }
+
+    // Times new seeds were picked because the keys did not fit with the old ones
+    public int rehashCount() {
+        return rehashes;
+    }
+
+    public void printHashTable() {
+        if (isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                System.out.println("Key: " + keys[i] + " | Value: " + vals[i] + " | Bucket: " + i / SLOTS_PER_BUCKET);
+            }
+        }
+        for (int i = 0; i < stashSize; i++) {
+            System.out.println("Key: " + stashKeys[i] + " | Value: " + stashVals[i] + " | Stash");
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,91 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.Cuckoo;
+
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.Random;
+
+public class HashTableDemo {
+    public static void main(String[] args) {
+        HashTable<String, Integer> hashTable = new HashTable<>();
+
+        // 1. Add elements to the hash table
+        System.out.println("### Adding Elements ###");
+        hashTable.add("One", 1);
+        hashTable.add("Two", 2);
+        hashTable.add("Three", 3);
+        hashTable.add("Two", 22);
+        hashTable.add(null, 4); // Ignored
+        hashTable.printHashTable();
+        System.out.println("Size: " + hashTable.size()); // Expected: 3
+        System.out.println("Get 'Two': " + hashTable.get("Two")); // Expected: 22
+
+        // 2. Remove elements
+        System.out.println("\n### Removing Elements ###");
+        System.out.println("Removed 'One': " + hashTable.remove("One")); // Expected: 1
+        System.out.println("Removed 'Five': " + hashTable.remove("Five")); // Expected: null
+        System.out.println("Contains 'One': " + hashTable.contains("One")); // Expected: false
+        System.out.println("Size: " + hashTable.size()); // Expected: 2
+
+        // 3. Random operations checked against java.util.HashMap
+        System.out.println("\n### Random Operations Against HashMap ###");
+        HashTable<Integer, Integer> table = new HashTable<>();
+        HashMap<Integer, Integer> model = new HashMap<>();
+        Random random = new Random(7);
+        int mismatches = 0;
+        for (int i = 0; i < 1000000; i++) {
+            int key = random.nextInt(50000);
+            int op = random.nextInt(3);
+            if (op == 0) {
+                table.add(key, i);
+                model.put(key, i);
+            } else if (op == 1) {
+                if (!Objects.equals(table.remove(key), model.remove(key))) mismatches++;
+            } else if (!Objects.equals(table.get(key), model.get(key))) {
+                mismatches++;
+            }
+        }
+        if (table.size() != model.size()) mismatches++;
+        System.out.println("Mismatches: " + mismatches); // Expected: 0
+
+        // Hash codes that only differ in their high bits: the seeded bucket hashes still spread them out,
+        // and the stash never holds more than its 4 entries
+        HashTable<Integer, Integer> highBits = new HashTable<>(key -> key << 20);
+        for (int i = 0; i < 4096; i++) {
+            highBits.add(i, i);
+        }
+        int wrong = 0;
+        for (int i = 0; i < 4096; i++) {
+            if (highBits.get(i) != i) wrong++;
+        }
+        System.out.println("Wrong values with key << 20: " + wrong + ", stash size: " + highBits.stashSize()
+                + ", rehashes: " + highBits.rehashCount()); // Expected: 0, at most 4
+
+        // Keys with identical hash codes all share the same two buckets, whatever the seeds. 8 fit there and 4 more
+        // in the stash; the 13th is refused
+        HashTable<Integer, Integer> sameHash = new HashTable<>(key -> 7);
+        try {
+            for (int i = 0; i < 13; i++) {
+                sameHash.add(i, i);
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Caught: " + e.getMessage());
+        }
+        System.out.println("Size after the refused key: " + sameHash.size() + ", get 11: " + sameHash.get(11)); // Expected: 12, 11
+
+        // 4. Kick chains grow as the table fills up
+        System.out.println("\n### Kick Chains By Load Factor ###");
+        for (double loadFactor : new double[]{0.5, 0.8, 0.9, 0.95}) {
+            HashTable<Integer, Integer> filled = new HashTable<>();
+            filled.setLoadFactor(loadFactor);
+            Random keys = new Random(42);
+            // Fill right up to the load factor of a 2^18 bucket table without triggering a resize
+            int target = (int) (loadFactor * (1 << 20)) - 1;
+            for (int i = 0; i < target; i++) {
+                filled.add(keys.nextInt(), i);
+            }
+            System.out.printf("Load factor %.2f: size %d, mean kicks %.3f, max kick chain %d, stash %d, resizes %d%n",
+                    filled.loadFactor(), filled.size(), filled.meanKickChain(),
+                    filled.maxKickChain(), filled.stashSize(), filled.resizeCount());
+        }
+    }
+}
@@ -1,34 +1,83 @@
 package Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
-import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
 
-public class HashTable <K,V> {
-    private class Entry{
+import Language.Java.DataStructures.HashTables.Codec;
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+import Language.Java.DataStructures.HashTables.HashTableMetrics;
+import Language.Java.DataStructures.HashTables.SlotIterator;
+import Language.Java.DataStructures.HashTables.SlotSpliterator;
+import Language.Java.DataStructures.HashTables.Snapshot;
+
+public class HashTable <K,V> implements Iterable<Map.Entry<K,V>> {
+    private class Entry implements Map.Entry<K,V>{
         K key;
         V val;
         Entry(K key, V val){
             this.key = key;
             this.val = val;
         }
+        @Override
+        public K getKey(){
+            return key;
+        }
+        @Override
+        public V getValue(){
+            return val;
+        }
+        // Writes through to the table. Null values are not stored, same as in add(...)
+        @Override
+        public V setValue(V value){
+            if(value == null) throw new NullPointerException("Null values are not stored");
+            V old = val;
+            val = value;
+            return old;
+        }
+        @Override
+        public boolean equals(Object o){
+            return o instanceof Map.Entry<?,?> e && Objects.equals(key, e.getKey()) && Objects.equals(val, e.getValue());
+        }
+        @Override
+        public int hashCode(){
+            return Objects.hashCode(key) ^ Objects.hashCode(val);
+        }
+        @Override
+        public String toString(){
+            return key + "=" + val;
+        }
     }
-    private static final long MAX_SIZE = 10000001L; 
-    BitSet isPrime;
+    private static final int BATCH_WIDTH = 8;
+    private static final String SNAPSHOT_LAYOUT = HashTable.class.getName();
+
     ArrayList<Entry> bucket = new ArrayList<>();
     Entry dummy = new Entry(null , null);
     int numBucket;
     double loadFactor = 0.5;
     int prime;
     int size;
+    int tombstones; // Slots holding dummy, only a resize clears them
+    HashStrategy<? super K> strategy;
+    HashTableMetrics metrics; // null until enableMetrics()
 
     public HashTable(int n, double loadFactor) {
-       isPrime = new BitSet((int) MAX_SIZE);
-       setSieve();
-       numBucket = n;
+        this(n, loadFactor, HashStrategies.defaultStrategy());
+    }
+
+    public HashTable(int n, double loadFactor, HashStrategy<? super K> strategy) {
+       this.strategy = strategy;
+       numBucket = PrimeCapacity.atLeast(n);
        this.loadFactor = loadFactor;
-       prime = numBucket - 1;
-       while(isPrime.get(prime)) prime--;
+       prime = PrimeCapacity.below(numBucket);
        size = 0;
+       bucket = new ArrayList<>(numBucket);
        for(int i = 0 ; i < numBucket; i++){
         bucket.add(null);
 
@@ -36,62 +85,52 @@ public class HashTable <K,V> {
     }
 
     public HashTable(int n) {
-        isPrime = new BitSet((int) MAX_SIZE);
-        setSieve();
-        numBucket = n;
-        prime = numBucket - 1;
-        while(isPrime.get(prime)) prime--;
-        size = 0;
-        for(int i = 0 ; i < numBucket; i++){
-         bucket.add(null);
- 
-        }
+        this(n, HashStrategies.defaultStrategy());
+    }
+
+    public HashTable(int n, HashStrategy<? super K> strategy) {
+        this(n, 0.5, strategy);
      }
 
-   private void setSieve(){
-    isPrime.set(0, true );
-    isPrime.set(1, true);
-    for (long i = 2; i * i < MAX_SIZE; i++) {
-        if(!isPrime.get((int) i)){
-            for(long j = i * i; j <= MAX_SIZE; j += i){
-                isPrime.set((int)j , true);
-            }
+    // Starts counting probe lengths, hits, collisions and resizes. Until then the table only checks for null
+    public HashTableMetrics enableMetrics() {
+        if (metrics == null) {
+            metrics = new HashTableMetrics(strategy, this::tombstoneCount);
         }
-        
+        return metrics;
     }
 
-   }
-   private int genericHash(K key) {
-    if (key == null) return 0;
-    
-    
-    if(key instanceof Integer) {
-        return Math.abs(((int) key) % numBucket);
-    } else if (key instanceof String) {
-        return Math.abs(key.hashCode() % numBucket);
-    } else if (key instanceof Double || key instanceof Float) {
-        return Math.abs(Double.valueOf( (double) key).hashCode());
-    } else {
-        // Fallback for custom objects - use Java's built-in hashCode
-     return Math.abs(key.hashCode() % numBucket);
+    public void disableMetrics() {
+        metrics = null;
+    }
+
+    public int tombstoneCount() {
+        return tombstones;
     }
+
+   // Non-negative, well mixed hash shared by hash1 and hash2
+   private int genericHash(K key) {
+    return strategy.hash(key) & 0x7FFFFFFF;
     }
 
     public void add(K key, V val){
         if(key == null || val == null) return;
 
         if((double) size / numBucket >= loadFactor){
-            resize();
+            resize(PrimeCapacity.grow(numBucket));
         }
 
         int probe = hash1(key), offset = hash2(key);
+        int n = 1;
         while(bucket.get(probe) != null){
-            if(bucket.get(probe).key != null &&  bucket.get(probe).key.equals(key)){
+            if(bucket.get(probe).key != null &&  strategy.keyEquals(bucket.get(probe).key, key)){
                 bucket.get(probe).val = val;
                 return;
             }
             probe = (probe + offset) % numBucket; 
+            n++;
         }
+        if(metrics != null) metrics.recordInsert(n > 1);
         bucket.set(probe, new Entry(key,val));
         size++;
     }
@@ -100,8 +139,9 @@ public class HashTable <K,V> {
         if(key == null) return;
         int probe = hash1(key), offset = hash2(key);
         while(bucket.get(probe) != null){
-            if(bucket.get(probe).key != null && bucket.get(probe).key.equals(key)){
+            if(bucket.get(probe).key != null && strategy.keyEquals(bucket.get(probe).key, key)){
                 bucket.set(probe, dummy);
+                tombstones++;
                 size--;
             }
             probe = (probe + offset) % numBucket;
@@ -111,24 +151,32 @@ public class HashTable <K,V> {
     public V get(K key){
         if(key == null) throw new RuntimeException("Null keys not accepted");
         int probe = hash1(key), offset = hash2(key);
+        int n = 1;
         while(bucket.get(probe) != null){
-            if(bucket.get(probe).key != null && bucket.get(probe).key.equals(key)){
+            if(bucket.get(probe).key != null && strategy.keyEquals(bucket.get(probe).key, key)){
+                if(metrics != null) metrics.recordLookup(n, true);
                 return bucket.get(probe).val;
             }
             probe = (probe + offset) % numBucket;
+            n++;
         }
+        if(metrics != null) metrics.recordLookup(n, false);
         return null;
     }
     
     public boolean contains(K key) {
         if (key == null) throw new RuntimeException("Null keys not accepted");
         int probe = hash1(key), offset = hash2(key);
+        int n = 1;
         while (bucket.get(probe) != null) {
-            if (bucket.get(probe) != dummy && bucket.get(probe).key.equals(key)) {
+            if (bucket.get(probe) != dummy && strategy.keyEquals(bucket.get(probe).key, key)) {
+                if (metrics != null) metrics.recordLookup(n, true);
                 return true;
             }
             probe = (probe + offset) % numBucket;
+            n++;
         }
+        if (metrics != null) metrics.recordLookup(n, false);
         return false;
     }
 
@@ -149,12 +197,239 @@ public class HashTable <K,V> {
         return size;
     }
 
-    private void resize(){
+    // Looks every key up at once: out[i] gets the value of keys[i], or null. Returns how many keys were found.
+    // Keys go through in groups of eight, and the probes of a group take turns, so the cache misses of
+    // different keys are waited for at the same time instead of one after another
+    public int getAll(K[] keys, V[] out) {
+        if (out.length < keys.length) {
+            throw new IllegalArgumentException("Output array is shorter than the key array");
+        }
+        int[] probes = new int[BATCH_WIDTH];
+        int[] offsets = new int[BATCH_WIDTH];
+        int[] steps = new int[BATCH_WIDTH];
+        int found = 0;
+        for (int start = 0; start < keys.length; start += BATCH_WIDTH) {
+            int width = Math.min(BATCH_WIDTH, keys.length - start);
+            for (int lane = 0; lane < width; lane++) {
+                if (keys[start + lane] == null) throw new RuntimeException("Null keys not accepted");
+            }
+            int pending = startProbes(keys, start, width, probes, offsets);
+            for (int lane = 0; lane < width; lane++) {
+                out[start + lane] = null;
+                steps[lane] = 1;
+            }
+            while (pending != 0) {
+                for (int lanes = pending; lanes != 0; lanes &= lanes - 1) {
+                    int lane = Integer.numberOfTrailingZeros(lanes);
+                    Entry occupied = bucket.get(probes[lane]);
+                    if (occupied == null) {
+                        pending &= ~(1 << lane);
+                        if (metrics != null) metrics.recordLookup(steps[lane], false);
+                    } else if (occupied.key != null && strategy.keyEquals(occupied.key, keys[start + lane])) {
+                        out[start + lane] = occupied.val;
+                        found++;
+                        pending &= ~(1 << lane);
+                        if (metrics != null) metrics.recordLookup(steps[lane], true);
+                    } else {
+                        probes[lane] = (probes[lane] + offsets[lane]) % numBucket;
+                        steps[lane]++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    // Adds keys[i] -> vals[i] for every pair. The table grows once up front, then each group of eight keys is
+    // searched with interleaved probes like getAll(...) and written one key at a time
+    public void putAll(K[] keys, V[] vals) {
+        if (vals.length < keys.length) {
+            throw new IllegalArgumentException("Value array is shorter than the key array");
+        }
+        int needed = (int) ((size + keys.length) / loadFactor) + 1;
+        if (needed > numBucket) {
+            resize(PrimeCapacity.atLeast(needed));
+        }
+        int[] probes = new int[BATCH_WIDTH];
+        int[] offsets = new int[BATCH_WIDTH];
+        for (int start = 0; start < keys.length; start += BATCH_WIDTH) {
+            int width = Math.min(BATCH_WIDTH, keys.length - start);
+            int pending = startProbes(keys, start, width, probes, offsets);
+            int active = pending;
+            int matched = 0;
+            while (pending != 0) {
+                for (int lanes = pending; lanes != 0; lanes &= lanes - 1) {
+                    int lane = Integer.numberOfTrailingZeros(lanes);
+                    Entry occupied = bucket.get(probes[lane]);
+                    if (occupied == null) {
+                        pending &= ~(1 << lane);
+                    } else if (occupied.key != null && strategy.keyEquals(occupied.key, keys[start + lane])) {
+                        matched |= 1 << lane;
+                        pending &= ~(1 << lane);
+                    } else {
+                        probes[lane] = (probes[lane] + offsets[lane]) % numBucket;
+                    }
+                }
+            }
+            ArrayList<Entry> searched = bucket;
+            for (int lane = 0; lane < width; lane++) {
+                K key = keys[start + lane];
+                V val = vals[start + lane];
+                if ((active & (1 << lane)) == 0 || val == null) {
+                    continue;
+                }
+                if (bucket != searched) {
+                    add(key, val); // An earlier add(...) of this group resized the table
+                    continue;
+                }
+                Entry occupied = bucket.get(probes[lane]);
+                if ((matched & (1 << lane)) != 0) {
+                    occupied.val = val;
+                } else if (occupied == null && (double) size / numBucket < loadFactor) {
+                    bucket.set(probes[lane], new Entry(key, val));
+                    size++;
+                    if (metrics != null) metrics.recordInsert(probes[lane] != hash1(key));
+                } else {
+                    add(key, val); // An earlier key of this group took the empty slot, maybe the same key
+                }
+            }
+        }
+    }
+
+    // Hashes a group of keys and returns a bit mask of the lanes that hold a key
+    private int startProbes(K[] keys, int start, int width, int[] probes, int[] offsets) {
+        int lanes = 0;
+        for (int lane = 0; lane < width; lane++) {
+            K key = keys[start + lane];
+            if (key != null) {
+                probes[lane] = hash1(key);
+                offsets[lane] = hash2(key);
+                lanes |= 1 << lane;
+            }
+        }
+        return lanes;
+    }
+
+    // Writes every entry together with its slot. Removed keys leave tombstones behind that a loaded table
+    // would not have, so a table with any of them writes a capacity of 0 and its snapshot is loaded key by key
+    public void writeSnapshot(WritableByteChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        int capacity = tombstones > 0 ? 0 : numBucket;
+        Snapshot.Writer<K, V> writer = new Snapshot.Writer<>(channel, SNAPSHOT_LAYOUT, capacity, size, keyCodec, valueCodec);
+        for (int i = 0; i < numBucket; i++) {
+            Entry entry = bucket.get(i);
+            if (entry != null && entry != dummy) {
+                writer.write(i, strategy.hash(entry.key), entry.key, entry.val);
+            }
+        }
+        writer.finish();
+    }
+
+    // Replaces the contents of the table. A snapshot from a double hashing table takes over its capacity and
+    // puts each entry back into its slot without probing; any other snapshot is added key by key into a table
+    // that is sized for it up front. The first entry's hash tells whether the snapshot used the same HashStrategy
+    public void loadSnapshot(FileChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        Snapshot.Reader<K, V> reader = new Snapshot.Reader<>(channel, keyCodec, valueCodec);
+        boolean sameLayout = SNAPSHOT_LAYOUT.equals(reader.layout()) && reader.capacity() > 0;
+        numBucket = sameLayout ? reader.capacity() : PrimeCapacity.atLeast((int) (reader.size() / loadFactor) + 1);
+        prime = PrimeCapacity.below(numBucket);
+        bucket = new ArrayList<>(numBucket);
+        for(int i = 0; i < numBucket; i++){
+            bucket.add(null);
+        }
+        size = 0;
+        tombstones = 0;
+        boolean direct = sameLayout;
+        while (reader.next()) {
+            if (direct && size == 0 && strategy.hash(reader.key()) != reader.hash()) {
+                direct = false;
+            }
+            if (!direct) {
+                add(reader.key(), reader.value());
+                continue;
+            }
+            int slot = reader.slot();
+            if (slot < 0 || slot >= numBucket || bucket.get(slot) != null) {
+                throw new IOException("Snapshot slot " + slot + " is out of range or taken twice");
+            }
+            bucket.set(slot, new Entry(reader.key(), reader.value()));
+            size++;
+        }
+    }
+
+    // The entries are the table's own, so setValue(...) writes through. Adding or removing keys while
+    // iterating may skip entries or return one twice
+    @Override
+    public Iterator<Map.Entry<K,V>> iterator() {
+        ArrayList<Entry> slots = bucket;
+        return new SlotIterator<>(slots.size()) {
+            @Override
+            protected Map.Entry<K,V> at(int slot) {
+                return live(slots.get(slot));
+            }
+        };
+    }
+
+    public Iterator<K> keyIterator() {
+        ArrayList<Entry> slots = bucket;
+        return new SlotIterator<>(slots.size()) {
+            @Override
+            protected K at(int slot) {
+                Entry entry = live(slots.get(slot));
+                return entry == null ? null : entry.key;
+            }
+        };
+    }
+
+    public Iterator<V> valueIterator() {
+        ArrayList<Entry> slots = bucket;
+        return new SlotIterator<>(slots.size()) {
+            @Override
+            protected V at(int slot) {
+                Entry entry = live(slots.get(slot));
+                return entry == null ? null : entry.val;
+            }
+        };
+    }
+
+    // Splits by slot range, so StreamSupport.stream(table.spliterator(), true) scans the table on every core
+    @Override
+    public Spliterator<Map.Entry<K,V>> spliterator() {
+        return new EntrySpliterator(bucket, 0, bucket.size(), size, true);
+    }
+
+    private class EntrySpliterator extends SlotSpliterator<Map.Entry<K,V>> {
+        private final ArrayList<Entry> slots;
+
+        EntrySpliterator(ArrayList<Entry> slots, int origin, int fence, long size, boolean exact) {
+            super(origin, fence, size, exact);
+            this.slots = slots;
+        }
+
+        @Override
+        protected Map.Entry<K,V> at(int slot) {
+            return live(slots.get(slot));
+        }
+
+        @Override
+        protected SlotSpliterator<Map.Entry<K,V>> part(int origin, int fence, long estimate) {
+            return new EntrySpliterator(slots, origin, fence, estimate, false);
+        }
+    }
+
+    private Entry live(Entry entry) {
+        return entry == dummy ? null : entry;
+    }
+
+    private void resize(int capacity){
+        HashTableMetrics recording = metrics;
+        metrics = null; // The entries are added again below, they are not new inserts
+        long start = recording == null ? 0 : System.nanoTime();
         ArrayList<Entry> temp = bucket;
-        numBucket *= 2;
-        prime = numBucket - 1;
+        numBucket = capacity;
+        prime = PrimeCapacity.below(numBucket);
         bucket = new ArrayList<>(numBucket);
         size = 0;
+        tombstones = 0;
         for(int i = 0; i < numBucket; i++){
             bucket.add(null);
         }
@@ -163,10 +438,12 @@ public class HashTable <K,V> {
                 add(entry.key,entry.val);
             }
         }
+        metrics = recording;
+        if(recording != null) recording.recordResize(System.nanoTime() - start);
     }
 
     private int hash1(K key) {
-        return genericHash(key);
+        return genericHash(key) % numBucket;
     }
 
    
@@ -1,5 +1,7 @@
 package Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing;
 
+import java.util.Arrays;
+
 public class HashTableDemo {
     public static void main(String[] args) {
         HashTable<String, Integer> hashTable = new HashTable<>(10, 0.5);
@@ -106,6 +108,37 @@ public class HashTableDemo {
             System.out.println("Caught RuntimeException: " + e.getMessage()); // Expected: "Hash table is empty"
         }
 
-        
+        // 13. Capacities are primes and construction no longer runs a sieve
+        System.out.println("\n### Prime Capacities ###");
+        System.out.println("Capacity for n = 10: " + PrimeCapacity.atLeast(10)); // Expected: 11
+        System.out.println("Growth from 11: " + PrimeCapacity.grow(11)); // Expected: 23
+        System.out.println("Growth from 1000003: " + PrimeCapacity.grow(1000003)); // Expected: 2000029
+        System.out.println("Second hash prime for 11: " + PrimeCapacity.below(11)); // Expected: 7
+        long start = System.nanoTime();
+        for (int i = 0; i < 10000; i++) {
+            new HashTable<String, Integer>(16);
+        }
+        System.out.println("Created 10000 small tables in " + (System.nanoTime() - start) / 1000000 + " ms");
+        HashTable<Integer, Integer> growing = new HashTable<>(3);
+        for (int i = 0; i < 100000; i++) {
+            growing.add(i, i);
+        }
+        int wrong = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (growing.get(i) != i) wrong++;
+        }
+        System.out.println("Wrong values after growing from 3 to " + growing.numBucket + " buckets: " + wrong); // Expected: 0
+
+        // 14. Batch operations
+        System.out.println("\n### Batch Operations ###");
+        HashTable<Integer, String> batchTable = new HashTable<>(16);
+        Integer[] batchKeys = {1, 2, 3, 2, 4};
+        String[] batchVals = {"one", "two", "three", "TWO", "four"};
+        batchTable.putAll(batchKeys, batchVals);
+        System.out.println("Size after putAll: " + batchTable.size()); // Expected: 4 (key 2 appears twice)
+        Integer[] lookups = {4, 2, 9, 1};
+        String[] found = new String[lookups.length];
+        int hits = batchTable.getAll(lookups, found);
+        System.out.println("getAll found " + hits + ": " + Arrays.toString(found)); // Expected: 3: [four, TWO, null, one]
     }
 }
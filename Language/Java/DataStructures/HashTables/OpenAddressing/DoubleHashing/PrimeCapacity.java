@@ -0,0 +1,105 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing;
+
+import java.util.Arrays;
+
+// Prime table sizes shared by every DoubleHashing table, so creating a table never runs a sieve
+public final class PrimeCapacity {
+    public static final int MIN_CAPACITY = 3;
+    public static final int MAX_CAPACITY = 2147483629; // Largest prime an ArrayList can hold
+
+    private PrimeCapacity() {
+    }
+
+    // Growth sequence: 3, 7, 17, 37, ... each entry is the smallest prime above twice the previous one.
+    // Built on first use and then shared by all tables
+    private static final class GrowthPrimes {
+        static final int[] PRIMES = build();
+
+        private static int[] build() {
+            int[] primes = new int[32];
+            int count = 0;
+            int p = MIN_CAPACITY;
+            while (true) {
+                primes[count++] = p;
+                if (2L * p + 1 > MAX_CAPACITY) break;
+                p = nextPrime(2 * p + 1);
+            }
+            return Arrays.copyOf(primes, count);
+        }
+    }
+
+    // Smallest prime capacity >= n
+    public static int atLeast(int n) {
+        if (n > MAX_CAPACITY) throw new IllegalArgumentException("Capacity too large: " + n);
+        return nextPrime(Math.max(n, MIN_CAPACITY));
+    }
+
+    // Smallest prime above 2 * capacity
+    public static int grow(int capacity) {
+        if (capacity >= MAX_CAPACITY) throw new RuntimeException("Hash table cannot grow beyond " + MAX_CAPACITY);
+        int[] primes = GrowthPrimes.PRIMES;
+        int i = Arrays.binarySearch(primes, capacity);
+        if (i >= 0 && i + 1 < primes.length) {
+            return primes[i + 1];
+        }
+        if (2L * capacity + 1 > MAX_CAPACITY) return MAX_CAPACITY;
+        return nextPrime(2 * capacity + 1);
+    }
+
+    // Largest prime strictly below n, used as the modulus of the second hash
+    public static int below(int n) {
+        if (n <= 2) throw new IllegalArgumentException("No prime below " + n);
+        int p = n - 1;
+        while (!isPrime(p)) p--;
+        return p;
+    }
+
+    // Only called with n <= MAX_CAPACITY, and MAX_CAPACITY itself is prime
+    private static int nextPrime(int n) {
+        int p = n;
+        while (!isPrime(p)) p++;
+        return p;
+    }
+
+    // Deterministic Miller-Rabin: bases 2, 7 and 61 are enough for every n < 4,759,123,141
+    public static boolean isPrime(int n) {
+        if (n < 2) return false;
+        if (n % 2 == 0) return n == 2;
+        if (n % 3 == 0) return n == 3;
+        if (n < 25) return true;
+        int d = n - 1;
+        int r = 0;
+        while ((d & 1) == 0) {
+            d >>= 1;
+            r++;
+        }
+        return witness(2, d, r, n) && witness(7, d, r, n) && witness(61, d, r, n);
+    }
+
+    private static boolean witness(long a, long d, int r, long n) {
+        if (a % n == 0) return true;
+        long x = modPow(a, d, n);
+        if (x == 1 || x == n - 1) return true;
+        for (int i = 1; i < r; i++) {
+            x = mulMod(x, x, n);
+            if (x == n - 1) return true;
+        }
+        return false;
+    }
+
+    private static long modPow(long base, long exp, long n) {
+        long result = 1;
+        base %= n;
+        while (exp > 0) {
+            if ((exp & 1) == 1) result = mulMod(result, base, n);
+            base = mulMod(base, base, n);
+            exp >>= 1;
+        }
+        return result;
+    }
+
+    // Both operands are below n < 2^31, so the product fits in a long
+    private static long mulMod(long a, long b, long n) {
+        return a * b % n;
+    }
+}
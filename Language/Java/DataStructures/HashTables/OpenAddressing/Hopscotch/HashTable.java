@@ -0,0 +1,222 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.Hopscotch;
+
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+
+/*
+ * Hopscotch hashing.
+ * Every entry sits within HOP_RANGE slots of its home bucket, and every home bucket keeps a 32-bit hop bitmap
+ * telling which of those slots hold its entries. A lookup only checks the slots named by one bitmap.
+ * On insert, an empty slot that is too far away is moved closer by swapping it with entries
+ * that are allowed to move further from their own home bucket.
+ */
+public class HashTable<K, V> {
+
+    private static final int HOP_RANGE = 32;
+    private static final int ADD_RANGE = 512; // How far an insert looks for an empty slot before giving up
+
+    K[] keys;
+    V[] vals;
+    int[] hashes;
+    int[] hopInfo; // bit i set: slot (home + i) holds an entry whose home is this bucket
+    int numBucket = 32;
+    int mask = numBucket - 1;
+    int size = 0;
+    double loadFactor = 0.9;
+    HashStrategy<? super K> strategy;
+
+    public HashTable() {
+        this(HashStrategies.defaultStrategy());
+    }
+
+    public HashTable(HashStrategy<? super K> strategy) {
+        this.strategy = strategy;
+        allocate(numBucket);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        numBucket = capacity;
+        mask = capacity - 1;
+        keys = (K[]) new Object[capacity];
+        vals = (V[]) new Object[capacity];
+        hashes = new int[capacity];
+        hopInfo = new int[capacity];
+    }
+
+    public void setLoadFactor(double loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1");
+        }
+        this.loadFactor = loadFactor;
+    }
+
+    public void add(K key, V val) {
+        if (key == null || val == null) {
+            return;
+        }
+        int hashCode = strategy.hash(key);
+        int slot = find(key, hashCode);
+        if (slot >= 0) {
+            vals[slot] = val;
+            return;
+        }
+        if ((double) (size + 1) / numBucket > loadFactor) {
+            resize(numBucket * 2);
+        }
+        while (!insert(key, val, hashCode)) {
+            resize(numBucket * 2);
+        }
+        size++;
+    }
+
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        int hashCode = strategy.hash(key);
+        int slot = find(key, hashCode);
+        if (slot < 0) {
+            return null;
+        }
+        V removed = vals[slot];
+        int home = hashCode & mask;
+        hopInfo[home] &= ~(1 << ((slot - home) & mask));
+        keys[slot] = null;
+        vals[slot] = null;
+        size--;
+        return removed;
+    }
+
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = find(key, strategy.hash(key));
+        return slot < 0 ? null : vals[slot];
+    }
+
+    public boolean contains(K key) {
+        return key != null && find(key, strategy.hash(key)) >= 0;
+    }
+
+    private int find(K key, int hashCode) {
+        int home = hashCode & mask;
+        int hops = hopInfo[home];
+        while (hops != 0) {
+            int slot = (home + Integer.numberOfTrailingZeros(hops)) & mask;
+            if (hashes[slot] == hashCode && strategy.keyEquals(keys[slot], key)) {
+                return slot;
+            }
+            hops &= hops - 1;
+        }
+        return -1;
+    }
+
+    // Returns false when no empty slot can be brought into the key's neighbourhood
+    private boolean insert(K key, V val, int hashCode) {
+        int home = hashCode & mask;
+        int distance = 0;
+        int limit = Math.min(ADD_RANGE, numBucket);
+        while (distance < limit && keys[(home + distance) & mask] != null) {
+            distance++;
+        }
+        if (distance == limit) {
+            return false;
+        }
+        int free = (home + distance) & mask;
+        while (distance >= HOP_RANGE) {
+            free = hopCloser(free);
+            if (free < 0) {
+                return false;
+            }
+            distance = (free - home) & mask;
+        }
+        keys[free] = key;
+        vals[free] = val;
+        hashes[free] = hashCode;
+        hopInfo[home] |= 1 << distance;
+        return true;
+    }
+
+    // Looks at the HOP_RANGE - 1 buckets before the free slot, nearest first, for an entry that can move
+    // into it without leaving its own neighbourhood. Returns the slot that entry freed up, or -1
+    private int hopCloser(int free) {
+        for (int back = HOP_RANGE - 1; back > 0; back--) {
+            int base = (free - back) & mask;
+            int hops = hopInfo[base];
+            if (hops == 0) {
+                continue;
+            }
+            int offset = Integer.numberOfTrailingZeros(hops);
+            if (offset >= back) {
+                continue;
+            }
+            int moving = (base + offset) & mask;
+            keys[free] = keys[moving];
+            vals[free] = vals[moving];
+            hashes[free] = hashes[moving];
+            keys[moving] = null;
+            vals[moving] = null;
+            hopInfo[base] = (hops & ~(1 << offset)) | (1 << back);
+            return moving;
+        }
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        K[] oldKeys = keys;
+        V[] oldVals = vals;
+        int[] oldHashes = hashes;
+        int[] oldHopInfo = hopInfo;
+        while (true) {
+            // A neighbourhood that overflows in a nearly empty table means too many keys share a hash code,
+            // and growing any further cannot help
+            if (size < capacity / 64 && capacity > 1024) {
+                numBucket = oldKeys.length;
+                mask = numBucket - 1;
+                keys = oldKeys;
+                vals = oldVals;
+                hashes = oldHashes;
+                hopInfo = oldHopInfo;
+                throw new RuntimeException("More than " + HOP_RANGE + " keys share a home bucket, use a better HashStrategy");
+            }
+            allocate(capacity);
+            boolean placed = true;
+            for (int i = 0; placed && i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    placed = insert(oldKeys[i], oldVals[i], oldHashes[i]);
+                }
+            }
+            if (placed) {
+                return;
+            }
+            capacity *= 2;
+        }
+    }
+
+    // Fraction of slots in use
+    public double loadFactor() {
+        return (double) size / numBucket;
+    }
+
+    public void printHashTable() {
+        if (isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < numBucket; i++) {
+            if (keys[i] != null) {
+                int distance = (i - hashes[i]) & mask;
+                System.out.println("Key: " + keys[i] + " | Value: " + vals[i] + " | Index: " + i + " | Hop: " + distance);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,141 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.Hopscotch;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.PrimeCapacity;
+
+/*
+ * Single-threaded lookup speed of the probing tables at the same load factor.
+ * Each table is filled to exactly 0.5, 0.75 and 0.9 of its final capacity, then looked up with keys that are
+ * present (hits) and keys that are not (misses). Misses show the probe lengths best, since they have to reach
+ * an empty slot (or the end of a neighbourhood) before giving up.
+ */
+public class HashTableBenchmark {
+
+    interface Table {
+        void add(Integer key, Integer val);
+
+        Integer get(Integer key);
+    }
+
+    static final int LINEAR_CAPACITY = 10 << 17; // Linear and Quadratic grow 10, 20, 40, ...
+    static final int HOPSCOTCH_CAPACITY = 1 << 20;
+    static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        System.out.printf("%-6s %-12s %10s %12s %12s%n", "Load", "Table", "add (ns)", "hit (ns)", "miss (ns)");
+        for (double load : new double[]{0.5, 0.75, 0.9}) {
+            run(load, "Linear", (int) (load * LINEAR_CAPACITY), linear());
+            if (load <= 0.5) {
+                run(load, "Quadratic", (int) (load * LINEAR_CAPACITY) - 1, quadratic());
+            } else {
+                // (h + n * n) % numBucket may never reach an empty slot once the table is more than half full
+                System.out.printf("%-6.2f %-12s %10s %12s %12s%n", load, "Quadratic", "-", "-", "-");
+            }
+            int doubleCapacity = PrimeCapacity.atLeast(LINEAR_CAPACITY);
+            run(load, "Double", (int) (load * doubleCapacity), doubleHashing(doubleCapacity));
+            run(load, "Hopscotch", (int) (load * HOPSCOTCH_CAPACITY), hopscotch());
+        }
+    }
+
+    // Load factor 0.95 lets the table grow to the benchmark capacity and then fill it up without growing again
+    static Table linear() {
+        Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing.HashTable<Integer, Integer> table =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing.HashTable<>();
+        table.setLoadFactor(0.95);
+        return new Table() {
+            public void add(Integer key, Integer val) {
+                table.add(key, val);
+            }
+
+            public Integer get(Integer key) {
+                return table.get(key);
+            }
+        };
+    }
+
+    static Table quadratic() {
+        Language.Java.DataStructures.HashTables.OpenAddressing.QuadraticProbing.HashTable<Integer, Integer> table =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.QuadraticProbing.HashTable<>();
+        return new Table() {
+            public void add(Integer key, Integer val) {
+                table.add(key, val);
+            }
+
+            public Integer get(Integer key) {
+                return table.get(key);
+            }
+        };
+    }
+
+    static Table doubleHashing(int capacity) {
+        Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.HashTable<Integer, Integer> table =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.HashTable<>(capacity, 0.95);
+        return new Table() {
+            public void add(Integer key, Integer val) {
+                table.add(key, val);
+            }
+
+            public Integer get(Integer key) {
+                return table.get(key);
+            }
+        };
+    }
+
+    static Table hopscotch() {
+        HashTable<Integer, Integer> table = new HashTable<>();
+        table.setLoadFactor(0.95);
+        return new Table() {
+            public void add(Integer key, Integer val) {
+                table.add(key, val);
+            }
+
+            public Integer get(Integer key) {
+                return table.get(key);
+            }
+        };
+    }
+
+    static void run(double load, String name, int n, Table table) {
+        Integer[] hits = new Integer[n];
+        Integer[] misses = new Integer[n];
+        Random random = new Random(42);
+        HashSet<Integer> seen = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            int key;
+            do {
+                key = random.nextInt(Integer.MAX_VALUE);
+            } while (!seen.add(key));
+            hits[i] = key;
+            misses[i] = -1 - random.nextInt(Integer.MAX_VALUE);
+        }
+        seen = null;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            table.add(hits[i], i);
+        }
+        double addNanos = (double) (System.nanoTime() - start) / n;
+
+        double hitNanos = Double.MAX_VALUE;
+        double missNanos = Double.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                checksum += table.get(hits[i]);
+            }
+            hitNanos = Math.min(hitNanos, (double) (System.nanoTime() - start) / n);
+            start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                if (table.get(misses[i]) != null) checksum++;
+            }
+            missNanos = Math.min(missNanos, (double) (System.nanoTime() - start) / n);
+        }
+        if (checksum != (long) ROUNDS * n * (n - 1) / 2) {
+            throw new RuntimeException(name + " returned wrong values");
+        }
+        System.out.printf("%-6.2f %-12s %10.1f %12.1f %12.1f%n", load, name, addNanos, hitNanos, missNanos);
+    }
+}
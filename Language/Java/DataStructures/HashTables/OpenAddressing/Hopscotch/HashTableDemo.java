@@ -0,0 +1,64 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.Hopscotch;
+
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.Random;
+
+public class HashTableDemo {
+    public static void main(String[] args) {
+        HashTable<String, Integer> hashTable = new HashTable<>();
+
+        // 1. Add elements to the hash table
+        System.out.println("### Adding Elements ###");
+        hashTable.add("One", 1);
+        hashTable.add("Two", 2);
+        hashTable.add("Three", 3);
+        hashTable.add("Two", 22);
+        hashTable.add(null, 4); // Ignored
+        hashTable.printHashTable();
+        System.out.println("Size: " + hashTable.size()); // Expected: 3
+        System.out.println("Get 'Two': " + hashTable.get("Two")); // Expected: 22
+
+        // 2. Remove elements
+        System.out.println("\n### Removing Elements ###");
+        System.out.println("Removed 'One': " + hashTable.remove("One")); // Expected: 1
+        System.out.println("Removed 'Five': " + hashTable.remove("Five")); // Expected: null
+        System.out.println("Contains 'One': " + hashTable.contains("One")); // Expected: false
+        System.out.println("Size: " + hashTable.size()); // Expected: 2
+
+        // 3. Random operations at a 0.95 load factor checked against java.util.HashMap
+        System.out.println("\n### Random Operations Against HashMap ###");
+        HashTable<Integer, Integer> table = new HashTable<>();
+        table.setLoadFactor(0.95);
+        HashMap<Integer, Integer> model = new HashMap<>();
+        Random random = new Random(7);
+        int mismatches = 0;
+        for (int i = 0; i < 1000000; i++) {
+            int key = random.nextInt(200000);
+            int op = random.nextInt(4);
+            if (op < 2) {
+                table.add(key, i);
+                model.put(key, i);
+            } else if (op == 2) {
+                if (!Objects.equals(table.remove(key), model.remove(key))) mismatches++;
+            } else if (!Objects.equals(table.get(key), model.get(key))) {
+                mismatches++;
+            }
+        }
+        if (table.size() != model.size()) mismatches++;
+        System.out.println("Mismatches: " + mismatches); // Expected: 0
+        System.out.printf("Load factor: %.3f%n", table.loadFactor());
+
+        // 4. More keys with the same hash code than one neighbourhood can hold
+        System.out.println("\n### Too Many Equal Hash Codes ###");
+        HashTable<Integer, Integer> colliding = new HashTable<>(key -> 42);
+        try {
+            for (int i = 0; i < 100; i++) {
+                colliding.add(i, i);
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Caught RuntimeException: " + e.getMessage());
+        }
+        System.out.println("Keys kept: " + colliding.size()); // Expected: 32
+    }
+}
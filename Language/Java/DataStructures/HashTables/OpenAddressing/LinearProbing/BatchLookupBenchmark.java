@@ -0,0 +1,126 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing;
+
+import java.util.Objects;
+import java.util.Random;
+
+/*
+ * One get(...) per key against getAll(...) over batches of keys, for the three probing tables.
+ * The tables hold a few million entries so that almost every probe is a cache miss, which is where
+ * interleaving the probes of several keys pays off. Both ways must return the same values.
+ */
+public class BatchLookupBenchmark {
+
+    interface Table {
+        void putAll(Integer[] keys, Integer[] vals);
+
+        Integer get(Integer key);
+
+        int getAll(Integer[] keys, Integer[] out);
+    }
+
+    static final int SIZE = 2000000;
+    static final int LOOKUPS = 1 << 22;
+    static final int BATCH = 1024;
+    static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        Integer[] keys = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            keys[i] = i * 2; // Even keys are present
+        }
+        Integer[] lookups = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = random.nextInt(SIZE * 2); // About half of them are misses
+        }
+        System.out.printf("%-12s %14s %14s %10s%n", "Table", "get (ns/key)", "getAll (ns/key)", "speedup");
+        run("Linear", linear(), keys, lookups);
+        run("Quadratic", quadratic(), keys, lookups);
+        run("Double", doubleHashing(), keys, lookups);
+    }
+
+    static Table linear() {
+        HashTable<Integer, Integer> table = new HashTable<>();
+        return new Table() {
+            public void putAll(Integer[] keys, Integer[] vals) {
+                table.putAll(keys, vals);
+            }
+
+            public Integer get(Integer key) {
+                return table.get(key);
+            }
+
+            public int getAll(Integer[] keys, Integer[] out) {
+                return table.getAll(keys, out);
+            }
+        };
+    }
+
+    static Table quadratic() {
+        Language.Java.DataStructures.HashTables.OpenAddressing.QuadraticProbing.HashTable<Integer, Integer> table =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.QuadraticProbing.HashTable<>();
+        return new Table() {
+            public void putAll(Integer[] keys, Integer[] vals) {
+                table.putAll(keys, vals);
+            }
+
+            public Integer get(Integer key) {
+                return table.get(key);
+            }
+
+            public int getAll(Integer[] keys, Integer[] out) {
+                return table.getAll(keys, out);
+            }
+        };
+    }
+
+    static Table doubleHashing() {
+        Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.HashTable<Integer, Integer> table =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.HashTable<>(16);
+        return new Table() {
+            public void putAll(Integer[] keys, Integer[] vals) {
+                table.putAll(keys, vals);
+            }
+
+            public Integer get(Integer key) {
+                return table.get(key);
+            }
+
+            public int getAll(Integer[] keys, Integer[] out) {
+                return table.getAll(keys, out);
+            }
+        };
+    }
+
+    static void run(String name, Table table, Integer[] keys, Integer[] lookups) {
+        table.putAll(keys, keys);
+        Integer[] single = new Integer[lookups.length];
+        Integer[] batched = new Integer[lookups.length];
+        Integer[] batchKeys = new Integer[BATCH];
+        Integer[] batchOut = new Integer[BATCH];
+        double getNanos = Double.MAX_VALUE;
+        double getAllNanos = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < lookups.length; i++) {
+                single[i] = table.get(lookups[i]);
+            }
+            getNanos = Math.min(getNanos, (double) (System.nanoTime() - start) / lookups.length);
+
+            start = System.nanoTime();
+            for (int from = 0; from < lookups.length; from += BATCH) {
+                System.arraycopy(lookups, from, batchKeys, 0, BATCH);
+                table.getAll(batchKeys, batchOut);
+                System.arraycopy(batchOut, 0, batched, from, BATCH);
+            }
+            getAllNanos = Math.min(getAllNanos, (double) (System.nanoTime() - start) / lookups.length);
+        }
+        for (int i = 0; i < lookups.length; i++) {
+            Integer expected = lookups[i] % 2 == 0 ? lookups[i] : null;
+            if (!Objects.equals(single[i], expected) || !Objects.equals(batched[i], expected)) {
+                throw new RuntimeException(name + " returned a wrong value for key " + lookups[i]);
+            }
+        }
+        System.out.printf("%-12s %14.1f %14.1f %9.2fx%n", name, getNanos, getAllNanos, getNanos / getAllNanos);
+    }
+}
@@ -0,0 +1,175 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing;
+
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+
+/*
+ * Linear probing without an Entry object per mapping.
+ * Slot i keeps its key at table[2 * i] and its value at table[2 * i + 1], and its hash code at hashes[i].
+ * A hash code of 0 marks an empty slot (real hash codes of 0 are stored as 1), so a probe only reads the int array
+ * until the hash codes match, and only then touches the key. Removal shifts the rest of the cluster back,
+ * so there are no tombstones either.
+ */
+public class FlatHashTable<K, V> {
+
+    private static final int EMPTY = 0;
+
+    Object[] table;
+    int[] hashes;
+    int numBucket = 16;
+    int mask = numBucket - 1;
+    int size = 0;
+    double loadFactor = 0.5;
+    HashStrategy<? super K> strategy;
+
+    public FlatHashTable() {
+        this(HashStrategies.defaultStrategy());
+    }
+
+    public FlatHashTable(HashStrategy<? super K> strategy) {
+        this.strategy = strategy;
+        table = new Object[2 * numBucket];
+        hashes = new int[numBucket];
+    }
+
+    public void setLoadFactor(double loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1");
+        }
+        this.loadFactor = loadFactor;
+        while ((double) size / numBucket > loadFactor) {
+            resize();
+        }
+    }
+
+    public void add(K key, V val) {
+        if (key == null || val == null) {
+            return;
+        }
+        int hashCode = hash(key);
+        int bucketIndex = hashCode & mask;
+        while (hashes[bucketIndex] != EMPTY) {
+            if (hashes[bucketIndex] == hashCode && strategy.keyEquals(keyAt(bucketIndex), key)) {
+                table[2 * bucketIndex + 1] = val;
+                return;
+            }
+            bucketIndex = (bucketIndex + 1) & mask;
+        }
+        if ((double) (size + 1) / numBucket > loadFactor) {
+            resize();
+            bucketIndex = hashCode & mask;
+            while (hashes[bucketIndex] != EMPTY) {
+                bucketIndex = (bucketIndex + 1) & mask;
+            }
+        }
+        table[2 * bucketIndex] = key;
+        table[2 * bucketIndex + 1] = val;
+        hashes[bucketIndex] = hashCode;
+        size++;
+    }
+
+    public V remove(K key) {
+        int bucketIndex = find(key);
+        if (bucketIndex < 0) {
+            return null;
+        }
+        V removed = valAt(bucketIndex);
+        // Backward-shift deletion: an entry further along the cluster moves into the hole
+        // unless its home bucket lies between the hole and the entry
+        int hole = bucketIndex;
+        int next = (hole + 1) & mask;
+        while (hashes[next] != EMPTY) {
+            int home = hashes[next] & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table[2 * hole] = table[2 * next];
+                table[2 * hole + 1] = table[2 * next + 1];
+                hashes[hole] = hashes[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[2 * hole] = null;
+        table[2 * hole + 1] = null;
+        hashes[hole] = EMPTY;
+        size--;
+        return removed;
+    }
+
+    public V get(K key) {
+        int bucketIndex = find(key);
+        return bucketIndex < 0 ? null : valAt(bucketIndex);
+    }
+
+    public boolean contains(K key) {
+        return find(key) >= 0;
+    }
+
+    private int find(K key) {
+        if (key == null) {
+            return -1;
+        }
+        int hashCode = hash(key);
+        int bucketIndex = hashCode & mask;
+        while (hashes[bucketIndex] != EMPTY) {
+            if (hashes[bucketIndex] == hashCode && strategy.keyEquals(keyAt(bucketIndex), key)) {
+                return bucketIndex;
+            }
+            bucketIndex = (bucketIndex + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void resize() {
+        Object[] oldTable = table;
+        int[] oldHashes = hashes;
+        numBucket *= 2;
+        mask = numBucket - 1;
+        table = new Object[2 * numBucket];
+        hashes = new int[numBucket];
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != EMPTY) {
+                int bucketIndex = oldHashes[i] & mask;
+                while (hashes[bucketIndex] != EMPTY) {
+                    bucketIndex = (bucketIndex + 1) & mask;
+                }
+                table[2 * bucketIndex] = oldTable[2 * i];
+                table[2 * bucketIndex + 1] = oldTable[2 * i + 1];
+                hashes[bucketIndex] = oldHashes[i];
+            }
+        }
+    }
+
+    private int hash(K key) {
+        int hashCode = strategy.hash(key);
+        return hashCode == EMPTY ? 1 : hashCode;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(int bucketIndex) {
+        return (K) table[2 * bucketIndex];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valAt(int bucketIndex) {
+        return (V) table[2 * bucketIndex + 1];
+    }
+
+    public void printHashTable() {
+        if (isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < numBucket; i++) {
+            if (hashes[i] != EMPTY) {
+                System.out.println("Key: " + keyAt(i) + " | Value: " + valAt(i) + " | Index: " + i);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,97 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing;
+
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.Random;
+
+public class FlatHashTableDemo {
+    public static void main(String[] args) {
+        FlatHashTable<String, Integer> hashTable = new FlatHashTable<>();
+
+        // 1. Add elements to the hash table
+        System.out.println("### Adding Elements ###");
+        hashTable.add("One", 1);
+        hashTable.add("Two", 2);
+        hashTable.add("Three", 3);
+        hashTable.add("Two", 22);
+        hashTable.add(null, 4); // Ignored
+        hashTable.printHashTable();
+        System.out.println("Size: " + hashTable.size()); // Expected: 3
+        System.out.println("Get 'Two': " + hashTable.get("Two")); // Expected: 22
+
+        // 2. Remove elements
+        System.out.println("\n### Removing Elements ###");
+        System.out.println("Removed 'One': " + hashTable.remove("One")); // Expected: 1
+        System.out.println("Removed 'Five': " + hashTable.remove("Five")); // Expected: null
+        System.out.println("Contains 'One': " + hashTable.contains("One")); // Expected: false
+        System.out.println("Size: " + hashTable.size()); // Expected: 2
+
+        // 3. Random operations checked against java.util.HashMap, with a weak hash so clusters get long
+        System.out.println("\n### Random Operations Against HashMap ###");
+        FlatHashTable<Integer, Integer> table = new FlatHashTable<>(key -> key / 8);
+        HashMap<Integer, Integer> model = new HashMap<>();
+        Random random = new Random(7);
+        int mismatches = 0;
+        for (int i = 0; i < 1000000; i++) {
+            int key = random.nextInt(20000);
+            int op = random.nextInt(3);
+            if (op == 0) {
+                table.add(key, i);
+                model.put(key, i);
+            } else if (op == 1) {
+                if (!Objects.equals(table.remove(key), model.remove(key))) mismatches++;
+            } else if (!Objects.equals(table.get(key), model.get(key))) {
+                mismatches++;
+            }
+        }
+        if (table.size() != model.size()) mismatches++;
+        System.out.println("Mismatches: " + mismatches); // Expected: 0
+
+        // 4. Memory and misses against the Entry based HashTable
+        System.out.println("\n### Against LinearProbing.HashTable ###");
+        int n = 1 << 20;
+        Integer[] present = new Integer[n];
+        Integer[] absent = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            present[i] = i;
+            absent[i] = n + i;
+        }
+        long before = usedMemory();
+        FlatHashTable<Integer, Integer> flat = new FlatHashTable<>();
+        for (Integer key : present) {
+            flat.add(key, key);
+        }
+        long flatBytes = usedMemory() - before;
+        before = usedMemory();
+        HashTable<Integer, Integer> entries = new HashTable<>();
+        for (Integer key : present) {
+            entries.add(key, key);
+        }
+        long entryBytes = usedMemory() - before;
+        System.out.printf("Bytes per mapping (boxed keys not counted): FlatHashTable %.1f | HashTable %.1f%n",
+                (double) flatBytes / n, (double) entryBytes / n);
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            int found = 0;
+            for (Integer key : absent) {
+                if (flat.get(key) != null) found++;
+            }
+            double flatNanos = (double) (System.nanoTime() - start) / n;
+            start = System.nanoTime();
+            for (Integer key : absent) {
+                if (entries.get(key) != null) found++;
+            }
+            double entryNanos = (double) (System.nanoTime() - start) / n;
+            System.out.printf("Miss: FlatHashTable %.1f ns | HashTable %.1f ns (found %d)%n", flatNanos, entryNanos, found); // Expected: found 0
+        }
+    }
+
+    static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
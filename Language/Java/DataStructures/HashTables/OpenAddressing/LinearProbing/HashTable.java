@@ -1,10 +1,25 @@
 package Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
 
-public class HashTable<K, V> {
+import Language.Java.DataStructures.HashTables.Codec;
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+import Language.Java.DataStructures.HashTables.HashTableMetrics;
+import Language.Java.DataStructures.HashTables.SlotIterator;
+import Language.Java.DataStructures.HashTables.SlotSpliterator;
+import Language.Java.DataStructures.HashTables.Snapshot;
 
-    private class Entry {
+public class HashTable<K, V> implements Iterable<Map.Entry<K, V>> {
+
+    private class Entry implements Map.Entry<K, V> {
 
         K key;
         V val;
@@ -13,35 +28,104 @@ public class HashTable<K, V> {
             this.key = key;
             this.val = val;
         }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return val;
+        }
+
+        // Writes through to the table. Null values are not stored, same as in add(...)
+        @Override
+        public V setValue(V value) {
+            if (value == null) {
+                throw new NullPointerException("Null values are not stored");
+            }
+            V old = val;
+            val = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && Objects.equals(key, e.getKey()) && Objects.equals(val, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(val);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + val;
+        }
     }
 
+    private static final int BATCH_WIDTH = 8;
+    private static final double MAX_TOMBSTONE_RATIO = 0.25; // remove(...) compacts once this share of slots are tombstones
+    private static final String SNAPSHOT_LAYOUT = HashTable.class.getName();
+
     Entry[] bucket = (Entry[]) Array.newInstance(Entry.class, 10);
     int numBucket = 10; // default
     int size = 0;
+    int tombstones = 0; // Slots holding dummy
+    int rehashes = 0; // Bumped whenever entries move, so putAll(...) knows its probe results are stale
     Entry dummy = new Entry(null, null);
     double loadFactor = 0.5;
+    HashStrategy<? super K> strategy;
+    HashTableMetrics metrics; // null until enableMetrics()
+
+    public HashTable() {
+        this(HashStrategies.defaultStrategy());
+    }
+
+    public HashTable(HashStrategy<? super K> strategy) {
+        this.strategy = strategy;
+    }
 
     public void setLoadFactor(double loadFactor) {
         this.loadFactor = loadFactor;
     }
 
+    // Starts counting probe lengths, hits, collisions and resizes. Until then the table only checks for null
+    public HashTableMetrics enableMetrics() {
+        if (metrics == null) {
+            metrics = new HashTableMetrics(strategy, this::tombstoneCount);
+        }
+        return metrics;
+    }
+
+    public void disableMetrics() {
+        metrics = null;
+    }
+
     public void add(K key, V val) {
         if (key == null || val == null) {
             return;
         }
 
-        if ((double) size / numBucket >= loadFactor) {
-            resize();
+        // Tombstones take up slots too, without them in the check a probe might never meet a null
+        if ((double) (size + tombstones) / numBucket >= loadFactor) {
+            makeRoom();
         }
 
-        int bucketIndex = getBucketIndex(key);
         int hashCode = hash(key) & 0x7FFFFFFF;
+        int bucketIndex = hashCode % numBucket;
         Entry occupied = bucket[bucketIndex];
-        Entry newEntry = new Entry(key, val);
+        int firstTombstone = -1;
         int n = 1;
         while (occupied != null) {
-            if (occupied.key != null && occupied.key.equals(key)) {
-                bucket[bucketIndex].val = val;
+            if (occupied == dummy) {
+                if (firstTombstone < 0) {
+                    firstTombstone = bucketIndex;
+                }
+            } else if (strategy.keyEquals(occupied.key, key)) {
+                occupied.val = val;
                 return;
             }
             bucketIndex = (hashCode + n) % numBucket;
@@ -49,7 +133,15 @@ public class HashTable<K, V> {
             occupied = bucket[bucketIndex];
         }
 
-        bucket[bucketIndex] = newEntry;
+        if (metrics != null) {
+            metrics.recordInsert(n > 1);
+        }
+        // The key is not in the table, so the first tombstone on its path can be reused
+        if (firstTombstone >= 0) {
+            bucketIndex = firstTombstone;
+            tombstones--;
+        }
+        bucket[bucketIndex] = new Entry(key, val);
         size++;
     }
 
@@ -61,14 +153,23 @@ public class HashTable<K, V> {
             throw new RuntimeException("Hash table is empty");
         }
 
-        int bucketIndex = getBucketIndex(key);
         int hashCode = hash(key) & 0x7FFFFFFF;
+        int bucketIndex = hashCode % numBucket;
         Entry occupied = bucket[bucketIndex];
         int n = 1;
         while (occupied != null) {
-            if (occupied.key != null && occupied.key.equals(key)) {
-                bucket[bucketIndex] = dummy;
+            if (occupied.key != null && strategy.keyEquals(occupied.key, key)) {
+                // No probe continues past a null, so the slot right before one does not need a tombstone
+                if (bucket[(bucketIndex + 1) % numBucket] == null) {
+                    bucket[bucketIndex] = null;
+                } else {
+                    bucket[bucketIndex] = dummy;
+                    tombstones++;
+                }
                 size--;
+                if (tombstones > numBucket * MAX_TOMBSTONE_RATIO) {
+                    compact();
+                }
                 return;
             }
             bucketIndex = (hashCode + n) % numBucket;
@@ -86,18 +187,24 @@ public class HashTable<K, V> {
         if (isEmpty()) {
             throw new RuntimeException("Empty hash table");
         }
-        int bucketIndex = getBucketIndex(key);
         int hashCode = hash(key) & 0x7FFFFFFF;
+        int bucketIndex = hashCode % numBucket;
         Entry occupied = bucket[bucketIndex];
         int n = 1;
         while (occupied != null) {
-            if (occupied.key != null && occupied.key.equals(key)) {
+            if (occupied.key != null && strategy.keyEquals(occupied.key, key)) {
+                if (metrics != null) {
+                    metrics.recordLookup(n, true);
+                }
                 return occupied.val;
             }
             bucketIndex = (hashCode + n) % numBucket;
             occupied = bucket[bucketIndex];
             n++;
         }
+        if (metrics != null) {
+            metrics.recordLookup(n, false);
+        }
         return null;
     }
 
@@ -109,25 +216,199 @@ public class HashTable<K, V> {
             throw new RuntimeException("Hash table is empty");
         }
 
-        int bucketIndex = getBucketIndex(key);
         int hashCode = hash(key) & 0x7FFFFFFF;
+        int bucketIndex = hashCode % numBucket;
         Entry occupied = bucket[bucketIndex];
         int n = 1;
         while (occupied != null) {
-            if (occupied.key != null && occupied.key.equals(key)) {
+            if (occupied.key != null && strategy.keyEquals(occupied.key, key)) {
+                if (metrics != null) {
+                    metrics.recordLookup(n, true);
+                }
                 return true;
             }
             bucketIndex = (hashCode + n) % numBucket;
             occupied = bucket[bucketIndex];
             n++;
         }
+        if (metrics != null) {
+            metrics.recordLookup(n, false);
+        }
         return false;
     }
 
-    private void resize() {
+    // Looks every key up at once: out[i] gets the value of keys[i], or null. Returns how many keys were found.
+    // Keys go through in groups of eight, and the probes of a group take turns, so the cache misses of
+    // different keys are waited for at the same time instead of one after another
+    public int getAll(K[] keys, V[] out) {
+        if (out.length < keys.length) {
+            throw new IllegalArgumentException("Output array is shorter than the key array");
+        }
+        if (isEmpty()) {
+            throw new RuntimeException("Empty hash table");
+        }
+        int[] hashCodes = new int[BATCH_WIDTH];
+        int[] indexes = new int[BATCH_WIDTH];
+        int[] steps = new int[BATCH_WIDTH];
+        int found = 0;
+        for (int start = 0; start < keys.length; start += BATCH_WIDTH) {
+            int width = Math.min(BATCH_WIDTH, keys.length - start);
+            int pending = startProbes(keys, start, width, hashCodes, indexes, steps);
+            for (int lane = 0; lane < width; lane++) {
+                out[start + lane] = null;
+            }
+            while (pending != 0) {
+                for (int lanes = pending; lanes != 0; lanes &= lanes - 1) {
+                    int lane = Integer.numberOfTrailingZeros(lanes);
+                    Entry occupied = bucket[indexes[lane]];
+                    if (occupied == null) {
+                        pending &= ~(1 << lane);
+                        if (metrics != null) {
+                            metrics.recordLookup(steps[lane], false);
+                        }
+                    } else if (occupied.key != null && strategy.keyEquals(occupied.key, keys[start + lane])) {
+                        out[start + lane] = occupied.val;
+                        found++;
+                        pending &= ~(1 << lane);
+                        if (metrics != null) {
+                            metrics.recordLookup(steps[lane], true);
+                        }
+                    } else {
+                        indexes[lane] = (hashCodes[lane] + steps[lane]++) % numBucket;
+                    }
+                }
+            }
+        }
+        return found;
+    }
 
-        numBucket = numBucket * 2;
+    // Adds keys[i] -> vals[i] for every pair. The table grows once up front, then each group of eight keys is
+    // searched with interleaved probes like getAll(...) and written one key at a time
+    public void putAll(K[] keys, V[] vals) {
+        if (vals.length < keys.length) {
+            throw new IllegalArgumentException("Value array is shorter than the key array");
+        }
+        int needed = (int) ((size + keys.length) / loadFactor) + 1;
+        if (needed > numBucket) {
+            resize(needed);
+        } else if ((double) (size + tombstones + keys.length) / numBucket >= loadFactor) {
+            compact();
+        }
+        int[] hashCodes = new int[BATCH_WIDTH];
+        int[] indexes = new int[BATCH_WIDTH];
+        int[] steps = new int[BATCH_WIDTH];
+        for (int start = 0; start < keys.length; start += BATCH_WIDTH) {
+            int width = Math.min(BATCH_WIDTH, keys.length - start);
+            int pending = startProbes(keys, start, width, hashCodes, indexes, steps);
+            int active = pending;
+            int matched = 0;
+            while (pending != 0) {
+                for (int lanes = pending; lanes != 0; lanes &= lanes - 1) {
+                    int lane = Integer.numberOfTrailingZeros(lanes);
+                    Entry occupied = bucket[indexes[lane]];
+                    if (occupied == null) {
+                        pending &= ~(1 << lane);
+                    } else if (occupied.key != null && strategy.keyEquals(occupied.key, keys[start + lane])) {
+                        matched |= 1 << lane;
+                        pending &= ~(1 << lane);
+                    } else {
+                        indexes[lane] = (hashCodes[lane] + steps[lane]++) % numBucket;
+                    }
+                }
+            }
+            int searched = rehashes;
+            for (int lane = 0; lane < width; lane++) {
+                K key = keys[start + lane];
+                V val = vals[start + lane];
+                if ((active & (1 << lane)) == 0 || val == null) {
+                    continue;
+                }
+                if (rehashes != searched) {
+                    add(key, val); // An earlier add(...) of this group resized or compacted the table
+                    continue;
+                }
+                Entry occupied = bucket[indexes[lane]];
+                if ((matched & (1 << lane)) != 0) {
+                    occupied.val = val;
+                } else if (occupied == null && (double) (size + tombstones) / numBucket < loadFactor) {
+                    bucket[indexes[lane]] = new Entry(key, val);
+                    size++;
+                    if (metrics != null) {
+                        metrics.recordInsert(steps[lane] > 1);
+                    }
+                } else {
+                    add(key, val); // An earlier key of this group took the empty slot, maybe the same key
+                }
+            }
+        }
+    }
+
+    // Hashes a group of keys and returns a bit mask of the lanes that hold a key
+    private int startProbes(K[] keys, int start, int width, int[] hashCodes, int[] indexes, int[] steps) {
+        int lanes = 0;
+        for (int lane = 0; lane < width; lane++) {
+            K key = keys[start + lane];
+            if (key != null) {
+                hashCodes[lane] = hash(key) & 0x7FFFFFFF;
+                indexes[lane] = hashCodes[lane] % numBucket;
+                steps[lane] = 1;
+                lanes |= 1 << lane;
+            }
+        }
+        return lanes;
+    }
+
+    // Removes every tombstone by putting each entry back into a fresh array of the same capacity, like
+    // QuadraticProbing.compact(). Moving entries in place breaks once a cluster wraps past index 0: a slot that
+    // was already refilled can be emptied again, cutting the probe path of every key behind it
+    public void compact() {
+        if (tombstones == 0) {
+            return;
+        }
+        long started = metrics == null ? 0 : System.nanoTime();
+        @SuppressWarnings("unchecked")
+        Entry[] fresh = (Entry[]) Array.newInstance(Entry.class, numBucket);
+        for (Entry entry : bucket) {
+            if (entry != null && entry != dummy) {
+                int hashCode = hash(entry.key) & 0x7FFFFFFF;
+                int bucketIndex = hashCode % numBucket;
+                int n = 1;
+                while (fresh[bucketIndex] != null) {
+                    bucketIndex = (hashCode + n) % numBucket;
+                    n++;
+                }
+                fresh[bucketIndex] = entry;
+            }
+        }
+        bucket = fresh;
+        tombstones = 0;
+        rehashes++;
+        if (metrics != null) {
+            metrics.recordResize(System.nanoTime() - started);
+        }
+    }
+
+    public int tombstoneCount() {
+        return tombstones;
+    }
+
+    // A table that is mostly tombstones only needs cleaning, otherwise it doubles
+    private void makeRoom() {
+        if (size * 2 < numBucket * loadFactor) {
+            compact();
+        } else {
+            resize(numBucket * 2);
+        }
+    }
+
+    private void resize(int capacity) {
+        HashTableMetrics recording = metrics;
+        metrics = null; // The entries are added again below, they are not new inserts
+        long start = recording == null ? 0 : System.nanoTime();
+        numBucket = capacity;
         size = 0;
+        tombstones = 0;
+        rehashes++;
         Entry[] temp = bucket;
         bucket = (Entry[]) Array.newInstance(Entry.class, numBucket);
         for (Entry entry : temp) {
@@ -135,33 +416,124 @@ public class HashTable<K, V> {
                 add(entry.key, entry.val);
             }
         }
+        metrics = recording;
+        if (recording != null) {
+            recording.recordResize(System.nanoTime() - start);
+        }
+    }
 
+    // Writes every entry together with its slot. Tombstones are cleared first, so a table of the same capacity
+    // can load the slots exactly as they are
+    public void writeSnapshot(WritableByteChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        compact();
+        Snapshot.Writer<K, V> writer = new Snapshot.Writer<>(channel, SNAPSHOT_LAYOUT, numBucket, size, keyCodec, valueCodec);
+        for (int i = 0; i < numBucket; i++) {
+            Entry entry = bucket[i];
+            if (entry != null) {
+                writer.write(i, hash(entry.key), entry.key, entry.val);
+            }
+        }
+        writer.finish();
     }
 
-    private int getBucketIndex(K key) {
-        int rawHashKey = hash(key);
-        int hashKey = rawHashKey < 0 ? rawHashKey * -1 : rawHashKey;
-        int index = hashKey % numBucket;
-        return index;
+    // Replaces the contents of the table. A snapshot from a linear probing table takes over its capacity and
+    // puts each entry back into its slot without probing; any other snapshot is added key by key into a table
+    // that is sized for it up front. The first entry's hash tells whether the snapshot used the same HashStrategy
+    @SuppressWarnings("unchecked")
+    public void loadSnapshot(FileChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        Snapshot.Reader<K, V> reader = new Snapshot.Reader<>(channel, keyCodec, valueCodec);
+        boolean sameLayout = SNAPSHOT_LAYOUT.equals(reader.layout()) && reader.capacity() > 0;
+        numBucket = sameLayout ? reader.capacity() : Math.max(10, (int) (reader.size() / loadFactor) + 1);
+        bucket = (Entry[]) Array.newInstance(Entry.class, numBucket);
+        size = 0;
+        tombstones = 0;
+        rehashes++;
+        boolean direct = sameLayout;
+        while (reader.next()) {
+            if (direct && size == 0 && hash(reader.key()) != reader.hash()) {
+                direct = false;
+            }
+            if (!direct) {
+                add(reader.key(), reader.value());
+                continue;
+            }
+            int slot = reader.slot();
+            if (slot < 0 || slot >= numBucket || bucket[slot] != null) {
+                throw new IOException("Snapshot slot " + slot + " is out of range or taken twice");
+            }
+            bucket[slot] = new Entry(reader.key(), reader.value());
+            size++;
+        }
     }
 
-    private int hash(K key) {
-        if (key instanceof Integer) {
-            return (int) key;
-        } else {
-            int power = 1;
-            int hashCode = 0;
-            String stringKey = key + "";
-            int n = stringKey.length();
+    // The entries are the table's own, so setValue(...) writes through. Adding or removing keys while
+    // iterating may skip entries or return one twice
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        Entry[] slots = bucket;
+        return new SlotIterator<>(slots.length) {
+            @Override
+            protected Map.Entry<K, V> at(int slot) {
+                return live(slots[slot]);
+            }
+        };
+    }
 
-            for (int i = n - 1; i >= 0; i--) {
-                hashCode += stringKey.charAt(i) * power;
-                power *= 31;
+    public Iterator<K> keyIterator() {
+        Entry[] slots = bucket;
+        return new SlotIterator<>(slots.length) {
+            @Override
+            protected K at(int slot) {
+                Entry entry = live(slots[slot]);
+                return entry == null ? null : entry.key;
             }
-            return hashCode;
+        };
+    }
+
+    public Iterator<V> valueIterator() {
+        Entry[] slots = bucket;
+        return new SlotIterator<>(slots.length) {
+            @Override
+            protected V at(int slot) {
+                Entry entry = live(slots[slot]);
+                return entry == null ? null : entry.val;
+            }
+        };
+    }
+
+    // Splits by slot range, so StreamSupport.stream(table.spliterator(), true) scans the table on every core
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return new EntrySpliterator(bucket, 0, bucket.length, size, true);
+    }
+
+    private class EntrySpliterator extends SlotSpliterator<Map.Entry<K, V>> {
+        private final Entry[] slots;
+
+        EntrySpliterator(Entry[] slots, int origin, int fence, long size, boolean exact) {
+            super(origin, fence, size, exact);
+            this.slots = slots;
+        }
+
+        @Override
+        protected Map.Entry<K, V> at(int slot) {
+            return live(slots[slot]);
+        }
+
+        @Override
+        protected SlotSpliterator<Map.Entry<K, V>> part(int origin, int fence, long estimate) {
+            return new EntrySpliterator(slots, origin, fence, estimate, false);
         }
     }
 
+    private Entry live(Entry entry) {
+        return entry == dummy ? null : entry;
+    }
+
+    private int hash(K key) {
+        return strategy.hash(key);
+    }
+
     public void printHashTable() {
         if (isEmpty()) {
             return;
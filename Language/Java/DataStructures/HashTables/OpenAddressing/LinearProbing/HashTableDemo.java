@@ -1,5 +1,10 @@
 package Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
 public class HashTableDemo {
     public static void main(String[] args) {
         HashTable<String, Integer> hashTable = new HashTable<>();
@@ -106,6 +111,68 @@ public class HashTableDemo {
             System.out.println("Caught RuntimeException: " + e.getMessage()); // Expected: "Hash table is empty"
         }
 
-        
+        // 13. Batch operations
+        System.out.println("\n### Batch Operations ###");
+        HashTable<Integer, String> batchTable = new HashTable<>();
+        Integer[] batchKeys = {1, 2, 3, 2, 4};
+        String[] batchVals = {"one", "two", "three", "TWO", "four"};
+        batchTable.putAll(batchKeys, batchVals);
+        System.out.println("Size after putAll: " + batchTable.size()); // Expected: 4 (key 2 appears twice)
+        Integer[] lookups = {4, 2, 9, 1};
+        String[] found = new String[lookups.length];
+        int hits = batchTable.getAll(lookups, found);
+        System.out.println("getAll found " + hits + ": " + Arrays.toString(found)); // Expected: 3: [four, TWO, null, one]
+
+        // 14. Delete-heavy churn: tombstones are counted, reused and compacted away
+        System.out.println("\n### Churning Through Many Keys ###");
+        HashTable<Integer, Integer> churn = new HashTable<>();
+        for (int i = 0; i < 100000; i++) {
+            churn.add(i, i);
+            if (i >= 10) {
+                churn.remove(i - 10);
+            }
+        }
+        System.out.println("Size: " + churn.size()); // Expected: 10
+        System.out.println("Buckets: " + churn.numBucket + ", tombstones: " + churn.tombstoneCount()); // Buckets stay small
+        churn.compact();
+        System.out.println("Tombstones after compact(): " + churn.tombstoneCount()); // Expected: 0
+        System.out.println("Get 99995: " + churn.get(99995)); // Expected: 99995
+
+        // 15. compact() on a cluster that wraps past the last slot: every key must still be found afterwards
+        System.out.println("\n### Compacting a Wrapped Cluster ###");
+        Map<String, Integer> homes = Map.of("X6", 6, "E", 7, "Z", 6, "F", 9, "X0", 0, "P1", 8, "P2", 8);
+        HashTable<String, String> wrapped = new HashTable<>(homes::get);
+        wrapped.setLoadFactor(0.95);
+        for (String key : new String[]{"X6", "E", "Z", "F", "X0", "P1", "P2"}) {
+            wrapped.add(key, key);
+        }
+        wrapped.remove("X0");
+        wrapped.remove("X6");
+        wrapped.compact();
+        System.out.println("Get P2: " + wrapped.get("P2")); // Expected: P2
+
+        // 16. Random adds and removes at load factor 0.9, each run ending in compact(), against java.util.HashMap
+        int lost = 0;
+        for (int seed = 0; seed < 2000; seed++) {
+            Random random = new Random(seed);
+            HashTable<Integer, Integer> table = new HashTable<>();
+            table.setLoadFactor(0.9);
+            Map<Integer, Integer> expected = new HashMap<>();
+            for (int i = 0; i < 200; i++) {
+                int key = random.nextInt(60);
+                if (random.nextBoolean()) {
+                    table.add(key, i);
+                    expected.put(key, i);
+                } else if (!table.isEmpty()) { // remove(...) throws on an empty table
+                    table.remove(key);
+                    expected.remove(key);
+                }
+            }
+            table.compact();
+            for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+                if (!entry.getValue().equals(table.get(entry.getKey()))) lost++;
+            }
+        }
+        System.out.println("Keys lost by compact() over 2000 runs: " + lost); // Expected: 0
     }
 }
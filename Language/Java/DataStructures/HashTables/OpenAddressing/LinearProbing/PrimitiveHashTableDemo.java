@@ -0,0 +1,76 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing;
+
+public class PrimitiveHashTableDemo {
+    public static void main(String[] args) {
+        IntIntHashTable intTable = new IntIntHashTable(4, -1);
+
+        // 1. Add elements to the hash table
+        System.out.println("### Adding Elements ###");
+        intTable.add(1, 10);
+        intTable.add(2, 20);
+        intTable.add(3, 30);
+        intTable.add(0, 100); // 0 is the empty sentinel internally but still a valid key
+        intTable.printHashTable();
+        System.out.println("Size after adding elements: " + intTable.size()); // Expected: 4
+
+        // 2. Update and count
+        System.out.println("\n### Updating Values ###");
+        intTable.add(2, 22);
+        System.out.println("Get value for 2: " + intTable.get(2)); // Expected: 22
+        intTable.addTo(7, 1);
+        intTable.addTo(7, 1);
+        System.out.println("Counter for 7: " + intTable.get(7)); // Expected: 2
+        System.out.println("Get value for missing key 42: " + intTable.get(42)); // Expected: -1
+
+        // 3. Remove elements
+        System.out.println("\n### Removing Elements ###");
+        intTable.remove(2);
+        intTable.remove(0);
+        System.out.println("Contains 2 after removal: " + intTable.contains(2)); // Expected: false
+        System.out.println("Contains 0 after removal: " + intTable.contains(0)); // Expected: false
+        System.out.println("Size after removal: " + intTable.size()); // Expected: 3
+
+        // 4. Resizing and removal with clusters (no tombstones left behind)
+        System.out.println("\n### Testing Resizing ###");
+        IntIntHashTable counters = new IntIntHashTable();
+        for (int i = 1; i <= 100000; i++) {
+            counters.addTo(i % 1000, 1);
+        }
+        System.out.println("Distinct keys: " + counters.size()); // Expected: 1000
+        System.out.println("Count for key 5: " + counters.get(5)); // Expected: 100
+        for (int i = 0; i < 1000; i += 2) {
+            counters.remove(i);
+        }
+        boolean ok = true;
+        for (int i = 0; i < 1000; i++) {
+            if (counters.contains(i) != (i % 2 == 1)) {
+                ok = false;
+            }
+        }
+        System.out.println("Odd keys survive, even keys removed: " + ok); // Expected: true
+        System.out.println("Size after removing even keys: " + counters.size()); // Expected: 500
+
+        // 5. Long keys and values
+        System.out.println("\n### LongLongHashTable ###");
+        LongLongHashTable longTable = new LongLongHashTable();
+        longTable.add(Long.MAX_VALUE, 1L);
+        longTable.add(1L << 40, 2L);
+        longTable.add(-5L, 3L);
+        System.out.println("Get value for Long.MAX_VALUE: " + longTable.get(Long.MAX_VALUE)); // Expected: 1
+        System.out.println("Get value for 2^40: " + longTable.get(1L << 40)); // Expected: 2
+        longTable.remove(-5L);
+        System.out.println("Contains -5 after removal: " + longTable.contains(-5L)); // Expected: false
+        System.out.println("Size: " + longTable.size()); // Expected: 2
+
+        // 6. An expected size that needs more than 2^30 buckets is refused instead of overflowing the capacity
+        System.out.println("\n### Oversized tables ###");
+        for (int expectedSize : new int[]{(1 << 29) + 1, Integer.MAX_VALUE}) {
+            try {
+                new IntIntHashTable(expectedSize);
+                System.out.println("Expected size " + expectedSize + ": no exception");
+            } catch (IllegalArgumentException e) {
+                System.out.println("Expected size " + expectedSize + ": " + e.getMessage()); // Expected: more than the maximum of 1073741824
+            }
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ * Writes IntIntHashTable and LongLongHashTable from the one TEMPLATE below, so a fix to one reaches both.
+ * Change the template and run this from the repository root:
+ *   java Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing.PrimitiveTableGenerator
+ * With --check nothing is written; it exits with status 1 if a generated file is out of date.
+ */
+public class PrimitiveTableGenerator {
+    private static final Path DIRECTORY = Path.of("Language", "Java", "DataStructures", "HashTables", "OpenAddressing", "LinearProbing");
+
+    // $Table$: class name, $type$: key and value type, $zero$: the empty key literal,
+    // $hash$: the hash(key) method with its comment
+    private static final String TEMPLATE = """
+            package Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing;
+
+            import java.util.Arrays;
+
+            import Language.Java.DataStructures.HashTables.HashStrategies;
+
+            /*
+             * Generated by PrimitiveTableGenerator from its TEMPLATE. Edit the template and run the generator, not this file.
+             *
+             * Linear probing table specialised for $type$ keys and $type$ values.
+             * Keys and values live in two parallel arrays, so there is no boxing and no Entry object per mapping.
+             * Key 0 is reserved to mark an empty slot; a real 0 key is kept outside of the arrays.
+             */
+            public class $Table$ {
+
+                private static final int MAXIMUM_CAPACITY = 1 << 30; // Largest power of two that is a valid array length
+                private static final $type$ EMPTY = $zero$;
+
+                $type$[] keys;
+                $type$[] vals;
+                int numBucket;
+                int mask;
+                int size = 0;
+                double loadFactor = 0.5;
+                int threshold;
+
+                boolean hasZeroKey = false;
+                $type$ zeroVal;
+
+                private final $type$ noEntryValue;
+
+                public $Table$() {
+                    this(16, 0);
+                }
+
+                public $Table$(int expectedSize) {
+                    this(expectedSize, 0);
+                }
+
+                // noEntryValue is what get() returns for a missing key
+                public $Table$(int expectedSize, $type$ noEntryValue) {
+                    this.noEntryValue = noEntryValue;
+                    numBucket = tableSizeFor((int) Math.ceil(expectedSize / loadFactor));
+                    mask = numBucket - 1;
+                    keys = new $type$[numBucket];
+                    vals = new $type$[numBucket];
+                    threshold = (int) (numBucket * loadFactor);
+                }
+
+                public void setLoadFactor(double loadFactor) {
+                    if (loadFactor <= 0 || loadFactor >= 1) {
+                        throw new IllegalArgumentException("Load factor must be between 0 and 1");
+                    }
+                    this.loadFactor = loadFactor;
+                    threshold = (int) (numBucket * loadFactor);
+                    if (size >= threshold) {
+                        resize();
+                    }
+                }
+
+                public void add($type$ key, $type$ val) {
+                    if (key == EMPTY) {
+                        if (!hasZeroKey) {
+                            hasZeroKey = true;
+                            size++;
+                        }
+                        zeroVal = val;
+                        return;
+                    }
+
+                    int bucketIndex = hash(key) & mask;
+                    $type$ occupied;
+                    while ((occupied = keys[bucketIndex]) != EMPTY) {
+                        if (occupied == key) {
+                            vals[bucketIndex] = val;
+                            return;
+                        }
+                        bucketIndex = (bucketIndex + 1) & mask;
+                    }
+                    keys[bucketIndex] = key;
+                    vals[bucketIndex] = val;
+                    if (++size >= threshold) {
+                        resize();
+                    }
+                }
+
+                // Adds delta to the value of key (starting from 0 when absent) and returns the new value
+                public $type$ addTo($type$ key, $type$ delta) {
+                    if (key == EMPTY) {
+                        if (!hasZeroKey) {
+                            hasZeroKey = true;
+                            zeroVal = 0;
+                            size++;
+                        }
+                        zeroVal += delta;
+                        return zeroVal;
+                    }
+
+                    int bucketIndex = hash(key) & mask;
+                    $type$ occupied;
+                    while ((occupied = keys[bucketIndex]) != EMPTY) {
+                        if (occupied == key) {
+                            vals[bucketIndex] += delta;
+                            return vals[bucketIndex];
+                        }
+                        bucketIndex = (bucketIndex + 1) & mask;
+                    }
+                    keys[bucketIndex] = key;
+                    vals[bucketIndex] = delta;
+                    if (++size >= threshold) {
+                        resize();
+                    }
+                    return delta;
+                }
+
+                public $type$ get($type$ key) {
+                    if (key == EMPTY) {
+                        return hasZeroKey ? zeroVal : noEntryValue;
+                    }
+                    int bucketIndex = hash(key) & mask;
+                    $type$ occupied;
+                    while ((occupied = keys[bucketIndex]) != EMPTY) {
+                        if (occupied == key) {
+                            return vals[bucketIndex];
+                        }
+                        bucketIndex = (bucketIndex + 1) & mask;
+                    }
+                    return noEntryValue;
+                }
+
+                public boolean contains($type$ key) {
+                    if (key == EMPTY) {
+                        return hasZeroKey;
+                    }
+                    int bucketIndex = hash(key) & mask;
+                    $type$ occupied;
+                    while ((occupied = keys[bucketIndex]) != EMPTY) {
+                        if (occupied == key) {
+                            return true;
+                        }
+                        bucketIndex = (bucketIndex + 1) & mask;
+                    }
+                    return false;
+                }
+
+                public boolean remove($type$ key) {
+                    if (key == EMPTY) {
+                        if (!hasZeroKey) {
+                            return false;
+                        }
+                        hasZeroKey = false;
+                        size--;
+                        return true;
+                    }
+                    int bucketIndex = hash(key) & mask;
+                    $type$ occupied;
+                    while ((occupied = keys[bucketIndex]) != EMPTY) {
+                        if (occupied == key) {
+                            shiftBack(bucketIndex);
+                            size--;
+                            return true;
+                        }
+                        bucketIndex = (bucketIndex + 1) & mask;
+                    }
+                    return false;
+                }
+
+                // Backward-shift deletion: pull later members of the cluster into the hole so no tombstone is needed
+                private void shiftBack(int hole) {
+                    int cur = (hole + 1) & mask;
+                    $type$ occupied;
+                    while ((occupied = keys[cur]) != EMPTY) {
+                        int home = hash(occupied) & mask;
+                        // Move the entry if its home does not lie cyclically in (hole, cur]
+                        if (((cur - home) & mask) >= ((cur - hole) & mask)) {
+                            keys[hole] = occupied;
+                            vals[hole] = vals[cur];
+                            hole = cur;
+                        }
+                        cur = (cur + 1) & mask;
+                    }
+                    keys[hole] = EMPTY;
+                }
+
+                public void clear() {
+                    Arrays.fill(keys, EMPTY);
+                    hasZeroKey = false;
+                    size = 0;
+                }
+
+                private void resize() {
+                    if (numBucket == MAXIMUM_CAPACITY) {
+                        throw new RuntimeException("Table cannot grow past 2^30 buckets");
+                    }
+                    $type$[] oldKeys = keys;
+                    $type$[] oldVals = vals;
+                    numBucket = numBucket * 2;
+                    mask = numBucket - 1;
+                    threshold = (int) (numBucket * loadFactor);
+                    keys = new $type$[numBucket];
+                    vals = new $type$[numBucket];
+                    for (int i = 0; i < oldKeys.length; i++) {
+                        $type$ key = oldKeys[i];
+                        if (key != EMPTY) {
+                            int bucketIndex = hash(key) & mask;
+                            while (keys[bucketIndex] != EMPTY) {
+                                bucketIndex = (bucketIndex + 1) & mask;
+                            }
+                            keys[bucketIndex] = key;
+                            vals[bucketIndex] = oldVals[i];
+                        }
+                    }
+                }
+
+                $hash$
+
+                // Smallest power of two >= n. Above 1 << 30, cap <<= 1 would overflow to a negative and loop forever
+                private static int tableSizeFor(int n) {
+                    if (n > MAXIMUM_CAPACITY) {
+                        throw new IllegalArgumentException("Expected size needs " + n + " buckets, more than the maximum of " + MAXIMUM_CAPACITY);
+                    }
+                    int cap = 2;
+                    while (cap < n) {
+                        cap <<= 1;
+                    }
+                    return cap;
+                }
+
+                public void printHashTable() {
+                    if (isEmpty()) {
+                        return;
+                    }
+                    if (hasZeroKey) {
+                        System.out.println("Key: 0 | Value: " + zeroVal);
+                    }
+                    for (int i = 0; i < numBucket; i++) {
+                        if (keys[i] != EMPTY) {
+                            System.out.println("Key: " + keys[i] + " | Value: " + vals[i]);
+                        }
+                    }
+                }
+
+                public boolean isEmpty() {
+                    return size == 0;
+                }
+
+                public int size() {
+                    return size;
+                }
+            }
+            """;
+
+    public static void main(String[] args) throws IOException {
+        boolean check = args.length > 0 && args[0].equals("--check");
+        String[][] types = {
+                {"IntIntHashTable", "int", "0",
+                        "// murmur3 fmix32 finalizer, spreads sequential keys across the table\n"
+                                + "    private static int hash(int key) {\n"
+                                + "        return HashStrategies.fmix32(key);\n"
+                                + "    }"},
+                {"LongLongHashTable", "long", "0L",
+                        "// murmur3 fmix64 finalizer folded down to an int\n"
+                                + "    private static int hash(long key) {\n"
+                                + "        long h = HashStrategies.fmix64(key);\n"
+                                + "        return (int) (h ^ (h >>> 32));\n"
+                                + "    }"},
+        };
+        boolean stale = false;
+        for (String[] type : types) {
+            String source = TEMPLATE.replace("$Table$", type[0]).replace("$type$", type[1])
+                    .replace("$zero$", type[2]).replace("$hash$", type[3]);
+            Path file = DIRECTORY.resolve(type[0] + ".java");
+            if (check) {
+                if (!Files.exists(file) || !Files.readString(file).equals(source)) {
+                    System.out.println(file + " is out of date");
+                    stale = true;
+                }
+            } else {
+                Files.writeString(file, source);
+                System.out.println("Wrote " + file);
+            }
+        }
+        if (stale) {
+            System.exit(1);
+        }
+    }
+}
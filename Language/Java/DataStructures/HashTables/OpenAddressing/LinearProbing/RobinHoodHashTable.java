@@ -0,0 +1,204 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing;
+
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+
+/*
+ * Linear probing with the Robin Hood displacement rule.
+ * Every slot remembers how far it sits from its home bucket. On insert, an entry that is further from
+ * home than the resident takes its slot and the resident moves on, which keeps probe lengths even.
+ * Removal shifts the rest of the cluster back by one, so the table never contains tombstones.
+ */
+public class RobinHoodHashTable<K, V> {
+
+    K[] keys;
+    V[] vals;
+    int[] hashes;
+    int[] probes; // distance from home + 1, 0 means the slot is empty
+    int numBucket = 16;
+    int mask = numBucket - 1;
+    int size = 0;
+    double loadFactor = 0.8;
+    HashStrategy<? super K> strategy;
+
+    public RobinHoodHashTable() {
+        this(HashStrategies.defaultStrategy());
+    }
+
+    @SuppressWarnings("unchecked")
+    public RobinHoodHashTable(HashStrategy<? super K> strategy) {
+        this.strategy = strategy;
+        keys = (K[]) new Object[numBucket];
+        vals = (V[]) new Object[numBucket];
+        hashes = new int[numBucket];
+        probes = new int[numBucket];
+    }
+
+    public void setLoadFactor(double loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1");
+        }
+        this.loadFactor = loadFactor;
+    }
+
+    public void add(K key, V val) {
+        if (key == null || val == null) {
+            return;
+        }
+        if ((double) (size + 1) / numBucket > loadFactor) {
+            resize();
+        }
+
+        int hashCode = strategy.hash(key);
+        int bucketIndex = hashCode & mask;
+        int probe = 1;
+        while (probes[bucketIndex] >= probe) {
+            if (probes[bucketIndex] == probe && hashes[bucketIndex] == hashCode
+                    && strategy.keyEquals(keys[bucketIndex], key)) {
+                vals[bucketIndex] = val;
+                return;
+            }
+            bucketIndex = (bucketIndex + 1) & mask;
+            probe++;
+        }
+        // The key is not present: settle it here and push the poorer residents further along
+        insertAt(bucketIndex, key, val, hashCode, probe);
+        size++;
+    }
+
+    private void insertAt(int bucketIndex, K key, V val, int hashCode, int probe) {
+        while (probes[bucketIndex] != 0) {
+            if (probes[bucketIndex] < probe) {
+                K tempKey = keys[bucketIndex];
+                V tempVal = vals[bucketIndex];
+                int tempHash = hashes[bucketIndex];
+                int tempProbe = probes[bucketIndex];
+                keys[bucketIndex] = key;
+                vals[bucketIndex] = val;
+                hashes[bucketIndex] = hashCode;
+                probes[bucketIndex] = probe;
+                key = tempKey;
+                val = tempVal;
+                hashCode = tempHash;
+                probe = tempProbe;
+            }
+            bucketIndex = (bucketIndex + 1) & mask;
+            probe++;
+        }
+        keys[bucketIndex] = key;
+        vals[bucketIndex] = val;
+        hashes[bucketIndex] = hashCode;
+        probes[bucketIndex] = probe;
+    }
+
+    public V remove(K key) {
+        int bucketIndex = find(key);
+        if (bucketIndex < 0) {
+            return null;
+        }
+        V removed = vals[bucketIndex];
+        int next = (bucketIndex + 1) & mask;
+        // Backward-shift deletion: stop at an empty slot or at an entry already in its home bucket
+        while (probes[next] > 1) {
+            keys[bucketIndex] = keys[next];
+            vals[bucketIndex] = vals[next];
+            hashes[bucketIndex] = hashes[next];
+            probes[bucketIndex] = probes[next] - 1;
+            bucketIndex = next;
+            next = (next + 1) & mask;
+        }
+        keys[bucketIndex] = null;
+        vals[bucketIndex] = null;
+        probes[bucketIndex] = 0;
+        size--;
+        return removed;
+    }
+
+    public V get(K key) {
+        int bucketIndex = find(key);
+        return bucketIndex < 0 ? null : vals[bucketIndex];
+    }
+
+    public boolean contains(K key) {
+        return find(key) >= 0;
+    }
+
+    private int find(K key) {
+        if (key == null) {
+            return -1;
+        }
+        int hashCode = strategy.hash(key);
+        int bucketIndex = hashCode & mask;
+        int probe = 1;
+        // A resident closer to its home than we are to ours means the key cannot be further along
+        while (probes[bucketIndex] >= probe) {
+            if (probes[bucketIndex] == probe && hashes[bucketIndex] == hashCode
+                    && strategy.keyEquals(keys[bucketIndex], key)) {
+                return bucketIndex;
+            }
+            bucketIndex = (bucketIndex + 1) & mask;
+            probe++;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        K[] oldKeys = keys;
+        V[] oldVals = vals;
+        int[] oldHashes = hashes;
+        int[] oldProbes = probes;
+        numBucket *= 2;
+        mask = numBucket - 1;
+        keys = (K[]) new Object[numBucket];
+        vals = (V[]) new Object[numBucket];
+        hashes = new int[numBucket];
+        probes = new int[numBucket];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldProbes[i] != 0) {
+                insertAt(oldHashes[i] & mask, oldKeys[i], oldVals[i], oldHashes[i], 1);
+            }
+        }
+    }
+
+    // Longest distance (in slots) any entry sits from its home bucket
+    public int maxProbeLength() {
+        int max = 0;
+        for (int probe : probes) {
+            max = Math.max(max, probe - 1);
+        }
+        return max;
+    }
+
+    public double meanProbeLength() {
+        if (isEmpty()) {
+            return 0;
+        }
+        long total = 0;
+        for (int probe : probes) {
+            if (probe != 0) {
+                total += probe - 1;
+            }
+        }
+        return (double) total / size;
+    }
+
+    public void printHashTable() {
+        if (isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < numBucket; i++) {
+            if (probes[i] != 0) {
+                System.out.println("Key: " + keys[i] + " | Value: " + vals[i] + " | Probe: " + (probes[i] - 1));
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,53 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing;
+
+import java.util.Random;
+
+public class RobinHoodHashTableDemo {
+    public static void main(String[] args) {
+        RobinHoodHashTable<String, Integer> hashTable = new RobinHoodHashTable<>();
+
+        // 1. Add elements to the hash table
+        System.out.println("### Adding Elements ###");
+        hashTable.add("One", 1);
+        hashTable.add("Two", 2);
+        hashTable.add("Three", 3);
+        hashTable.printHashTable();
+        System.out.println("Size after adding elements: " + hashTable.size()); // Expected: 3
+
+        // 2. Update and remove
+        System.out.println("\n### Updating and Removing ###");
+        hashTable.add("Two", 22);
+        System.out.println("Get value for 'Two': " + hashTable.get("Two")); // Expected: 22
+        System.out.println("Removed 'One', old value: " + hashTable.remove("One")); // Expected: 1
+        System.out.println("Get value for 'One' after removal: " + hashTable.get("One")); // Expected: null
+        System.out.println("Removing missing key returns: " + hashTable.remove("Missing")); // Expected: null
+        System.out.println("Size after removal: " + hashTable.size()); // Expected: 2
+
+        // 3. Churn at a high load factor, then look at the probe lengths
+        System.out.println("\n### Churn Test (load factor 0.9) ###");
+        RobinHoodHashTable<Integer, Integer> churn = new RobinHoodHashTable<>();
+        churn.setLoadFactor(0.9);
+        Random random = new Random(42);
+        int live = 100000;
+        for (int i = 0; i < live; i++) {
+            churn.add(i, i);
+        }
+        int next = live;
+        for (int round = 0; round < 1000000; round++) {
+            churn.remove(next - live);
+            churn.add(next, next);
+            next++;
+        }
+        boolean ok = true;
+        for (int i = 0; i < 1000; i++) {
+            int key = next - 1 - random.nextInt(live);
+            if (!Integer.valueOf(key).equals(churn.get(key))) {
+                ok = false;
+            }
+        }
+        System.out.println("Size after 1,000,000 remove/add rounds: " + churn.size()); // Expected: 100000
+        System.out.println("Sampled lookups all correct: " + ok); // Expected: true
+        System.out.println("Max probe length: " + churn.maxProbeLength());
+        System.out.println("Mean probe length: " + String.format("%.3f", churn.meanProbeLength()));
+    }
+}
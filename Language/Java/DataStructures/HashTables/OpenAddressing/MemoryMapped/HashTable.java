@@ -0,0 +1,448 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.MemoryMapped;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import Language.Java.DataStructures.HashTables.Codec;
+import Language.Java.DataStructures.HashTables.HashStrategies;
+
+/*
+ * Linear probing table whose slots and entries live in two memory-mapped files:
+ *
+ *   <path>.idx  header + fixed 24 byte slots: key hash (int), unused (int), key offset (long), value offset (long)
+ *   <path>.dat  append-only records: length (int) followed by the encoded key or value
+ *
+ * A key offset of 0 marks an empty slot, real records start after the data file's magic number.
+ */
+public class HashTable<K, V> implements Closeable {
+    private static final long INDEX_MAGIC = 0x4D4D48415348494EL;
+    private static final long DATA_MAGIC = 0x4D4D484153484441L;
+
+    private static final int HEADER_BYTES = 64;
+    private static final int MAGIC_AT = 0;
+    private static final int CAPACITY_AT = 8;
+    private static final int SIZE_AT = 16;
+    private static final int DATA_END_AT = 24;
+
+    private static final int SLOT_BYTES = 24;
+    private static final int HASH_AT = 0;
+    private static final int KEY_AT = 8;
+    private static final int VALUE_AT = 16;
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final long MAX_CAPACITY = 1L << 32; // Home slots come from a 32-bit hash
+    private static final int SLOT_SEGMENT_SHIFT = 25; // 2^25 slots = 768 MB per mapping
+    private static final long DATA_SEGMENT_BYTES = 1L << 30;
+    private static final long MIN_DATA_BYTES = 1L << 20;
+
+    private final Path indexPath;
+    private final Path dataPath;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final int slotSegmentShift;
+    private final long dataSegmentBytes;
+
+    private FileChannel indexChannel;
+    private FileChannel dataChannel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer[] slots;
+    private MappedByteBuffer[] data;
+    private long dataCapacity;
+    private long capacity;
+    private long mask;
+    private long size;
+    private long dataEnd;
+    private double loadFactor = 0.7;
+    private boolean closed;
+
+    public HashTable(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        this(path, DEFAULT_CAPACITY, keyCodec, valueCodec);
+    }
+
+    // Opens the table stored at path, or creates an empty one able to hold expectedSize entries without growing
+    public HashTable(Path path, long expectedSize, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        this(path, expectedSize, keyCodec, valueCodec, SLOT_SEGMENT_SHIFT, DATA_SEGMENT_BYTES);
+    }
+
+    // Smaller segments let the demo exercise records and slots that span two mappings
+    HashTable(Path path, long expectedSize, Codec<K> keyCodec, Codec<V> valueCodec,
+              int slotSegmentShift, long dataSegmentBytes) throws IOException {
+        this.indexPath = Path.of(path + ".idx");
+        this.dataPath = Path.of(path + ".dat");
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.slotSegmentShift = slotSegmentShift;
+        this.dataSegmentBytes = dataSegmentBytes;
+
+        indexChannel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        dataChannel = FileChannel.open(dataPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (indexChannel.size() == 0) {
+                create(expectedSize);
+            } else {
+                reopen();
+            }
+        } catch (IOException | RuntimeException e) {
+            indexChannel.close();
+            dataChannel.close();
+            throw e;
+        }
+    }
+
+    private void create(long expectedSize) throws IOException {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / loadFactor);
+        capacity = Math.min(MAX_CAPACITY, Math.max(16, Long.highestOneBit(needed - 1) << 1));
+        mask = capacity - 1;
+        header = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        slots = mapSlots(indexChannel, capacity);
+        mapData(Math.max(MIN_DATA_BYTES, dataChannel.size()));
+        putLong(data, MAGIC_AT, DATA_MAGIC);
+        dataEnd = Long.BYTES;
+        size = 0;
+        header.putLong(MAGIC_AT, INDEX_MAGIC);
+        header.putLong(CAPACITY_AT, capacity);
+        writeHeader();
+    }
+
+    // Only the header is read, slots and records stay on disk until they are touched
+    private void reopen() throws IOException {
+        if (indexChannel.size() < HEADER_BYTES) throw new IOException("Index file is truncated: " + indexPath);
+        header = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        if (header.getLong(MAGIC_AT) != INDEX_MAGIC) throw new IOException("Not a hash table index: " + indexPath);
+        capacity = header.getLong(CAPACITY_AT);
+        size = header.getLong(SIZE_AT);
+        dataEnd = header.getLong(DATA_END_AT);
+        if (indexChannel.size() < HEADER_BYTES + capacity * SLOT_BYTES || dataChannel.size() < dataEnd) {
+            throw new IOException("Hash table files are truncated: " + indexPath);
+        }
+        mask = capacity - 1;
+        slots = mapSlots(indexChannel, capacity);
+        mapData(dataChannel.size());
+        if (getLong(data, MAGIC_AT) != DATA_MAGIC) throw new IOException("Not a hash table data file: " + dataPath);
+    }
+
+    public void setLoadFactor(double loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1) throw new IllegalArgumentException("Load factor must be between 0 and 1");
+        this.loadFactor = loadFactor;
+    }
+
+    public void add(K key, V val) {
+        if (key == null || val == null) return;
+        checkOpen();
+        byte[] keyBytes = keyCodec.encode(key);
+        int hash = hash(keyBytes);
+        long slot = find(keyBytes, hash);
+        if (slot >= 0) {
+            putLong(slots, slotPosition(slot) + VALUE_AT, append(valueCodec.encode(val)));
+            writeHeader();
+            return;
+        }
+        if (size + 1 > capacity * loadFactor) {
+            resize();
+        }
+        long keyOffset = append(keyBytes);
+        long valueOffset = append(valueCodec.encode(val));
+        slot = hash & 0xFFFFFFFFL & mask;
+        while (getLong(slots, slotPosition(slot) + KEY_AT) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        writeSlot(slots, slotPosition(slot), hash, keyOffset, valueOffset);
+        size++;
+        writeHeader();
+    }
+
+    public V get(K key) {
+        if (key == null) throw new RuntimeException("Null keys not accepted");
+        checkOpen();
+        byte[] keyBytes = keyCodec.encode(key);
+        long slot = find(keyBytes, hash(keyBytes));
+        if (slot < 0) return null;
+        return valueCodec.decode(readRecord(getLong(slots, slotPosition(slot) + VALUE_AT)));
+    }
+
+    public boolean contains(K key) {
+        if (key == null) throw new RuntimeException("Null keys not accepted");
+        checkOpen();
+        byte[] keyBytes = keyCodec.encode(key);
+        return find(keyBytes, hash(keyBytes)) >= 0;
+    }
+
+    // The slot is closed with a backward shift; the key and value records stay in the data file
+    public void remove(K key) {
+        if (key == null) return;
+        checkOpen();
+        byte[] keyBytes = keyCodec.encode(key);
+        long hole = find(keyBytes, hash(keyBytes));
+        if (hole < 0) return;
+        long next = hole;
+        while (true) {
+            next = (next + 1) & mask;
+            long position = slotPosition(next);
+            long keyOffset = getLong(slots, position + KEY_AT);
+            if (keyOffset == 0) break;
+            int hash = getInt(slots, position + HASH_AT);
+            long home = hash & 0xFFFFFFFFL & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                writeSlot(slots, slotPosition(hole), hash, keyOffset, getLong(slots, position + VALUE_AT));
+                hole = next;
+            }
+        }
+        writeSlot(slots, slotPosition(hole), 0, 0, 0);
+        size--;
+        writeHeader();
+    }
+
+    public void printHashTable() {
+        checkOpen();
+        for (long slot = 0; slot < capacity; slot++) {
+            long position = slotPosition(slot);
+            long keyOffset = getLong(slots, position + KEY_AT);
+            if (keyOffset != 0) {
+                K key = keyCodec.decode(readRecord(keyOffset));
+                V val = valueCodec.decode(readRecord(getLong(slots, position + VALUE_AT)));
+                System.out.println("Key: " + key + " | Value: " + val);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    // Bytes used in the data file, including records left behind by updates and removes
+    public long dataSize() {
+        return dataEnd;
+    }
+
+    // Forces every mapped page of both files to disk
+    public void flush() {
+        checkOpen();
+        writeHeader();
+        for (MappedByteBuffer segment : data) {
+            segment.force();
+        }
+        for (MappedByteBuffer segment : slots) {
+            segment.force();
+        }
+        header.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        flush();
+        closed = true;
+        header = null;
+        slots = null;
+        data = null;
+        indexChannel.close();
+        dataChannel.close();
+    }
+
+    private int hash(byte[] keyBytes) {
+        return HashStrategies.xxHash32(keyBytes, 0, keyBytes.length, 0);
+    }
+
+    // Returns the slot holding the key, or -1
+    private long find(byte[] keyBytes, int hash) {
+        long slot = hash & 0xFFFFFFFFL & mask;
+        while (true) {
+            long position = slotPosition(slot);
+            long keyOffset = getLong(slots, position + KEY_AT);
+            if (keyOffset == 0) return -1;
+            if (getInt(slots, position + HASH_AT) == hash && recordEquals(keyOffset, keyBytes)) return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // Builds a twice as large index next to the old one, then renames it over the old file.
+    // Slots keep their hash, so no key has to be read back from the data file
+    private void resize() {
+        if (capacity >= MAX_CAPACITY) throw new RuntimeException("Hash table is full");
+        long newCapacity = capacity * 2;
+        long newMask = newCapacity - 1;
+        Path resizePath = Path.of(indexPath + ".resize");
+        try {
+            Files.deleteIfExists(resizePath);
+            FileChannel newChannel = FileChannel.open(resizePath, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer newHeader = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            MappedByteBuffer[] newSlots = mapSlots(newChannel, newCapacity);
+            for (long slot = 0; slot < capacity; slot++) {
+                long position = slotPosition(slot);
+                long keyOffset = getLong(slots, position + KEY_AT);
+                if (keyOffset == 0) continue;
+                int hash = getInt(slots, position + HASH_AT);
+                long target = hash & 0xFFFFFFFFL & newMask;
+                while (getLong(newSlots, slotPosition(target) + KEY_AT) != 0) {
+                    target = (target + 1) & newMask;
+                }
+                writeSlot(newSlots, slotPosition(target), hash, keyOffset, getLong(slots, position + VALUE_AT));
+            }
+            newHeader.putLong(MAGIC_AT, INDEX_MAGIC);
+            newHeader.putLong(CAPACITY_AT, newCapacity);
+            newHeader.putLong(SIZE_AT, size);
+            newHeader.putLong(DATA_END_AT, dataEnd);
+            for (MappedByteBuffer segment : data) {
+                segment.force();
+            }
+            for (MappedByteBuffer segment : newSlots) {
+                segment.force();
+            }
+            newHeader.force();
+            Files.move(resizePath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            indexChannel.close();
+            indexChannel = newChannel;
+            header = newHeader;
+            slots = newSlots;
+            capacity = newCapacity;
+            mask = newMask;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MappedByteBuffer[] mapSlots(FileChannel channel, long slotCount) throws IOException {
+        long slotsPerSegment = 1L << slotSegmentShift;
+        int count = (int) ((slotCount + slotsPerSegment - 1) >>> slotSegmentShift);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long first = (long) i << slotSegmentShift;
+            long slotsInSegment = Math.min(slotsPerSegment, slotCount - first);
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_BYTES + first * SLOT_BYTES, slotsInSegment * SLOT_BYTES);
+        }
+        return segments;
+    }
+
+    // A segment holds a whole number of slots, so this position never spans two mappings
+    private long slotPosition(long slot) {
+        return ((slot >>> slotSegmentShift) << 32) | (slot & ((1L << slotSegmentShift) - 1)) * SLOT_BYTES;
+    }
+
+    private static void writeSlot(MappedByteBuffer[] segments, long position, int hash, long keyOffset, long valueOffset) {
+        MappedByteBuffer segment = segments[(int) (position >>> 32)];
+        int index = (int) position;
+        segment.putInt(index + HASH_AT, hash);
+        segment.putLong(index + KEY_AT, keyOffset);
+        segment.putLong(index + VALUE_AT, valueOffset);
+    }
+
+    private static int getInt(MappedByteBuffer[] segments, long position) {
+        return segments[(int) (position >>> 32)].getInt((int) position);
+    }
+
+    private static long getLong(MappedByteBuffer[] segments, long position) {
+        return segments[(int) (position >>> 32)].getLong((int) position);
+    }
+
+    private static void putLong(MappedByteBuffer[] segments, long position, long value) {
+        segments[(int) (position >>> 32)].putLong((int) position, value);
+    }
+
+    // Grows the data file by remapping; segments whose size did not change are kept as they are
+    private void mapData(long newCapacity) throws IOException {
+        int count = (int) ((newCapacity + dataSegmentBytes - 1) / dataSegmentBytes);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = i * dataSegmentBytes;
+            long length = Math.min(dataSegmentBytes, newCapacity - start);
+            if (data != null && i < data.length && data[i].capacity() == length) {
+                segments[i] = data[i];
+            } else {
+                segments[i] = dataChannel.map(FileChannel.MapMode.READ_WRITE, start, length);
+            }
+        }
+        data = segments;
+        dataCapacity = newCapacity;
+    }
+
+    private long append(byte[] bytes) {
+        long offset = dataEnd;
+        long end = offset + Integer.BYTES + bytes.length;
+        if (end > dataCapacity) {
+            long newCapacity = dataCapacity;
+            while (newCapacity < end) {
+                newCapacity = newCapacity < dataSegmentBytes ? newCapacity * 2 : newCapacity + dataSegmentBytes;
+            }
+            try {
+                mapData(newCapacity);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        byte[] length = {(byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16), (byte) (bytes.length >>> 8), (byte) bytes.length};
+        writeData(offset, length);
+        writeData(offset + Integer.BYTES, bytes);
+        dataEnd = end;
+        return offset;
+    }
+
+    private byte[] readRecord(long offset) {
+        byte[] bytes = new byte[recordLength(offset)];
+        readData(offset + Integer.BYTES, bytes);
+        return bytes;
+    }
+
+    private boolean recordEquals(long offset, byte[] expected) {
+        if (recordLength(offset) != expected.length) return false;
+        byte[] bytes = new byte[expected.length];
+        readData(offset + Integer.BYTES, bytes);
+        return Arrays.equals(bytes, expected);
+    }
+
+    private int recordLength(long offset) {
+        byte[] length = new byte[Integer.BYTES];
+        readData(offset, length);
+        return (length[0] & 0xFF) << 24 | (length[1] & 0xFF) << 16 | (length[2] & 0xFF) << 8 | (length[3] & 0xFF);
+    }
+
+    private void writeData(long offset, byte[] bytes) {
+        int done = 0;
+        while (done < bytes.length) {
+            long at = offset + done;
+            MappedByteBuffer segment = data[(int) (at / dataSegmentBytes)];
+            int index = (int) (at % dataSegmentBytes);
+            int chunk = Math.min(bytes.length - done, segment.capacity() - index);
+            segment.put(index, bytes, done, chunk);
+            done += chunk;
+        }
+    }
+
+    private void readData(long offset, byte[] bytes) {
+        int done = 0;
+        while (done < bytes.length) {
+            long at = offset + done;
+            MappedByteBuffer segment = data[(int) (at / dataSegmentBytes)];
+            int index = (int) (at % dataSegmentBytes);
+            int chunk = Math.min(bytes.length - done, segment.capacity() - index);
+            segment.get(index, bytes, done, chunk);
+            done += chunk;
+        }
+    }
+
+    private void writeHeader() {
+        header.putLong(SIZE_AT, size);
+        header.putLong(DATA_END_AT, dataEnd);
+    }
+
+    private void checkOpen() {
+        if (closed) throw new RuntimeException("Hash table is closed");
+    }
+}
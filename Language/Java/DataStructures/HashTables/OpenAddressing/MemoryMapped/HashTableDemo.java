@@ -0,0 +1,93 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.MemoryMapped;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import Language.Java.DataStructures.HashTables.Codecs;
+
+public class HashTableDemo {
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("mmap-hash-table");
+        Path path = dir.resolve("table");
+        int n = 200000;
+
+        // 1. Basic operations
+        System.out.println("### Basic Operations ###");
+        try (HashTable<String, String> table = new HashTable<>(dir.resolve("basic"), Codecs.strings(), Codecs.strings())) {
+            table.add("One", "1");
+            table.add("Two", "2");
+            table.add("Three", "3");
+            table.add("Two", "22");
+            table.add(null, "x"); // Ignored
+            System.out.println("Size: " + table.size()); // Expected: 3
+            System.out.println("Get 'Two': " + table.get("Two")); // Expected: 22
+            table.remove("One");
+            System.out.println("Contains 'One' after removal: " + table.contains("One")); // Expected: false
+            table.printHashTable();
+        }
+
+        // 2. Small segments, so slots, records and growth cross many mappings
+        System.out.println("\n### Filling " + n + " Entries ###");
+        try (HashTable<Integer, String> table = new HashTable<>(path, 16, Codecs.integers(), Codecs.strings(), 12, 1 << 16)) {
+            for (int i = 0; i < n; i++) {
+                table.add(i, "value-" + i);
+            }
+            System.out.println("Size: " + table.size()); // Expected: 200000
+            System.out.println("Capacity after growing from 16: " + table.capacity());
+            System.out.println("Wrong values: " + countWrong(table, n, -1)); // Expected: 0
+        }
+
+        // 3. Reopening only maps the files, nothing is rebuilt
+        System.out.println("\n### Reopening ###");
+        long start = System.nanoTime();
+        try (HashTable<Integer, String> table = new HashTable<>(path, Codecs.integers(), Codecs.strings())) {
+            System.out.printf("Reopened %d entries in %.2f ms%n", table.size(), (System.nanoTime() - start) / 1e6);
+            System.out.println("Wrong values: " + countWrong(table, n, -1)); // Expected: 0
+            for (int i = 0; i < n; i += 2) {
+                table.remove(i);
+            }
+            for (int i = 1; i < n; i += 4) {
+                table.add(i, "updated-" + i);
+            }
+            table.flush();
+            System.out.println("Size after removing even keys: " + table.size()); // Expected: 100000
+        }
+
+        // 4. Removes and updates survive a second reopen
+        System.out.println("\n### Reopening After Removes And Updates ###");
+        try (HashTable<Integer, String> table = new HashTable<>(path, 16, Codecs.integers(), Codecs.strings(), 12, 1 << 16)) {
+            System.out.println("Size: " + table.size()); // Expected: 100000
+            System.out.println("Wrong values: " + countWrong(table, n, 2)); // Expected: 0
+            System.out.println("Data file bytes in use: " + table.dataSize());
+        }
+
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    // removedStep > 0 means every key divisible by it was removed and keys 1, 5, 9, ... were updated
+    static int countWrong(HashTable<Integer, String> table, int n, int removedStep) {
+        int wrong = 0;
+        for (int i = 0; i < n; i++) {
+            String expected;
+            if (removedStep > 0 && i % removedStep == 0) {
+                expected = null;
+            } else if (removedStep > 0 && i % 4 == 1) {
+                expected = "updated-" + i;
+            } else {
+                expected = "value-" + i;
+            }
+            String actual = table.get(i);
+            if (expected == null ? actual != null : !expected.equals(actual)) {
+                wrong++;
+            }
+        }
+        return wrong;
+    }
+}
@@ -0,0 +1,427 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.NonBlocking;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+
+/*
+ * Lock-free linear probing table in the style of Cliff Click's NonBlockingHashMap.
+ * Keys and values share one flat Object[] (key at 2i, value at 2i + 1) and every change is a CAS.
+ * A key slot never changes once claimed, so a lookup only has to agree on the value slot.
+ * During a resize, values in the old table are boxed in a Prime before being copied, which freezes
+ * them, and every thread that touches the old table helps copy a chunk of it.
+ */
+public class HashTable<K, V> {
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle TOP;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TOP = lookup.findVarHandle(HashTable.class, "top", Table.class);
+            NEXT = lookup.findVarHandle(Table.class, "next", Table.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // As a value: the key was removed. As a key: an empty slot closed off by a resize
+    private static final Object TOMBSTONE = new Object();
+    private static final Prime TOMBPRIME = new Prime(TOMBSTONE);
+
+    // Expected-value markers for putIfMatch
+    private static final Object NO_MATCH_OLD = new Object(); // put unconditionally
+    private static final Object MATCH_ANY = new Object(); // put only if a value is present
+
+    private static final int MIN_SIZE = 16;
+    private static final int REPROBE_LIMIT = 10;
+
+    private static final class Prime {
+        final Object value;
+
+        Prime(Object value) {
+            this.value = value;
+        }
+    }
+
+    private static final class Table {
+        final Object[] kvs;
+        final int len;
+        final AtomicInteger slots = new AtomicInteger(); // key slots ever claimed
+        final AtomicInteger copyIdx = new AtomicInteger();
+        final AtomicInteger copyDone = new AtomicInteger();
+        volatile Table next;
+
+        Table(int len) {
+            this.len = len;
+            this.kvs = new Object[len << 1];
+        }
+    }
+
+    private volatile Table top;
+    private final LongAdder size = new LongAdder();
+    private final HashStrategy<? super K> strategy;
+
+    public HashTable() {
+        this(MIN_SIZE, HashStrategies.defaultStrategy());
+    }
+
+    public HashTable(HashStrategy<? super K> strategy) {
+        this(MIN_SIZE, strategy);
+    }
+
+    public HashTable(int initialCapacity, HashStrategy<? super K> strategy) {
+        int len = MIN_SIZE;
+        while (len < initialCapacity * 2 && len < (1 << 29)) {
+            len <<= 1;
+        }
+        this.top = new Table(len);
+        this.strategy = strategy;
+    }
+
+    // Returns the previous value, or null if the key was not present
+    public V add(K key, V val) {
+        checkArguments(key, val);
+        return unwrap(putIfMatch(top, key, strategy.hash(key), val, NO_MATCH_OLD));
+    }
+
+    // Returns the current value if one exists, otherwise adds val and returns null
+    public V addIfAbsent(K key, V val) {
+        checkArguments(key, val);
+        return unwrap(putIfMatch(top, key, strategy.hash(key), val, TOMBSTONE));
+    }
+
+    // Replaces the value only if it currently equals expected
+    public boolean replace(K key, V expected, V val) {
+        checkArguments(key, val);
+        if (expected == null) {
+            throw new IllegalArgumentException("Expected value cannot be null");
+        }
+        Object old = putIfMatch(top, key, strategy.hash(key), val, expected);
+        return old != null && old != TOMBSTONE && (old == expected || expected.equals(old));
+    }
+
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        return unwrap(putIfMatch(top, key, strategy.hash(key), TOMBSTONE, NO_MATCH_OLD));
+    }
+
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        int hashCode = strategy.hash(key);
+        Table t = top;
+        outer:
+        while (true) {
+            Object[] kvs = t.kvs;
+            int mask = t.len - 1;
+            int idx = hashCode & mask;
+            int reprobe = 0;
+            while (true) {
+                Object k = key(kvs, idx);
+                Object v = val(kvs, idx);
+                if (k == null) {
+                    return null;
+                }
+                Table next = t.next;
+                if (keyMatches(k, key)) {
+                    if (!(v instanceof Prime)) {
+                        return v == TOMBSTONE ? null : cast(v);
+                    }
+                    // Mid-copy: finish this slot and read the newer table
+                    t = copySlotAndCheck(t, idx, key);
+                    continue outer;
+                }
+                if (++reprobe >= reprobeLimit(t.len) || k == TOMBSTONE) {
+                    if (next == null) {
+                        return null;
+                    }
+                    t = helpCopy(next);
+                    continue outer;
+                }
+                idx = (idx + 1) & mask;
+            }
+        }
+    }
+
+    public boolean contains(K key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        return (int) size.sum();
+    }
+
+    public boolean isEmpty() {
+        return size.sum() == 0;
+    }
+
+    // expVal is NO_MATCH_OLD, MATCH_ANY, TOMBSTONE (only if absent), null (resize copy: only
+    // if the slot was never written) or a real value. Returns the raw value seen before the change
+    private Object putIfMatch(Table t, Object key, int hashCode, Object putVal, Object expVal) {
+        while (true) {
+            Object[] kvs = t.kvs;
+            int len = t.len;
+            int idx = hashCode & (len - 1);
+            int reprobe = 0;
+            Object k;
+            Object v;
+            Table next = null;
+            boolean found = false;
+            while (true) {
+                v = val(kvs, idx);
+                k = key(kvs, idx);
+                if (k == null) {
+                    if (putVal == TOMBSTONE) {
+                        return TOMBSTONE; // removing a key that was never here
+                    }
+                    if (SLOT.compareAndSet(kvs, idx << 1, (Object) null, key)) {
+                        t.slots.incrementAndGet();
+                        found = true;
+                        break;
+                    }
+                    k = key(kvs, idx);
+                }
+                if (keyMatches(k, key)) {
+                    found = true;
+                    break;
+                }
+                if (++reprobe >= reprobeLimit(len) || k == TOMBSTONE) {
+                    next = resize(t);
+                    if (expVal != null) {
+                        helpCopy(next);
+                    }
+                    break;
+                }
+                idx = (idx + 1) & (len - 1);
+            }
+            if (!found) {
+                t = next;
+                continue;
+            }
+
+            if (putVal == v) {
+                return v;
+            }
+            next = t.next;
+            if (next == null && ((v == null && tableFull(t, reprobe)) || v instanceof Prime)) {
+                next = resize(t);
+            }
+            if (next != null) {
+                t = copySlotAndCheck(t, idx, expVal);
+                continue;
+            }
+
+            boolean retry = false;
+            while (true) {
+                if (!valueMatches(v, expVal)) {
+                    return v;
+                }
+                if (SLOT.compareAndSet(kvs, (idx << 1) + 1, v, putVal)) {
+                    if (expVal != null) {
+                        boolean wasAbsent = v == null || v == TOMBSTONE;
+                        if (wasAbsent && putVal != TOMBSTONE) {
+                            size.increment();
+                        } else if (!wasAbsent && putVal == TOMBSTONE) {
+                            size.decrement();
+                        }
+                    }
+                    return (v == null && expVal != null) ? TOMBSTONE : v;
+                }
+                v = val(kvs, idx);
+                if (v instanceof Prime) {
+                    t = copySlotAndCheck(t, idx, expVal);
+                    retry = true;
+                    break;
+                }
+            }
+            if (!retry) {
+                return v;
+            }
+        }
+    }
+
+    private static boolean valueMatches(Object v, Object expVal) {
+        if (expVal == NO_MATCH_OLD || v == expVal) {
+            return true;
+        }
+        boolean absent = v == null || v == TOMBSTONE;
+        if (expVal == MATCH_ANY) {
+            return !absent;
+        }
+        if (expVal == TOMBSTONE) {
+            return absent;
+        }
+        if (expVal == null) {
+            return v == null;
+        }
+        return !absent && expVal.equals(v);
+    }
+
+    private Table resize(Table t) {
+        Table next = t.next;
+        if (next != null) {
+            return next;
+        }
+        int oldLen = t.len;
+        long sz = size.sum();
+        int newLen = oldLen;
+        // Grow when live keys fill a quarter of the table, otherwise just copy to drop tombstones
+        if (sz >= oldLen >> 2) {
+            newLen = oldLen << 1;
+            if (sz >= oldLen >> 1) {
+                newLen = oldLen << 2;
+            }
+        }
+        newLen = Math.min(newLen, 1 << 29);
+        Table candidate = new Table(newLen);
+        if (NEXT.compareAndSet(t, (Table) null, candidate)) {
+            return candidate;
+        }
+        return t.next;
+    }
+
+    // Copies one slot of t into t.next, optionally helps with the bulk copy, returns t.next
+    private Table copySlotAndCheck(Table t, int idx, Object shouldHelp) {
+        Table next = t.next;
+        if (copySlot(t, idx, next)) {
+            copyCheckAndPromote(t, 1);
+        }
+        return shouldHelp == null ? next : helpCopy(next);
+    }
+
+    // Copies a chunk of the top-level table if it is being resized, then returns helper unchanged
+    private Table helpCopy(Table helper) {
+        Table t = top;
+        if (t.next != null) {
+            helpCopyImpl(t, false);
+        }
+        return helper;
+    }
+
+    private void helpCopyImpl(Table t, boolean copyAll) {
+        Table next = t.next;
+        int len = t.len;
+        int work = Math.min(len, 1024);
+        int panicStart = -1;
+        int copyIdx = 0;
+        while (t.copyDone.get() < len) {
+            if (panicStart == -1) {
+                copyIdx = t.copyIdx.get();
+                while (copyIdx < (len << 1) && !t.copyIdx.compareAndSet(copyIdx, copyIdx + work)) {
+                    copyIdx = t.copyIdx.get();
+                }
+                // Every chunk has been handed out already, so copy everything left ourselves
+                if (copyIdx >= (len << 1)) {
+                    panicStart = copyIdx;
+                }
+            }
+            int workDone = 0;
+            for (int i = 0; i < work; i++) {
+                if (copySlot(t, (copyIdx + i) & (len - 1), next)) {
+                    workDone++;
+                }
+            }
+            if (workDone > 0) {
+                copyCheckAndPromote(t, workDone);
+            }
+            copyIdx += work;
+            if (!copyAll && panicStart == -1) {
+                return;
+            }
+        }
+        copyCheckAndPromote(t, 0);
+    }
+
+    private void copyCheckAndPromote(Table t, int workDone) {
+        int done = workDone > 0 ? t.copyDone.addAndGet(workDone) : t.copyDone.get();
+        if (done == t.len && top == t) {
+            TOP.compareAndSet(this, t, t.next);
+        }
+    }
+
+    // Returns true if this call is the one that finished copying the slot
+    private boolean copySlot(Table t, int idx, Table next) {
+        Object[] kvs = t.kvs;
+        Object key;
+        // Close empty slots so no new key can land in the old table
+        while ((key = key(kvs, idx)) == null) {
+            SLOT.compareAndSet(kvs, idx << 1, (Object) null, TOMBSTONE);
+        }
+
+        Object old = val(kvs, idx);
+        while (!(old instanceof Prime)) {
+            Prime box = (old == null || old == TOMBSTONE) ? TOMBPRIME : new Prime(old);
+            if (SLOT.compareAndSet(kvs, (idx << 1) + 1, old, box)) {
+                if (box == TOMBPRIME) {
+                    return true; // nothing to copy
+                }
+                old = box;
+                break;
+            }
+            old = val(kvs, idx);
+        }
+        if (old == TOMBPRIME) {
+            return false;
+        }
+
+        // Only fills a never-written slot, any newer write in the next table wins
+        Object unboxed = ((Prime) old).value;
+        boolean copiedIntoNew = putIfMatch(next, key, hashOf(key), unboxed, null) == null;
+
+        while (old != TOMBPRIME && !SLOT.compareAndSet(kvs, (idx << 1) + 1, old, TOMBPRIME)) {
+            old = val(kvs, idx);
+        }
+        return copiedIntoNew;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int hashOf(Object key) {
+        return strategy.hash((K) key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean keyMatches(Object k, Object key) {
+        return k == key || (k != TOMBSTONE && strategy.keyEquals((K) k, (K) key));
+    }
+
+    private static boolean tableFull(Table t, int reprobe) {
+        return reprobe >= REPROBE_LIMIT && t.slots.get() >= reprobeLimit(t.len);
+    }
+
+    private static int reprobeLimit(int len) {
+        return REPROBE_LIMIT + (len >> 2);
+    }
+
+    private static Object key(Object[] kvs, int idx) {
+        return SLOT.getVolatile(kvs, idx << 1);
+    }
+
+    private static Object val(Object[] kvs, int idx) {
+        return SLOT.getVolatile(kvs, (idx << 1) + 1);
+    }
+
+    private V unwrap(Object v) {
+        return (v == null || v == TOMBSTONE) ? null : cast(v);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V cast(Object v) {
+        return (V) v;
+    }
+
+    private static void checkArguments(Object key, Object val) {
+        if (key == null || val == null) {
+            throw new IllegalArgumentException("Null keys and values are not accepted");
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.NonBlocking;
+
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class HashTableStressTest {
+
+    static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== Non-Blocking Hash Table Stress Tests (" + THREADS + " threads) ===\n");
+        boolean ok = true;
+        ok &= singleThreaded();
+        ok &= disjointKeysMatchModel();
+        ok &= addIfAbsentHasOneWinner();
+        ok &= replaceCountersAddUp();
+        System.out.println(ok ? "=== All Tests Passed ===" : "=== Some Tests FAILED ===");
+    }
+
+    // Test 1: Basic operations
+    static boolean singleThreaded() {
+        System.out.println("Test 1: Single threaded add/get/remove");
+        HashTable<String, Integer> table = new HashTable<>();
+        boolean ok = table.add("One", 1) == null
+                && table.add("One", 11) == 1
+                && table.get("One") == 11
+                && table.addIfAbsent("One", 111) == 11
+                && table.replace("One", 11, 12)
+                && !table.replace("One", 11, 13)
+                && table.remove("One") == 12
+                && table.get("One") == null
+                && table.remove("One") == null
+                && table.isEmpty();
+        System.out.println(ok ? "✓ Test 1 passed\n" : "✗ Test 1 FAILED\n");
+        return ok;
+    }
+
+    // Test 2: Each thread owns its keys, so every return value must match a private HashMap,
+    // while all threads together keep forcing resizes of the shared table
+    static boolean disjointKeysMatchModel() throws InterruptedException {
+        System.out.println("Test 2: Per-thread key ranges checked against a HashMap model");
+        HashTable<Integer, Integer> table = new HashTable<>();
+        AtomicInteger failures = new AtomicInteger();
+        int opsPerThread = 500000;
+        int keysPerThread = 20000;
+        Thread[] workers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(id);
+                HashMap<Integer, Integer> model = new HashMap<>();
+                for (int i = 0; i < opsPerThread; i++) {
+                    Integer key = id * keysPerThread + random.nextInt(keysPerThread);
+                    int op = random.nextInt(10);
+                    Object expected;
+                    Object actual;
+                    if (op < 4) {
+                        expected = model.put(key, i);
+                        actual = table.add(key, i);
+                    } else if (op < 6) {
+                        expected = model.remove(key);
+                        actual = table.remove(key);
+                    } else {
+                        expected = model.get(key);
+                        actual = table.get(key);
+                    }
+                    if (!Objects.equals(expected, actual)) {
+                        failures.incrementAndGet();
+                    }
+                }
+                for (Integer key : model.keySet()) {
+                    if (!model.get(key).equals(table.get(key))) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        joinAll(workers);
+        System.out.println("Mismatched results: " + failures.get() + " (expected: 0)");
+        boolean ok = failures.get() == 0;
+        System.out.println(ok ? "✓ Test 2 passed\n" : "✗ Test 2 FAILED\n");
+        return ok;
+    }
+
+    // Test 3: All threads race to add the same keys, exactly one must win each key
+    static boolean addIfAbsentHasOneWinner() throws InterruptedException {
+        System.out.println("Test 3: addIfAbsent races");
+        HashTable<Integer, Integer> table = new HashTable<>();
+        int keys = 200000;
+        AtomicInteger[] winners = new AtomicInteger[keys];
+        for (int i = 0; i < keys; i++) {
+            winners[i] = new AtomicInteger(-1);
+        }
+        AtomicInteger doubleWins = new AtomicInteger();
+        Thread[] workers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < keys; i++) {
+                    if (table.addIfAbsent(i, id) == null && !winners[i].compareAndSet(-1, id)) {
+                        doubleWins.incrementAndGet();
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        joinAll(workers);
+        int wrongValues = 0;
+        for (int i = 0; i < keys; i++) {
+            if (winners[i].get() == -1 || table.get(i) != winners[i].get()) {
+                wrongValues++;
+            }
+        }
+        System.out.println("Keys with two winners: " + doubleWins.get() + " (expected: 0)");
+        System.out.println("Keys whose value is not the winner's: " + wrongValues + " (expected: 0)");
+        System.out.println("Size: " + table.size() + " (expected: " + keys + ")");
+        boolean ok = doubleWins.get() == 0 && wrongValues == 0 && table.size() == keys;
+        System.out.println(ok ? "✓ Test 3 passed\n" : "✗ Test 3 FAILED\n");
+        return ok;
+    }
+
+    // Test 4: Lost updates would make the counters sum to less than the number of increments
+    static boolean replaceCountersAddUp() throws InterruptedException {
+        System.out.println("Test 4: Shared counters updated with replace() during resizes");
+        HashTable<Integer, Long> table = new HashTable<>();
+        int counters = 64;
+        for (int i = 0; i < counters; i++) {
+            table.add(i, 0L);
+        }
+        int incrementsPerThread = 100000;
+        AtomicLong churned = new AtomicLong();
+        Thread[] workers = new Thread[THREADS + 1];
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(id);
+                for (int i = 0; i < incrementsPerThread; i++) {
+                    Integer key = random.nextInt(counters);
+                    while (true) {
+                        Long current = table.get(key);
+                        if (table.replace(key, current, current + 1)) {
+                            break;
+                        }
+                    }
+                }
+            });
+        }
+        // Grows and shrinks the table underneath the counters
+        workers[THREADS] = new Thread(() -> {
+            for (int round = 0; round < 5; round++) {
+                for (int i = counters; i < 300000; i++) {
+                    table.add(i, (long) i);
+                }
+                for (int i = counters; i < 300000; i++) {
+                    table.remove(i);
+                }
+                churned.incrementAndGet();
+            }
+        });
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        joinAll(workers);
+        long total = 0;
+        for (int i = 0; i < counters; i++) {
+            total += table.get(i);
+        }
+        long expected = (long) THREADS * incrementsPerThread;
+        System.out.println("Sum of counters: " + total + " (expected: " + expected + ")");
+        System.out.println("Size after churn: " + table.size() + " (expected: " + counters + ")");
+        boolean ok = total == expected && table.size() == counters;
+        System.out.println(ok ? "✓ Test 4 passed\n" : "✗ Test 4 FAILED\n");
+        return ok;
+    }
+
+    static void joinAll(Thread[] workers) throws InterruptedException {
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+}
@@ -1,10 +1,26 @@
 package Language.Java.DataStructures.HashTables.OpenAddressing.QuadraticProbing;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
 
-public class HashTable<K, V> {
+import Language.Java.DataStructures.HashTables.Codec;
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+import Language.Java.DataStructures.HashTables.HashTableMetrics;
+import Language.Java.DataStructures.HashTables.SlotIterator;
+import Language.Java.DataStructures.HashTables.SlotSpliterator;
+import Language.Java.DataStructures.HashTables.Snapshot;
 
-    private class Entry {
+public class HashTable<K, V> implements Iterable<Map.Entry<K, V>> {
+
+    private class Entry implements Map.Entry<K, V> {
 
         K key;
         V val;
@@ -14,15 +30,64 @@ public class HashTable<K, V> {
             this.val = val;
         }
 
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return val;
+        }
+
+        // Writes through to the table. Null values are not stored, same as in add(...)
+        @Override
+        public V setValue(V value) {
+            if (value == null) {
+                throw new NullPointerException("Null values are not stored");
+            }
+            V old = val;
+            val = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && Objects.equals(key, e.getKey()) && Objects.equals(val, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(val);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + val;
+        }
     }
 
+    private static final int BATCH_WIDTH = 8;
+    private static final double MAX_TOMBSTONE_RATIO = 0.25; // remove(...) compacts once this share of slots are tombstones
+    private static final String SNAPSHOT_LAYOUT = HashTable.class.getName();
+
     ArrayList<Entry> bucket = new ArrayList<>();
     int numBucket = 10;
+    int mask; // numBucket - 1, only used with triangular probing
+    boolean triangular = false;
     int size = 0;
+    int tombstones = 0; // Slots holding dummy
     Entry dummy = new Entry(null, null);
     double loadFactor = 0.5;
+    HashStrategy<? super K> strategy;
+    HashTableMetrics metrics; // null until enableMetrics()
 
     public HashTable() {
+        this(HashStrategies.defaultStrategy());
+    }
+
+    public HashTable(HashStrategy<? super K> strategy) {
+        this.strategy = strategy;
         for (int i = 0; i < numBucket; i++) {
             bucket.add(null);
         }
@@ -32,28 +97,95 @@ public class HashTable<K, V> {
         this.loadFactor = loadFactor;
     }
 
+    // Starts counting probe lengths, hits, collisions and resizes. Until then the table only checks for null
+    public HashTableMetrics enableMetrics() {
+        if (metrics == null) {
+            metrics = new HashTableMetrics(strategy, this::tombstoneCount);
+        }
+        return metrics;
+    }
+
+    public void disableMetrics() {
+        metrics = null;
+    }
+
+    // Triangular probing steps 1, 2, 3, ... slots from the last probe, so the n-th probe is at
+    // (hashCode + n * (n + 1) / 2) & mask. Over a power-of-two capacity that visits every slot exactly once
+    // in numBucket probes and needs no division. Switching it on rebuilds the table at a power-of-two capacity
+    public void setTriangularProbing(boolean triangular) {
+        if (this.triangular == triangular) {
+            return;
+        }
+        this.triangular = triangular;
+        resize(numBucket);
+    }
+
+    // Slot of the n-th probe (n >= 1) of a key, given the slot of probe n - 1
+    private int probe(int hashCode, int previous, int n) {
+        if (triangular) {
+            return (previous + n) & mask;
+        }
+        return (int) ((hashCode + (long) n * n) % numBucket);
+    }
+
+    private int home(int hashCode) {
+        return triangular ? hashCode & mask : hashCode % numBucket;
+    }
+
+    // Triangular probing needs a power of two
+    private int capacityFor(int capacity) {
+        if (!triangular) {
+            return capacity;
+        }
+        int powerOfTwo = 1;
+        while (powerOfTwo < capacity) {
+            powerOfTwo <<= 1;
+        }
+        return powerOfTwo;
+    }
+
     public void add(K key, V val) {
         if (key == null || val == null) {
             return;
         }
 
-        if ((double) size / numBucket >= loadFactor) {
-            resize();
+        // Tombstones take up slots too, without them in the check a probe might never meet a null
+        if ((double) (size + tombstones) / numBucket >= loadFactor) {
+            makeRoom();
         }
 
-        int bucketIndex = getBucketIndex(key);
         int hashCode = hash(key) & 0x7FFFFFFF;
+        int bucketIndex = home(hashCode);
         Entry occupied = bucket.get(bucketIndex);
+        int firstTombstone = -1;
         int n = 1;
-        while (occupied != null) {
-            if (occupied.key != null && occupied.key.equals(key)) {
+        while (occupied != null && n <= numBucket) {
+            if (occupied == dummy) {
+                if (firstTombstone < 0) {
+                    firstTombstone = bucketIndex;
+                }
+            } else if (strategy.keyEquals(occupied.key, key)) {
                 occupied.val = val;
                 return;
             }
-            bucketIndex = (hashCode + n * n) % numBucket;
+            bucketIndex = probe(hashCode, bucketIndex, n);
             occupied = bucket.get(bucketIndex);
             n++;
         }
+        // The key is not in the table, so the first tombstone on its path can be reused
+        if (firstTombstone >= 0) {
+            bucketIndex = firstTombstone;
+            tombstones--;
+        } else if (occupied != null) {
+            // Every slot this key can reach is full, n * n only visits some of the slots. Triangular probing
+            // visits all of them, so it only gets here when the table is completely full
+            resize(numBucket * 2);
+            add(key, val);
+            return;
+        }
+        if (metrics != null) {
+            metrics.recordInsert(n > 1);
+        }
         Entry newEntry = new Entry(key, val);
         bucket.set(bucketIndex, newEntry);
         size++;
@@ -67,18 +199,22 @@ public class HashTable<K, V> {
             return;
         }
 
-        int bucketIndex = getBucketIndex(key);
         int hashCode = hash(key) & 0x7FFFFFFF; //Positive hashCode
+        int bucketIndex = home(hashCode);
         Entry occupied = bucket.get(bucketIndex);
         int n = 1;
 
-        while (occupied != null) {
-            if (occupied.key != null && occupied.key.equals(key)) {
+        while (occupied != null && n <= numBucket) {
+            if (occupied.key != null && strategy.keyEquals(occupied.key, key)) {
                 bucket.set(bucketIndex, dummy);
+                tombstones++;
                 size--;
+                if (tombstones > numBucket * MAX_TOMBSTONE_RATIO) {
+                    compact();
+                }
                 return;
             }
-            bucketIndex = (hashCode + n * n) % numBucket;
+            bucketIndex = probe(hashCode, bucketIndex, n);
             occupied = bucket.get(bucketIndex);
             n++;
         }
@@ -89,34 +225,46 @@ public class HashTable<K, V> {
             return null;
         }
 
-        int bucketIndex = getBucketIndex(key);
         int hashCode = hash(key) & 0x7FFFFFFF;
+        int bucketIndex = home(hashCode);
         Entry occupied = bucket.get(bucketIndex);
         int n = 1;
-        while (occupied != null) {
-            if (occupied.key != null && occupied.key.equals(key)) {
+        while (occupied != null && n <= numBucket) {
+            if (occupied.key != null && strategy.keyEquals(occupied.key, key)) {
+                if (metrics != null) {
+                    metrics.recordLookup(n, true);
+                }
                 return occupied.val;
             }
-            bucketIndex = (hashCode + n * n) % numBucket;
+            bucketIndex = probe(hashCode, bucketIndex, n);
             occupied = bucket.get(bucketIndex);
             n++;
         }
+        if (metrics != null) {
+            metrics.recordLookup(n, false);
+        }
         return null;
     }
 
     public boolean contains(K key) {
-        int bucketIndex = getBucketIndex(key);
         int hashCode = hash(key) & 0x7FFFFFFF;
+        int bucketIndex = home(hashCode);
         Entry occupied = bucket.get(bucketIndex);
         int n = 1;
-        while (occupied != null) {
-            if (occupied.key != null && occupied.key.equals(key)) {
+        while (occupied != null && n <= numBucket) {
+            if (occupied.key != null && strategy.keyEquals(occupied.key, key)) {
+                if (metrics != null) {
+                    metrics.recordLookup(n, true);
+                }
                 return true;
             }
-            bucketIndex = (hashCode + n * n) % numBucket;
+            bucketIndex = probe(hashCode, bucketIndex, n);
             occupied = bucket.get(bucketIndex);
             n++;
         }
+        if (metrics != null) {
+            metrics.recordLookup(n, false);
+        }
         return false;
     }
 
@@ -132,10 +280,188 @@ public class HashTable<K, V> {
         }
     }
 
-    private void resize() {
+    // Looks every key up at once: out[i] gets the value of keys[i], or null. Returns how many keys were found.
+    // Keys go through in groups of eight, and the probes of a group take turns, so the cache misses of
+    // different keys are waited for at the same time instead of one after another
+    public int getAll(K[] keys, V[] out) {
+        if (out.length < keys.length) {
+            throw new IllegalArgumentException("Output array is shorter than the key array");
+        }
+        int[] hashCodes = new int[BATCH_WIDTH];
+        int[] indexes = new int[BATCH_WIDTH];
+        int[] steps = new int[BATCH_WIDTH];
+        int found = 0;
+        for (int start = 0; start < keys.length; start += BATCH_WIDTH) {
+            int width = Math.min(BATCH_WIDTH, keys.length - start);
+            int pending = startProbes(keys, start, width, hashCodes, indexes, steps);
+            for (int lane = 0; lane < width; lane++) {
+                out[start + lane] = null;
+            }
+            while (pending != 0) {
+                for (int lanes = pending; lanes != 0; lanes &= lanes - 1) {
+                    int lane = Integer.numberOfTrailingZeros(lanes);
+                    Entry occupied = bucket.get(indexes[lane]);
+                    if (occupied == null) {
+                        pending &= ~(1 << lane);
+                        if (metrics != null) {
+                            metrics.recordLookup(steps[lane], false);
+                        }
+                    } else if (occupied.key != null && strategy.keyEquals(occupied.key, keys[start + lane])) {
+                        out[start + lane] = occupied.val;
+                        found++;
+                        pending &= ~(1 << lane);
+                        if (metrics != null) {
+                            metrics.recordLookup(steps[lane], true);
+                        }
+                    } else if (steps[lane] > numBucket) {
+                        pending &= ~(1 << lane); // Every reachable slot was checked
+                        if (metrics != null) {
+                            metrics.recordLookup(steps[lane], false);
+                        }
+                    } else {
+                        int n = steps[lane]++;
+                        indexes[lane] = probe(hashCodes[lane], indexes[lane], n);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    // Adds keys[i] -> vals[i] for every pair. The table grows once up front, then each group of eight keys is
+    // searched with interleaved probes like getAll(...) and written one key at a time
+    public void putAll(K[] keys, V[] vals) {
+        if (vals.length < keys.length) {
+            throw new IllegalArgumentException("Value array is shorter than the key array");
+        }
+        int needed = (int) ((size + keys.length) / loadFactor) + 1;
+        if (needed > numBucket) {
+            resize(needed);
+        } else if ((double) (size + tombstones + keys.length) / numBucket >= loadFactor) {
+            compact();
+        }
+        int[] hashCodes = new int[BATCH_WIDTH];
+        int[] indexes = new int[BATCH_WIDTH];
+        int[] steps = new int[BATCH_WIDTH];
+        for (int start = 0; start < keys.length; start += BATCH_WIDTH) {
+            int width = Math.min(BATCH_WIDTH, keys.length - start);
+            int pending = startProbes(keys, start, width, hashCodes, indexes, steps);
+            int active = pending;
+            int matched = 0;
+            while (pending != 0) {
+                for (int lanes = pending; lanes != 0; lanes &= lanes - 1) {
+                    int lane = Integer.numberOfTrailingZeros(lanes);
+                    Entry occupied = bucket.get(indexes[lane]);
+                    if (occupied == null) {
+                        pending &= ~(1 << lane);
+                    } else if (occupied.key != null && strategy.keyEquals(occupied.key, keys[start + lane])) {
+                        matched |= 1 << lane;
+                        pending &= ~(1 << lane);
+                    } else if (steps[lane] > numBucket) {
+                        pending &= ~(1 << lane); // Every reachable slot was checked
+                    } else {
+                        int n = steps[lane]++;
+                        indexes[lane] = probe(hashCodes[lane], indexes[lane], n);
+                    }
+                }
+            }
+            ArrayList<Entry> searched = bucket;
+            for (int lane = 0; lane < width; lane++) {
+                K key = keys[start + lane];
+                V val = vals[start + lane];
+                if ((active & (1 << lane)) == 0 || val == null) {
+                    continue;
+                }
+                if (bucket != searched) {
+                    add(key, val); // An earlier add(...) of this group resized or compacted the table
+                    continue;
+                }
+                Entry occupied = bucket.get(indexes[lane]);
+                if ((matched & (1 << lane)) != 0) {
+                    occupied.val = val;
+                } else if (occupied == null && (double) (size + tombstones) / numBucket < loadFactor) {
+                    bucket.set(indexes[lane], new Entry(key, val));
+                    size++;
+                    if (metrics != null) {
+                        metrics.recordInsert(steps[lane] > 1);
+                    }
+                } else {
+                    add(key, val); // An earlier key of this group took the empty slot, maybe the same key
+                }
+            }
+        }
+    }
+
+    // Hashes a group of keys and returns a bit mask of the lanes that hold a key
+    private int startProbes(K[] keys, int start, int width, int[] hashCodes, int[] indexes, int[] steps) {
+        int lanes = 0;
+        for (int lane = 0; lane < width; lane++) {
+            K key = keys[start + lane];
+            if (key != null) {
+                hashCodes[lane] = hash(key) & 0x7FFFFFFF;
+                indexes[lane] = home(hashCodes[lane]);
+                steps[lane] = 1;
+                lanes |= 1 << lane;
+            }
+        }
+        return lanes;
+    }
+
+    // Rebuilds the table at the same size without its tombstones. Quadratic probe paths of different keys
+    // cross each other, so unlike linear probing the entries cannot be moved in place; the Entry objects are reused
+    public void compact() {
+        if (tombstones == 0) {
+            return;
+        }
+        long start = metrics == null ? 0 : System.nanoTime();
+        ArrayList<Entry> temp = bucket;
+        bucket = new ArrayList<>(Collections.nCopies(numBucket, null));
+        for (Entry entry : temp) {
+            if (entry != null && entry != dummy) {
+                int hashCode = hash(entry.key) & 0x7FFFFFFF;
+                int bucketIndex = home(hashCode);
+                int n = 1;
+                while (bucket.get(bucketIndex) != null && n <= numBucket) {
+                    bucketIndex = probe(hashCode, bucketIndex, n);
+                    n++;
+                }
+                if (bucket.get(bucketIndex) != null) {
+                    // No free slot on this key's probe path at this size
+                    bucket = temp;
+                    resize(numBucket * 2);
+                    return;
+                }
+                bucket.set(bucketIndex, entry);
+            }
+        }
+        tombstones = 0;
+        if (metrics != null) {
+            metrics.recordResize(System.nanoTime() - start);
+        }
+    }
+
+    public int tombstoneCount() {
+        return tombstones;
+    }
+
+    // A table that is mostly tombstones only needs cleaning, otherwise it doubles
+    private void makeRoom() {
+        if (size * 2 < numBucket * loadFactor) {
+            compact();
+        } else {
+            resize(numBucket * 2);
+        }
+    }
+
+    private void resize(int capacity) {
+        HashTableMetrics recording = metrics;
+        metrics = null; // The entries are added again below, they are not new inserts
+        long start = recording == null ? 0 : System.nanoTime();
         ArrayList<Entry> temp = bucket;
         size = 0;
-        numBucket *= 2;
+        tombstones = 0;
+        numBucket = capacityFor(capacity);
+        mask = numBucket - 1;
         bucket = new ArrayList<>(numBucket);
         for (int i = 0; i < numBucket; i++) {
             bucket.add(null);
@@ -145,6 +471,58 @@ public class HashTable<K, V> {
                 add(entry.key, entry.val);
             }
         }
+        metrics = recording;
+        if (recording != null) {
+            recording.recordResize(System.nanoTime() - start);
+        }
+    }
+
+    // Writes every entry together with its slot. Tombstones are cleared first, so a table of the same capacity
+    // can load the slots exactly as they are
+    public void writeSnapshot(WritableByteChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        compact();
+        Snapshot.Writer<K, V> writer = new Snapshot.Writer<>(channel, snapshotLayout(), numBucket, size, keyCodec, valueCodec);
+        for (int i = 0; i < numBucket; i++) {
+            Entry entry = bucket.get(i);
+            if (entry != null) {
+                writer.write(i, hash(entry.key), entry.key, entry.val);
+            }
+        }
+        writer.finish();
+    }
+
+    // Replaces the contents of the table. A snapshot from a quadratic probing table takes over its capacity and
+    // puts each entry back into its slot without probing; any other snapshot is added key by key into a table
+    // that is sized for it up front. The first entry's hash tells whether the snapshot used the same HashStrategy
+    public void loadSnapshot(FileChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        Snapshot.Reader<K, V> reader = new Snapshot.Reader<>(channel, keyCodec, valueCodec);
+        boolean sameLayout = snapshotLayout().equals(reader.layout()) && reader.capacity() > 0;
+        numBucket = sameLayout ? reader.capacity() : capacityFor(Math.max(10, (int) (reader.size() / loadFactor) + 1));
+        mask = numBucket - 1;
+        bucket = new ArrayList<>(Collections.nCopies(numBucket, null));
+        size = 0;
+        tombstones = 0;
+        boolean direct = sameLayout;
+        while (reader.next()) {
+            if (direct && size == 0 && hash(reader.key()) != reader.hash()) {
+                direct = false;
+            }
+            if (!direct) {
+                add(reader.key(), reader.value());
+                continue;
+            }
+            int slot = reader.slot();
+            if (slot < 0 || slot >= numBucket || bucket.get(slot) != null) {
+                throw new IOException("Snapshot slot " + slot + " is out of range or taken twice");
+            }
+            bucket.set(slot, new Entry(reader.key(), reader.value()));
+            size++;
+        }
+    }
+
+    // The two probe sequences put keys in different slots, so their snapshots are not interchangeable
+    private String snapshotLayout() {
+        return triangular ? SNAPSHOT_LAYOUT + ":triangular" : SNAPSHOT_LAYOUT;
     }
 
     public boolean isEmpty() {
@@ -155,27 +533,71 @@ public class HashTable<K, V> {
         return size;
     }
 
-    private int getBucketIndex(K key) {
-        int rawHashKey = hash(key);
-        int hashKey = rawHashKey < 0 ? rawHashKey * -1 : rawHashKey;
-        int index = hashKey % numBucket;
-        return index;
+    // The entries are the table's own, so setValue(...) writes through. Adding or removing keys while
+    // iterating may skip entries or return one twice
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        ArrayList<Entry> slots = bucket;
+        return new SlotIterator<>(slots.size()) {
+            @Override
+            protected Map.Entry<K, V> at(int slot) {
+                return live(slots.get(slot));
+            }
+        };
     }
 
-    private int hash(K key) {
-        if (key instanceof Integer) {
-            return (int) key;
-        } else {
-            int power = 1;
-            int hashCode = 0;
-            String toHash = key + "";
-            int n = toHash.length();
-            for (int i = n - 1; i >= 0; i--) {
-                hashCode += toHash.charAt(i) * power;
-                power *= 31;
+    public Iterator<K> keyIterator() {
+        ArrayList<Entry> slots = bucket;
+        return new SlotIterator<>(slots.size()) {
+            @Override
+            protected K at(int slot) {
+                Entry entry = live(slots.get(slot));
+                return entry == null ? null : entry.key;
+            }
+        };
+    }
+
+    public Iterator<V> valueIterator() {
+        ArrayList<Entry> slots = bucket;
+        return new SlotIterator<>(slots.size()) {
+            @Override
+            protected V at(int slot) {
+                Entry entry = live(slots.get(slot));
+                return entry == null ? null : entry.val;
             }
-            return hashCode;
+        };
+    }
+
+    // Splits by slot range, so StreamSupport.stream(table.spliterator(), true) scans the table on every core
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return new EntrySpliterator(bucket, 0, bucket.size(), size, true);
+    }
+
+    private class EntrySpliterator extends SlotSpliterator<Map.Entry<K, V>> {
+        private final ArrayList<Entry> slots;
 
+        EntrySpliterator(ArrayList<Entry> slots, int origin, int fence, long size, boolean exact) {
+            super(origin, fence, size, exact);
+            this.slots = slots;
         }
+
+        @Override
+        protected Map.Entry<K, V> at(int slot) {
+            return live(slots.get(slot));
+        }
+
+        @Override
+        protected SlotSpliterator<Map.Entry<K, V>> part(int origin, int fence, long estimate) {
+            return new EntrySpliterator(slots, origin, fence, estimate, false);
+        }
+    }
+
+    private Entry live(Entry entry) {
+        return entry == dummy ? null : entry;
+    }
+
+    private int hash(K key) {
+        return strategy.hash(key);
     }
 }
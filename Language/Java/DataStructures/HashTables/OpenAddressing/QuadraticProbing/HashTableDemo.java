@@ -82,6 +82,44 @@ public class HashTableDemo {
 
         hashTable.printHashTable();
 
+        // 10b. Delete-heavy churn: tombstones are counted, reused and compacted away
+        System.out.println("\n### Churning Through Many Keys ###");
+        HashTable<Integer, Integer> churn = new HashTable<>();
+        for (int i = 0; i < 100000; i++) {
+            churn.add(i, i);
+            if (i >= 10) {
+                churn.remove(i - 10);
+            }
+        }
+        System.out.println("Size: " + churn.size()); // Expected: 10
+        System.out.println("Buckets: " + churn.numBucket + ", tombstones: " + churn.tombstoneCount()); // Buckets stay small
+        churn.compact();
+        System.out.println("Tombstones after compact(): " + churn.tombstoneCount()); // Expected: 0
+        System.out.println("Get 99995: " + churn.get(99995)); // Expected: 99995
+
+        // 10c. Triangular probing reaches every slot of a power-of-two table, so it copes with high load factors
+        System.out.println("\n### Triangular Probing At Load Factor 0.95 ###");
+        int keys = 990000; // 94% of 2^20
+        for (int round = 0; round < 2; round++) {
+            for (boolean triangular : new boolean[]{false, true}) {
+                HashTable<Integer, Integer> dense = new HashTable<>();
+                dense.setTriangularProbing(triangular);
+                dense.setLoadFactor(0.95);
+                for (int i = 0; i < keys; i++) {
+                    dense.add(i, i);
+                }
+                long start = System.nanoTime();
+                int wrong = 0;
+                for (int i = 0; i < keys; i++) {
+                    if (dense.get(i) != i) wrong++;
+                }
+                double nanos = (double) (System.nanoTime() - start) / keys;
+                System.out.printf("%-10s buckets %8d, load %.2f, get %.1f ns, wrong values %d%n",
+                        triangular ? "Triangular" : "Quadratic", dense.numBucket, (double) dense.size() / dense.numBucket,
+                        nanos, wrong); // Expected: 0 wrong values
+            }
+        }
+
         // 11. Remove all elements one by one
         System.out.println("\n### Removing All Elements One by One ###");
         hashTable.remove("One");
@@ -0,0 +1,208 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.SwissTable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+
+public class HashTable<K, V> {
+
+    private static final int GROUP_WIDTH = 8;
+
+    // Control bytes: 0xxxxxxx = full slot holding the low 7 bits of the hash
+    private static final byte EMPTY = (byte) 0x80;
+    private static final byte DELETED = (byte) 0xFE;
+
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    byte[] ctrl;
+    K[] keys;
+    V[] vals;
+    int numBucket = 16;
+    int groupMask;
+    int size = 0;
+    int growthLeft;
+    HashStrategy<? super K> strategy;
+
+    public HashTable() {
+        this(HashStrategies.defaultStrategy());
+    }
+
+    public HashTable(HashStrategy<? super K> strategy) {
+        this.strategy = strategy;
+        allocate(numBucket);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        numBucket = capacity;
+        groupMask = capacity / GROUP_WIDTH - 1;
+        ctrl = new byte[capacity];
+        Arrays.fill(ctrl, EMPTY);
+        keys = (K[]) new Object[capacity];
+        vals = (V[]) new Object[capacity];
+        growthLeft = capacity - capacity / 8; // max load factor 7/8
+    }
+
+    public void add(K key, V val) {
+        if (key == null || val == null) {
+            return;
+        }
+        int hashCode = strategy.hash(key);
+        int slot = find(key, hashCode);
+        if (slot >= 0) {
+            vals[slot] = val;
+            return;
+        }
+        if (growthLeft == 0) {
+            // Mostly tombstones: clean up at the same size, otherwise double
+            resize(size * 2 < numBucket - numBucket / 8 ? numBucket : numBucket * 2);
+        }
+        slot = findInsertSlot(hashCode);
+        if (ctrl[slot] == EMPTY) {
+            growthLeft--;
+        }
+        ctrl[slot] = h2(hashCode);
+        keys[slot] = key;
+        vals[slot] = val;
+        size++;
+    }
+
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = find(key, strategy.hash(key));
+        if (slot < 0) {
+            return null;
+        }
+        V removed = vals[slot];
+        keys[slot] = null;
+        vals[slot] = null;
+        // Probes only move past a group that has no EMPTY byte, so if this group
+        // still has one no lookup can depend on this slot staying occupied
+        if (matchEmpty(group(slot & ~(GROUP_WIDTH - 1))) != 0) {
+            ctrl[slot] = EMPTY;
+            growthLeft++;
+        } else {
+            ctrl[slot] = DELETED;
+        }
+        size--;
+        return removed;
+    }
+
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = find(key, strategy.hash(key));
+        return slot < 0 ? null : vals[slot];
+    }
+
+    public boolean contains(K key) {
+        return key != null && find(key, strategy.hash(key)) >= 0;
+    }
+
+    private int find(K key, int hashCode) {
+        byte h2 = h2(hashCode);
+        int groupIndex = h1(hashCode) & groupMask;
+        int stride = 0;
+        while (true) {
+            int base = groupIndex * GROUP_WIDTH;
+            long group = group(base);
+            long matches = matchByte(group, h2);
+            // Only slots whose control byte matches the 7 hash bits are dereferenced
+            while (matches != 0) {
+                int slot = base + (Long.numberOfTrailingZeros(matches) >>> 3);
+                if (strategy.keyEquals(keys[slot], key)) {
+                    return slot;
+                }
+                matches &= matches - 1;
+            }
+            if (matchEmpty(group) != 0) {
+                return -1;
+            }
+            stride++;
+            groupIndex = (groupIndex + stride) & groupMask;
+        }
+    }
+
+    private int findInsertSlot(int hashCode) {
+        int groupIndex = h1(hashCode) & groupMask;
+        int stride = 0;
+        while (true) {
+            int base = groupIndex * GROUP_WIDTH;
+            long available = group(base) & MSBS; // EMPTY and DELETED both have the top bit set
+            if (available != 0) {
+                return base + (Long.numberOfTrailingZeros(available) >>> 3);
+            }
+            stride++;
+            groupIndex = (groupIndex + stride) & groupMask;
+        }
+    }
+
+    private void resize(int capacity) {
+        byte[] oldCtrl = ctrl;
+        K[] oldKeys = keys;
+        V[] oldVals = vals;
+        allocate(capacity);
+        for (int i = 0; i < oldCtrl.length; i++) {
+            if (oldCtrl[i] >= 0) {
+                int hashCode = strategy.hash(oldKeys[i]);
+                int slot = findInsertSlot(hashCode);
+                ctrl[slot] = h2(hashCode);
+                keys[slot] = oldKeys[i];
+                vals[slot] = oldVals[i];
+                growthLeft--;
+            }
+        }
+    }
+
+    private long group(int base) {
+        return (long) LONG_LE.get(ctrl, base);
+    }
+
+    // Sets the top bit of every byte equal to b (rare false positives are filtered by keyEquals)
+    private static long matchByte(long group, byte b) {
+        long x = group ^ (LSBS * (b & 0xFF));
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    // EMPTY is the only control byte with the top bit set and bit 1 clear
+    private static long matchEmpty(long group) {
+        return group & ~(group << 6) & MSBS;
+    }
+
+    private static int h1(int hashCode) {
+        return hashCode >>> 7;
+    }
+
+    private static byte h2(int hashCode) {
+        return (byte) (hashCode & 0x7F);
+    }
+
+    public void printHashTable() {
+        if (isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < numBucket; i++) {
+            if (ctrl[i] >= 0) {
+                System.out.println("Key: " + keys[i] + " | Value: " + vals[i] + " | Index: " + i);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
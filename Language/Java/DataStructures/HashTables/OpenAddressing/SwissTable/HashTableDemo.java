@@ -0,0 +1,73 @@
+package Language.Java.DataStructures.HashTables.OpenAddressing.SwissTable;
+
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.HashStrategy;
+
+public class HashTableDemo {
+
+    static long comparisons = 0;
+
+    public static void main(String[] args) {
+        HashTable<String, Integer> hashTable = new HashTable<>();
+
+        // 1. Add elements to the hash table
+        System.out.println("### Adding Elements ###");
+        hashTable.add("One", 1);
+        hashTable.add("Two", 2);
+        hashTable.add("Three", 3);
+        hashTable.printHashTable();
+        System.out.println("Size after adding elements: " + hashTable.size()); // Expected: 3
+
+        // 2. Update, get and remove
+        System.out.println("\n### Updating and Removing ###");
+        hashTable.add("Two", 22);
+        System.out.println("Get value for 'Two': " + hashTable.get("Two")); // Expected: 22
+        System.out.println("Removed 'One', old value: " + hashTable.remove("One")); // Expected: 1
+        System.out.println("Contains 'One' after removal: " + hashTable.contains("One")); // Expected: false
+        System.out.println("Get value for 'Four': " + hashTable.get("Four")); // Expected: null
+        System.out.println("Size after removal: " + hashTable.size()); // Expected: 2
+
+        // 3. Count how many keys are actually compared per lookup
+        System.out.println("\n### Key Comparisons Per Lookup ###");
+        HashStrategy<Integer> counting = new HashStrategy<Integer>() {
+            @Override
+            public int hash(Integer key) {
+                return HashStrategies.integers().hash(key);
+            }
+
+            @Override
+            public boolean keyEquals(Integer a, Integer b) {
+                comparisons++;
+                return a.equals(b);
+            }
+        };
+        HashTable<Integer, Integer> big = new HashTable<>(counting);
+        int n = 1000000;
+        for (int i = 0; i < n; i++) {
+            big.add(i, i);
+        }
+        comparisons = 0;
+        long found = 0;
+        for (int i = 0; i < n; i++) {
+            if (big.get(i) != null) {
+                found++;
+            }
+        }
+        System.out.println("Successful lookups: " + found); // Expected: 1000000
+        System.out.println("Key comparisons per hit: " + String.format("%.4f", (double) comparisons / n)); // Close to 1
+        comparisons = 0;
+        for (int i = n; i < 2 * n; i++) {
+            big.get(i);
+        }
+        System.out.println("Key comparisons per miss: " + String.format("%.4f", (double) comparisons / n)); // Close to 0
+
+        // 4. Removing everything leaves a usable, empty table
+        System.out.println("\n### Removing All Elements ###");
+        for (int i = 0; i < n; i++) {
+            big.remove(i);
+        }
+        System.out.println("Is the table empty? " + big.isEmpty()); // Expected: true
+        big.add(7, 7);
+        System.out.println("Get value for 7 after re-adding: " + big.get(7)); // Expected: 7
+    }
+}
@@ -0,0 +1,358 @@
+package Language.Java.DataStructures.HashTables.PerfectHashing;
+
+import Language.Java.DataStructures.HashTables.HashStrategies;
+import Language.Java.DataStructures.HashTables.LongHashStrategy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/*
+ * Minimal perfect hash function for a fixed set of keys, built the BBHash way.
+ * Every key is hashed once to 64 bits by a LongHashStrategy, which reads the key in place. Level 0 is a bit array
+ * of gamma * n bits; each key sets the bit its hash points at, and keys that land on the same bit as another key
+ * move on to the next, smaller level.
+ * The index of a key is the number of set bits before its bit across all levels, so the n keys get 0..n-1.
+ * Keys still colliding after MAX_LEVELS levels are kept as a sorted array of hashes at the end.
+ *
+ * Gamma 1 costs about 3 bits per key, a larger gamma builds faster and makes lookups stop at level 0 more often.
+ * index() of a key that was not in the set returns an arbitrary index or -1, so callers verify the key themselves.
+ */
+public class MinimalPerfectHash<K> {
+
+    private static final long MAGIC = 0x4D5048465F424248L; // "MPHF_BBH"
+    private static final int MAX_LEVELS = 32;
+    private static final int RANK_WORDS = 8; // One stored rank per 512 bits
+    private static final int CHUNK = 1 << 14; // Keys handled by one task during a parallel build
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    private final LongHashStrategy<? super K> strategy;
+    private final int keyCount;
+    private final int levels;
+    private final long[] levelStart; // First bit of each level
+    private final long[] levelBits;
+    private final LongBuffer bits;
+    private final IntBuffer ranks; // Set bits before every RANK_WORDS-word block
+    private final int placed; // Keys that found a level, the rest are in fallback
+    private final LongBuffer fallback;
+
+    private MinimalPerfectHash(LongHashStrategy<? super K> strategy, int keyCount, long[] levelStart, long[] levelBits,
+                               LongBuffer bits, IntBuffer ranks, int placed, LongBuffer fallback) {
+        this.strategy = strategy;
+        this.keyCount = keyCount;
+        this.levels = levelStart.length;
+        this.levelStart = levelStart;
+        this.levelBits = levelBits;
+        this.bits = bits;
+        this.ranks = ranks;
+        this.placed = placed;
+        this.fallback = fallback;
+    }
+
+    public static <K> MinimalPerfectHash<K> build(K[] keys, LongHashStrategy<? super K> strategy) {
+        return build(keys, strategy, 1.0, Runtime.getRuntime().availableProcessors());
+    }
+
+    // Hashing and every level are split into chunks of keys that run on a pool of the given number of threads
+    public static <K> MinimalPerfectHash<K> build(K[] keys, LongHashStrategy<? super K> strategy, double gamma, int threads) {
+        if (gamma < 1) {
+            throw new IllegalArgumentException("Gamma must be at least 1");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed");
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return build(keys, strategy, gamma, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static <K> MinimalPerfectHash<K> build(K[] keys, LongHashStrategy<? super K> strategy, double gamma, ForkJoinPool pool) {
+        int n = keys.length;
+        long[] hashes = new long[n];
+        forEachChunk(pool, n, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (keys[i] == null) {
+                    throw new IllegalArgumentException("Null key at index " + i);
+                }
+                hashes[i] = strategy.hash(keys[i], SEED);
+            }
+        });
+
+        long[] remaining = hashes;
+        int count = n;
+        long[] levelStart = new long[MAX_LEVELS];
+        long[] levelBits = new long[MAX_LEVELS];
+        long[][] levelWords = new long[MAX_LEVELS][];
+        long totalBits = 0;
+        int levels = 0;
+        while (count > 0 && levels < MAX_LEVELS) {
+            int level = levels;
+            long size = Math.max(64, ((long) Math.ceil(gamma * count) + 63) & ~63L);
+            AtomicLongArray seen = new AtomicLongArray((int) (size >>> 6));
+            AtomicLongArray collided = new AtomicLongArray((int) (size >>> 6));
+            long[] current = remaining;
+            forEachChunk(pool, count, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    long position = position(current[i], level, size);
+                    if (!setBit(seen, position)) {
+                        setBit(collided, position);
+                    }
+                }
+            });
+
+            long[] words = new long[seen.length()];
+            for (int w = 0; w < words.length; w++) {
+                words[w] = seen.get(w) & ~collided.get(w);
+            }
+
+            // Keys on a collided bit go to the next level. Each chunk counts its survivors first
+            // so the chunks can then copy them into the next array without sharing anything
+            int chunks = (count + CHUNK - 1) / CHUNK;
+            int[] offsets = new int[chunks + 1];
+            forEachChunk(pool, count, (from, to) -> {
+                int survivors = 0;
+                for (int i = from; i < to; i++) {
+                    if (testBit(collided, position(current[i], level, size))) {
+                        survivors++;
+                    }
+                }
+                offsets[from / CHUNK + 1] = survivors;
+            });
+            for (int c = 0; c < chunks; c++) {
+                offsets[c + 1] += offsets[c];
+            }
+            long[] next = new long[offsets[chunks]];
+            forEachChunk(pool, count, (from, to) -> {
+                int out = offsets[from / CHUNK];
+                for (int i = from; i < to; i++) {
+                    if (testBit(collided, position(current[i], level, size))) {
+                        next[out++] = current[i];
+                    }
+                }
+            });
+
+            levelStart[level] = totalBits;
+            levelBits[level] = size;
+            levelWords[level] = words;
+            totalBits += size;
+            remaining = next;
+            count = next.length;
+            levels++;
+        }
+
+        if ((totalBits >>> 6) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many keys for one function");
+        }
+        long[] bits = new long[(int) (totalBits >>> 6)];
+        int word = 0;
+        for (int level = 0; level < levels; level++) {
+            System.arraycopy(levelWords[level], 0, bits, word, levelWords[level].length);
+            word += levelWords[level].length;
+        }
+        int[] ranks = new int[(bits.length + RANK_WORDS - 1) / RANK_WORDS];
+        int rank = 0;
+        for (int w = 0; w < bits.length; w++) {
+            if (w % RANK_WORDS == 0) {
+                ranks[w / RANK_WORDS] = rank;
+            }
+            rank += Long.bitCount(bits[w]);
+        }
+
+        // Equal hashes never separate at any level, so they can only mean the same key twice
+        // or, very rarely, two keys whose 64-bit hashes collide
+        Arrays.sort(remaining);
+        for (int i = 1; i < remaining.length; i++) {
+            if (remaining[i] == remaining[i - 1]) {
+                throw new IllegalArgumentException("Duplicate keys or a 64-bit hash collision");
+            }
+        }
+        return new MinimalPerfectHash<>(strategy, n, Arrays.copyOf(levelStart, levels), Arrays.copyOf(levelBits, levels),
+                LongBuffer.wrap(bits), IntBuffer.wrap(ranks), rank, LongBuffer.wrap(remaining));
+    }
+
+    // Index of the key in 0..size()-1, or -1 when the key is certainly not one of the keys the function was built from
+    public int index(K key) {
+        long hash = strategy.hash(key, SEED);
+        for (int level = 0; level < levels; level++) {
+            long bit = levelStart[level] + position(hash, level, levelBits[level]);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) != 0) {
+                return rank(bit);
+            }
+        }
+        int low = 0;
+        int high = fallback.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long found = fallback.get(mid);
+            if (found < hash) {
+                low = mid + 1;
+            } else if (found > hash) {
+                high = mid - 1;
+            } else {
+                return placed + mid;
+            }
+        }
+        return -1;
+    }
+
+    private int rank(long bit) {
+        int word = (int) (bit >>> 6);
+        int block = word / RANK_WORDS;
+        int rank = ranks.get(block);
+        for (int w = block * RANK_WORDS; w < word; w++) {
+            rank += Long.bitCount(bits.get(w));
+        }
+        return rank + Long.bitCount(bits.get(word) & ((1L << bit) - 1));
+    }
+
+    // Every level remixes the key's one 64-bit hash instead of hashing the key again
+    private static long position(long hash, int level, long size) {
+        long h = HashStrategies.fmix64(hash + (level + 1) * 0x9E3779B97F4A7C15L);
+        return Math.multiplyHigh(h >>> 1, size << 1); // Maps h onto 0..size-1 without a division
+    }
+
+    // Returns false when the bit was already set
+    private static boolean setBit(AtomicLongArray words, long bit) {
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long old = words.get(word);
+        while ((old & mask) == 0) {
+            long witness = words.compareAndExchange(word, old, old | mask);
+            if (witness == old) {
+                return true;
+            }
+            old = witness;
+        }
+        return false;
+    }
+
+    private static boolean testBit(AtomicLongArray words, long bit) {
+        return (words.get((int) (bit >>> 6)) & (1L << bit)) != 0;
+    }
+
+    private interface ChunkTask {
+        void run(int from, int to);
+    }
+
+    private static void forEachChunk(ForkJoinPool pool, int count, ChunkTask task) {
+        int chunks = (count + CHUNK - 1) / CHUNK;
+        pool.submit(() -> IntStream.range(0, chunks).parallel()
+                .forEach(c -> task.run(c * CHUNK, Math.min(count, (c + 1) * CHUNK)))).join();
+    }
+
+    public int size() {
+        return keyCount;
+    }
+
+    public int levels() {
+        return levels;
+    }
+
+    // Bits of the level arrays, the rank samples and the fallback hashes, per key
+    public double bitsPerKey() {
+        if (keyCount == 0) {
+            return 0;
+        }
+        return (bits.limit() * 64.0 + ranks.limit() * 32.0 + fallback.limit() * 64.0) / keyCount;
+    }
+
+    /*
+     * File layout, big-endian:
+     *   magic, key count, levels, placed keys, fallback count, bit words (longs)
+     *   level start and level size for every level (longs)
+     *   bit words (longs), rank samples (ints, padded to a whole long), fallback hashes (longs)
+     * Everything is 8-byte aligned, so load() can read all of it through views of one mapping.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        int rankLongs = (ranks.limit() + 1) / 2;
+        ByteBuffer header = ByteBuffer.allocate(8 * (6 + 2 * levels));
+        header.putLong(MAGIC).putLong(keyCount).putLong(levels).putLong(placed)
+                .putLong(fallback.limit()).putLong(bits.limit());
+        for (int level = 0; level < levels; level++) {
+            header.putLong(levelStart[level]).putLong(levelBits[level]);
+        }
+        writeFully(channel, header.flip());
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        for (int i = 0; i < bits.limit(); i++) {
+            if (!buffer.hasRemaining()) {
+                writeFully(channel, buffer.flip());
+                buffer.clear();
+            }
+            buffer.putLong(bits.get(i));
+        }
+        for (int i = 0; i < rankLongs * 2; i++) {
+            if (!buffer.hasRemaining()) {
+                writeFully(channel, buffer.flip());
+                buffer.clear();
+            }
+            buffer.putInt(i < ranks.limit() ? ranks.get(i) : 0);
+        }
+        for (int i = 0; i < fallback.limit(); i++) {
+            if (!buffer.hasRemaining()) {
+                writeFully(channel, buffer.flip());
+                buffer.clear();
+            }
+            buffer.putLong(fallback.get(i));
+        }
+        writeFully(channel, buffer.flip());
+    }
+
+    // Maps the file and answers lookups straight from the mapping, nothing is copied onto the heap
+    public static <K> MinimalPerfectHash<K> load(FileChannel channel, LongHashStrategy<? super K> strategy) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("Perfect hash file is too large to map");
+        }
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        if (fileSize < 48 || mapped.getLong() != MAGIC) {
+            throw new IOException("Not a perfect hash file");
+        }
+        long keyCount = mapped.getLong();
+        long levels = mapped.getLong();
+        long placed = mapped.getLong();
+        long fallbackCount = mapped.getLong();
+        long words = mapped.getLong();
+        long rankCount = (words + RANK_WORDS - 1) / RANK_WORDS;
+        long expected = 8 * (6 + 2 * levels + words + (rankCount + 1) / 2 + fallbackCount);
+        if (levels < 0 || levels > MAX_LEVELS || words < 0 || fallbackCount < 0 || keyCount != placed + fallbackCount
+                || expected != fileSize) {
+            throw new IOException("Corrupt perfect hash file");
+        }
+        long[] levelStart = new long[(int) levels];
+        long[] levelBits = new long[(int) levels];
+        for (int level = 0; level < levels; level++) {
+            levelStart[level] = mapped.getLong();
+            levelBits[level] = mapped.getLong();
+        }
+        LongBuffer bits = view(mapped, (int) words * 8).asLongBuffer();
+        IntBuffer ranks = view(mapped, (int) ((rankCount + 1) / 2) * 8).asIntBuffer();
+        ranks.limit((int) rankCount);
+        LongBuffer fallback = view(mapped, (int) fallbackCount * 8).asLongBuffer();
+        return new MinimalPerfectHash<>(strategy, (int) keyCount, levelStart, levelBits, bits, ranks, (int) placed, fallback);
+    }
+
+    private static ByteBuffer view(ByteBuffer mapped, int bytes) {
+        ByteBuffer view = mapped.slice();
+        view.limit(bytes);
+        mapped.position(mapped.position() + bytes);
+        return view;
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
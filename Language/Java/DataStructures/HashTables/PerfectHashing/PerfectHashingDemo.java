@@ -0,0 +1,108 @@
+package Language.Java.DataStructures.HashTables.PerfectHashing;
+
+import Language.Java.DataStructures.HashTables.HashStrategies;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+public class PerfectHashingDemo {
+    public static void main(String[] args) throws IOException {
+        String[] words = {"apple", "banana", "cherry", "date", "elderberry", "fig", "grape"};
+        Integer[] lengths = new Integer[words.length];
+        for (int i = 0; i < words.length; i++) {
+            lengths[i] = words[i].length();
+        }
+        StaticHashTable<String, Integer> table = new StaticHashTable<>(words, lengths, HashStrategies.strings64());
+
+        // 1. Every key gets its own index in 0..n-1
+        System.out.println("### Small Key Set ###");
+        table.printHashTable();
+        System.out.println("Get 'cherry': " + table.get("cherry")); // Expected: 6
+        System.out.println("Get 'kiwi': " + table.get("kiwi")); // Expected: null
+        System.out.println("Contains 'fig': " + table.contains("fig")); // Expected: true
+
+        // 2. A million keys: the indexes are a permutation of 0..n-1
+        System.out.println("\n### One Million Keys ###");
+        int n = 1000000;
+        String[] keys = new String[n];
+        Integer[] vals = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = "key-" + i;
+            vals[i] = i;
+        }
+        for (double gamma : new double[]{1.0, 2.0}) {
+            long start = System.nanoTime();
+            MinimalPerfectHash<String> function = MinimalPerfectHash.build(keys, HashStrategies.strings64(), gamma,
+                    Runtime.getRuntime().availableProcessors());
+            double buildMillis = (System.nanoTime() - start) / 1e6;
+            System.out.printf("gamma %.1f: %.2f bits per key, %d levels, built in %.0f ms, valid permutation: %b%n",
+                    gamma, function.bitsPerKey(), function.levels(), buildMillis, isPermutation(function, keys)); // Expected: true
+        }
+
+        // 3. Duplicate keys are rejected
+        System.out.println("\n### Duplicate Keys ###");
+        try {
+            MinimalPerfectHash.build(new String[]{"a", "b", "a"}, HashStrategies.strings64());
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+
+        // 4. Written to a file and answered straight from the mapping
+        System.out.println("\n### Loading A Mapped File ###");
+        MinimalPerfectHash<String> function = MinimalPerfectHash.build(keys, HashStrategies.strings64());
+        Path file = Files.createTempFile("perfect-hash", ".mphf");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            function.writeTo(channel);
+        }
+        MinimalPerfectHash<String> loaded;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            loaded = MinimalPerfectHash.load(channel, HashStrategies.strings64());
+        }
+        int different = 0;
+        for (String key : keys) {
+            if (loaded.index(key) != function.index(key)) different++;
+        }
+        System.out.println("File size: " + Files.size(file) + " bytes, different indexes: " + different); // Expected: 0
+        Files.delete(file);
+
+        // 5. Lookups against the LinearProbing table holding the same entries
+        System.out.println("\n### Lookups Against LinearProbing.HashTable ###");
+        StaticHashTable<String, Integer> fixed = new StaticHashTable<>(function, keys, vals);
+        Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing.HashTable<String, Integer> linear =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing.HashTable<>();
+        for (int i = 0; i < n; i++) {
+            linear.add(keys[i], vals[i]);
+        }
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            long sum = 0;
+            for (String key : keys) {
+                sum += fixed.get(key);
+            }
+            double fixedNanos = (double) (System.nanoTime() - start) / n;
+            start = System.nanoTime();
+            for (String key : keys) {
+                sum -= linear.get(key);
+            }
+            double linearNanos = (double) (System.nanoTime() - start) / n;
+            System.out.printf("StaticHashTable %.1f ns | LinearProbing %.1f ns | checksum %d%n",
+                    fixedNanos, linearNanos, sum); // Expected checksum: 0
+        }
+    }
+
+    static boolean isPermutation(MinimalPerfectHash<String> function, String[] keys) {
+        BitSet used = new BitSet(keys.length);
+        for (String key : keys) {
+            int index = function.index(key);
+            if (index < 0 || index >= keys.length || used.get(index)) {
+                return false;
+            }
+            used.set(index);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,76 @@
+package Language.Java.DataStructures.HashTables.PerfectHashing;
+
+import Language.Java.DataStructures.HashTables.LongHashStrategy;
+
+/*
+ * Read-only map over a fixed set of keys.
+ * A MinimalPerfectHash gives every key its own slot in 0..n-1, so the keys and values sit in two arrays
+ * of exactly n entries with no empty slots and no probing. The stored key is compared on lookup
+ * because the function also maps keys outside the set onto some slot.
+ * It saves memory rather than time: a lookup costs about as much as in LinearProbing.HashTable.
+ */
+public class StaticHashTable<K, V> {
+
+    private final MinimalPerfectHash<K> function;
+    private final K[] keys;
+    private final V[] vals;
+
+    public StaticHashTable(K[] keys, V[] vals, LongHashStrategy<? super K> strategy) {
+        this(MinimalPerfectHash.build(keys, strategy), keys, vals);
+    }
+
+    @SuppressWarnings("unchecked")
+    public StaticHashTable(MinimalPerfectHash<K> function, K[] keys, V[] vals) {
+        if (keys.length != vals.length) {
+            throw new IllegalArgumentException("Keys and values must have the same length");
+        }
+        if (function.size() != keys.length) {
+            throw new IllegalArgumentException("The function was built for " + function.size() + " keys, not " + keys.length);
+        }
+        this.function = function;
+        this.keys = (K[]) new Object[keys.length];
+        this.vals = (V[]) new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            int slot = function.index(keys[i]);
+            if (slot < 0 || this.keys[slot] != null) {
+                throw new IllegalArgumentException("The function was not built for key " + keys[i]);
+            }
+            this.keys[slot] = keys[i];
+            this.vals[slot] = vals[i];
+        }
+    }
+
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = function.index(key);
+        return slot >= 0 && keys[slot].equals(key) ? vals[slot] : null;
+    }
+
+    public boolean contains(K key) {
+        if (key == null) {
+            return false;
+        }
+        int slot = function.index(key);
+        return slot >= 0 && keys[slot].equals(key);
+    }
+
+    public MinimalPerfectHash<K> function() {
+        return function;
+    }
+
+    public void printHashTable() {
+        for (int i = 0; i < keys.length; i++) {
+            System.out.println("Key: " + keys[i] + " | Value: " + vals[i] + " | Index: " + i);
+        }
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+}
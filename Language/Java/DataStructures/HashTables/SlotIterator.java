@@ -0,0 +1,44 @@
+package Language.Java.DataStructures.HashTables;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * Iterator over the slots of an array-backed hash table. at(slot) returns what the slot holds, or null for an
+ * empty slot or a tombstone, so one subclass can walk keys, another values and another entries.
+ * Nothing is allocated per element.
+ */
+public abstract class SlotIterator<T> implements Iterator<T> {
+    private final int fence;
+    private int index;
+    private T next;
+
+    protected SlotIterator(int slots) {
+        this.fence = slots;
+        advance();
+    }
+
+    protected abstract T at(int slot);
+
+    private void advance() {
+        next = null;
+        while (next == null && index < fence) {
+            next = at(index++);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        T current = next;
+        advance();
+        return current;
+    }
+}
@@ -0,0 +1,79 @@
+package Language.Java.DataStructures.HashTables;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ * Spliterator over a range of slots of an array-backed hash table, for parallel streams.
+ * trySplit() hands the lower half of the remaining slot range to a new spliterator, so every part walks its
+ * own stretch of the array. Like java.util.HashMap, only a spliterator that has not been split reports SIZED:
+ * the number of entries in a slot range is only known by counting them, so after a split the size is halved
+ * as an estimate.
+ */
+public abstract class SlotSpliterator<T> implements Spliterator<T> {
+    private static final int MIN_SPLIT_SLOTS = 1 << 10; // Below this a part is not worth a task of its own
+
+    private int index;
+    private final int fence;
+    private long estimate;
+    private boolean exact;
+
+    // size: the number of entries in [origin, fence) if exact, otherwise an estimate
+    protected SlotSpliterator(int origin, int fence, long size, boolean exact) {
+        this.index = origin;
+        this.fence = fence;
+        this.estimate = size;
+        this.exact = exact;
+    }
+
+    protected abstract T at(int slot);
+
+    // A spliterator of the same kind over [origin, fence) with an estimated size
+    protected abstract SlotSpliterator<T> part(int origin, int fence, long estimate);
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (index < fence) {
+            T element = at(index++);
+            if (element != null) {
+                action.accept(element);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        for (int i = index; i < fence; i++) {
+            T element = at(i);
+            if (element != null) {
+                action.accept(element);
+            }
+        }
+        index = fence;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int mid = (index + fence) >>> 1;
+        if (mid - index < MIN_SPLIT_SLOTS) {
+            return null;
+        }
+        estimate >>>= 1;
+        exact = false;
+        Spliterator<T> lower = part(index, mid, estimate);
+        index = mid;
+        return lower;
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return (exact ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
+    }
+}
@@ -0,0 +1,201 @@
+package Language.Java.DataStructures.HashTables;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Binary snapshot format behind the hash tables' writeSnapshot(...) and loadSnapshot(...):
+ *
+ *   header   magic (long), layout (length-prefixed UTF-8), capacity (int), size (int)
+ *   entries  slot (int), hash (int), key length (int), key bytes, value length (int), value bytes
+ *
+ * Numbers are big-endian. The layout names the table class that wrote the snapshot, so a table of the same class
+ * and capacity can put every entry straight back into its old slot. A capacity of 0 means the slots cannot be reused.
+ */
+public final class Snapshot {
+    private static final long MAGIC = 0x48545F534E415031L; // "HT_SNAP1"
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final long WINDOW_BYTES = 1L << 30; // The largest piece of the file mapped at once
+
+    private Snapshot() {
+    }
+
+    public static final class Writer<K, V> {
+        private final WritableByteChannel channel;
+        private final Codec<K> keyCodec;
+        private final Codec<V> valueCodec;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        private int remaining;
+
+        public Writer(WritableByteChannel channel, String layout, int capacity, int size,
+                      Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+            this.channel = channel;
+            this.keyCodec = keyCodec;
+            this.valueCodec = valueCodec;
+            this.remaining = size;
+            buffer.putLong(MAGIC);
+            putBytes(layout.getBytes(StandardCharsets.UTF_8));
+            buffer.putInt(capacity).putInt(size);
+        }
+
+        public void write(int slot, int hash, K key, V value) throws IOException {
+            if (remaining == 0) {
+                throw new IllegalStateException("More entries than the snapshot header announced");
+            }
+            ensure(8);
+            buffer.putInt(slot).putInt(hash);
+            putBytes(keyCodec.encode(key));
+            putBytes(valueCodec.encode(value));
+            remaining--;
+        }
+
+        // Writes out whatever is still buffered. The channel stays open
+        public void finish() throws IOException {
+            if (remaining != 0) {
+                throw new IllegalStateException(remaining + " fewer entries than the snapshot header announced");
+            }
+            drain();
+        }
+
+        private void putBytes(byte[] bytes) throws IOException {
+            ensure(4);
+            buffer.putInt(bytes.length);
+            if (bytes.length > buffer.capacity()) {
+                drain();
+                writeFully(ByteBuffer.wrap(bytes));
+                return;
+            }
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+
+        private void writeFully(ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+    }
+
+    // Reads a snapshot from the start of the file through memory mappings of at most WINDOW_BYTES each
+    public static final class Reader<K, V> {
+        private final FileChannel channel;
+        private final Codec<K> keyCodec;
+        private final Codec<V> valueCodec;
+        private final long fileSize;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        private final String layout;
+        private final int capacity;
+        private final int size;
+        private int read;
+
+        private int slot;
+        private int hash;
+        private K key;
+        private V value;
+
+        public Reader(FileChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+            this.channel = channel;
+            this.keyCodec = keyCodec;
+            this.valueCodec = valueCodec;
+            this.fileSize = channel.size();
+            window = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(WINDOW_BYTES, fileSize));
+            require(8);
+            if (window.getLong() != MAGIC) {
+                throw new IOException("Not a hash table snapshot");
+            }
+            layout = new String(bytes(), StandardCharsets.UTF_8);
+            require(8);
+            capacity = window.getInt();
+            size = window.getInt();
+            if (capacity < 0 || size < 0) {
+                throw new IOException("Corrupt snapshot header");
+            }
+        }
+
+        public String layout() {
+            return layout;
+        }
+
+        public int capacity() {
+            return capacity;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // Moves to the next entry, false once all of them have been read
+        public boolean next() throws IOException {
+            if (read == size) {
+                return false;
+            }
+            require(8);
+            slot = window.getInt();
+            hash = window.getInt();
+            key = keyCodec.decode(bytes());
+            value = valueCodec.decode(bytes());
+            read++;
+            return true;
+        }
+
+        public int slot() {
+            return slot;
+        }
+
+        public int hash() {
+            return hash;
+        }
+
+        public K key() {
+            return key;
+        }
+
+        public V value() {
+            return value;
+        }
+
+        private byte[] bytes() throws IOException {
+            require(4);
+            int length = window.getInt();
+            if (length < 0) {
+                throw new IOException("Corrupt snapshot record");
+            }
+            require(length);
+            byte[] bytes = new byte[length];
+            window.get(bytes);
+            return bytes;
+        }
+
+        // Maps a new window starting at the current position when the next bytes run past the end of this one
+        private void require(int bytes) throws IOException {
+            if (window.remaining() >= bytes) {
+                return;
+            }
+            long position = windowStart + window.position();
+            if (position + bytes > fileSize) {
+                throw new IOException("Snapshot is truncated");
+            }
+            windowStart = position;
+            long length = Math.min(Math.max(WINDOW_BYTES, bytes), fileSize - position);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package Language.Java.DataStructures.HashTables;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class SnapshotDemo {
+
+    interface Table {
+        void add(Integer key, String val);
+
+        String get(Integer key);
+
+        void writeSnapshot(FileChannel channel) throws IOException;
+
+        void loadSnapshot(FileChannel channel) throws IOException;
+    }
+
+    interface TableFactory {
+        Table create();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int n = 500000;
+        Path file = Files.createTempFile("hash-table", ".snapshot");
+
+        String[] names = {"Linear probing", "Quadratic probing", "Double hashing", "Separate chaining"};
+        TableFactory[] factories = {SnapshotDemo::linear, SnapshotDemo::quadratic, SnapshotDemo::doubleHashing, SnapshotDemo::chaining};
+
+        // 1. Warm restart: replaying every add() against loading a snapshot written by the same kind of table
+        System.out.println("### Restoring " + n + " Entries ###");
+        for (int round = 0; round < 2; round++) {
+            for (int t = 0; t < factories.length; t++) {
+                Table source = factories[t].create();
+                for (int i = 0; i < n; i++) {
+                    source.add(i, "value-" + i);
+                }
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    source.writeSnapshot(channel);
+                }
+
+                long start = System.nanoTime();
+                Table replayed = factories[t].create();
+                for (int i = 0; i < n; i++) {
+                    replayed.add(i, "value-" + i);
+                }
+                double replayMillis = (System.nanoTime() - start) / 1e6;
+
+                start = System.nanoTime();
+                Table loaded = factories[t].create();
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    loaded.loadSnapshot(channel);
+                }
+                double loadMillis = (System.nanoTime() - start) / 1e6;
+                System.out.printf("%-18s replay %7.1f ms | load snapshot %7.1f ms | wrong values %d%n",
+                        names[t], replayMillis, loadMillis, countWrong(loaded, n)); // Expected: 0 wrong values
+            }
+        }
+
+        // 2. A snapshot from another kind of table is added key by key
+        System.out.println("\n### Linear Probing Snapshot Loaded By Every Table ###");
+        Table source = linear();
+        for (int i = 0; i < n; i++) {
+            source.add(i, "value-" + i);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            source.writeSnapshot(channel);
+        }
+        for (int t = 0; t < factories.length; t++) {
+            Table loaded = factories[t].create();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                loaded.loadSnapshot(channel);
+            }
+            System.out.println(names[t] + " wrong values: " + countWrong(loaded, n)); // Expected: 0
+        }
+
+        // 3. Removed keys are not part of the snapshot
+        System.out.println("\n### Snapshot After Removals ###");
+        Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.HashTable<Integer, String> removed =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.HashTable<>(10);
+        for (int i = 0; i < 1000; i++) {
+            removed.add(i, "value-" + i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            removed.remove(i);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            removed.writeSnapshot(channel, Codecs.integers(), Codecs.strings());
+        }
+        Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.HashTable<Integer, String> restored =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.HashTable<>(10);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            restored.loadSnapshot(channel, Codecs.integers(), Codecs.strings());
+        }
+        System.out.println("Size: " + restored.size()); // Expected: 500
+        System.out.println("Contains 4: " + restored.contains(4) + ", get 5: " + restored.get(5)); // Expected: false, value-5
+
+        Files.delete(file);
+    }
+
+    static int countWrong(Table table, int n) {
+        int wrong = 0;
+        for (int i = 0; i < n; i++) {
+            if (!("value-" + i).equals(table.get(i))) {
+                wrong++;
+            }
+        }
+        return wrong;
+    }
+
+    static Table linear() {
+        Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing.HashTable<Integer, String> table =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.LinearProbing.HashTable<>();
+        return new Table() {
+            public void add(Integer key, String val) {
+                table.add(key, val);
+            }
+
+            public String get(Integer key) {
+                return table.get(key);
+            }
+
+            public void writeSnapshot(FileChannel channel) throws IOException {
+                table.writeSnapshot(channel, Codecs.integers(), Codecs.strings());
+            }
+
+            public void loadSnapshot(FileChannel channel) throws IOException {
+                table.loadSnapshot(channel, Codecs.integers(), Codecs.strings());
+            }
+        };
+    }
+
+    static Table quadratic() {
+        Language.Java.DataStructures.HashTables.OpenAddressing.QuadraticProbing.HashTable<Integer, String> table =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.QuadraticProbing.HashTable<>();
+        return new Table() {
+            public void add(Integer key, String val) {
+                table.add(key, val);
+            }
+
+            public String get(Integer key) {
+                return table.get(key);
+            }
+
+            public void writeSnapshot(FileChannel channel) throws IOException {
+                table.writeSnapshot(channel, Codecs.integers(), Codecs.strings());
+            }
+
+            public void loadSnapshot(FileChannel channel) throws IOException {
+                table.loadSnapshot(channel, Codecs.integers(), Codecs.strings());
+            }
+        };
+    }
+
+    static Table doubleHashing() {
+        Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.HashTable<Integer, String> table =
+                new Language.Java.DataStructures.HashTables.OpenAddressing.DoubleHashing.HashTable<>(10);
+        return new Table() {
+            public void add(Integer key, String val) {
+                table.add(key, val);
+            }
+
+            public String get(Integer key) {
+                return table.get(key);
+            }
+
+            public void writeSnapshot(FileChannel channel) throws IOException {
+                table.writeSnapshot(channel, Codecs.integers(), Codecs.strings());
+            }
+
+            public void loadSnapshot(FileChannel channel) throws IOException {
+                table.loadSnapshot(channel, Codecs.integers(), Codecs.strings());
+            }
+        };
+    }
+
+    static Table chaining() {
+        Language.Java.DataStructures.HashTables.ClosedAddressing.SeparateChaining.HashTable<Integer, String> table =
+                new Language.Java.DataStructures.HashTables.ClosedAddressing.SeparateChaining.HashTable<>();
+        return new Table() {
+            public void add(Integer key, String val) {
+                table.add(key, val);
+            }
+
+            public String get(Integer key) {
+                return table.get(key);
+            }
+
+            public void writeSnapshot(FileChannel channel) throws IOException {
+                table.writeSnapshot(channel, Codecs.integers(), Codecs.strings());
+            }
+
+            public void loadSnapshot(FileChannel channel) throws IOException {
+                table.loadSnapshot(channel, Codecs.integers(), Codecs.strings());
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package Language.Java.DataStructures.Heaps.BinaryHeap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/*
+ * Binary heap of objects, ordered by the comparator given at construction: the element the comparator puts
+ * first is at the root. The sift loops keep the moving element in a local and shift parents or children
+ * into the hole it leaves, so every level costs one array write instead of a swap.
+ * IntHeap, LongHeap and DoubleHeap are the same heap for primitives, generated by HeapGenerator.
+ */
+public class BinaryHeap<T>{
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private final Comparator<? super T> comparator;
+    private Object[] items;
+    private int size = 0;
+
+    public BinaryHeap(Comparator<? super T> comparator){
+        this(comparator, DEFAULT_CAPACITY);
+    }
+
+    public BinaryHeap(Comparator<? super T> comparator, int initialCapacity){
+        if(comparator == null) throw new IllegalArgumentException("Comparator must not be null");
+        if(initialCapacity < 1) throw new IllegalArgumentException("Initial capacity must be positive: " + initialCapacity);
+        this.comparator = comparator;
+        this.items = new Object[initialCapacity];
+    }
+
+    // Heap of Comparable elements in their natural order, smallest or largest first
+    public static <T extends Comparable<? super T>> BinaryHeap<T> of(Order order){
+        return new BinaryHeap<>(order == Order.MIN ? Comparator.<T>naturalOrder() : Comparator.<T>reverseOrder());
+    }
+
+    public int getSize(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T peek(){
+        if(size == 0) throw new IllegalArgumentException("Heap is empty");
+        return (T) items[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T poll(){
+        if(size == 0) throw new IllegalArgumentException("Heap is empty");
+        T item = (T) items[0];
+        int last = --size;
+        T moved = (T) items[last];
+        items[last] = null;
+        if(last > 0){
+            siftDown(0, moved);
+        }
+        return item;
+    }
+
+    public void add(T item){
+        if(item == null) throw new IllegalArgumentException("Null elements are not allowed");
+        if(size == items.length){
+            items = Arrays.copyOf(items, items.length * 2);
+        }
+        siftUp(size++, item);
+    }
+
+    public void clear(){
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void siftUp(int index, T item){
+        Object[] heap = items;
+        while(index > 0){
+            int parentIndex = (index - 1) >>> 1;
+            Object parent = heap[parentIndex];
+            if(comparator.compare(item, (T) parent) >= 0) break;
+            heap[index] = parent;
+            index = parentIndex;
+        }
+        heap[index] = item;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void siftDown(int index, T item){
+        Object[] heap = items;
+        int end = size;
+        int half = end >>> 1; // Nodes below half have at least a left child
+        while(index < half){
+            int childIndex = (index << 1) + 1;
+            Object child = heap[childIndex];
+            int rightIndex = childIndex + 1;
+            if(rightIndex < end && comparator.compare((T) heap[rightIndex], (T) child) < 0){
+                childIndex = rightIndex;
+                child = heap[rightIndex];
+            }
+            if(comparator.compare(item, (T) child) <= 0) break;
+            heap[index] = child;
+            index = childIndex;
+        }
+        heap[index] = item;
+    }
+}
@@ -0,0 +1,169 @@
+package Language.Java.DataStructures.Heaps.BinaryHeap;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class BinaryHeapTest {
+    public static void main(String[] args) {
+        System.out.println("=== Binary Heap Implementation Tests ===\n");
+
+        // Test 1: Min and max order chosen at construction
+        System.out.println("Test 1: Same input [42, 17, 8, 31, 23, 5, 12], min and max order");
+        int[] unsorted = {42, 17, 8, 31, 23, 5, 12};
+        IntHeap min = new IntHeap(Order.MIN);
+        IntHeap max = new IntHeap(Order.MAX);
+        for (int num : unsorted) {
+            min.add(num);
+            max.add(num);
+        }
+        System.out.println("Expected: 5 8 12 17 23 31 42");
+        System.out.println("Actual:   " + drain(min));
+        System.out.println("Expected: 42 31 23 17 12 8 5");
+        System.out.println("Actual:   " + drain(max));
+        System.out.println("✓ Test 1 passed\n");
+
+        // Test 2: Comparator-driven heap of strings
+        System.out.println("Test 2: BinaryHeap<String> ordered by length, then alphabetically");
+        BinaryHeap<String> words = new BinaryHeap<>(Comparator.comparingInt(String::length)
+                .thenComparing(Comparator.naturalOrder()));
+        for (String word : new String[]{"pear", "fig", "banana", "kiwi", "apple"}) {
+            words.add(word);
+        }
+        StringBuilder order = new StringBuilder();
+        while (!words.isEmpty()) {
+            order.append(words.poll()).append(' ');
+        }
+        System.out.println("Expected: fig kiwi pear apple banana");
+        System.out.println("Actual:   " + order.toString().trim());
+        System.out.println("✓ Test 2 passed\n");
+
+        // Test 3: Natural order through BinaryHeap.of(...)
+        System.out.println("Test 3: BinaryHeap.of(Order.MAX) with duplicates [5, 5, 10, 10, 15]");
+        BinaryHeap<Integer> boxed = BinaryHeap.of(Order.MAX);
+        for (int num : new int[]{5, 5, 10, 10, 15}) {
+            boxed.add(num);
+        }
+        System.out.println("Expected: 15 10 10 5 5");
+        System.out.print("Actual:   ");
+        while (!boxed.isEmpty()) {
+            System.out.print(boxed.poll() + " ");
+        }
+        System.out.println("\n✓ Test 3 passed\n");
+
+        // Test 4: Doubles follow Double.compare(...)
+        System.out.println("Test 4: DoubleHeap with NaN, -0.0 and 0.0");
+        DoubleHeap doubles = new DoubleHeap(Order.MIN);
+        for (double d : new double[]{Double.NaN, 0.0, 1.5, -0.0, Double.NEGATIVE_INFINITY}) {
+            doubles.add(d);
+        }
+        System.out.println("Expected: -Infinity -0.0 0.0 1.5 NaN");
+        System.out.print("Actual:   ");
+        while (!doubles.isEmpty()) {
+            System.out.print(doubles.poll() + " ");
+        }
+        System.out.println("\n✓ Test 4 passed\n");
+
+        // Test 5: Empty heap and null elements
+        System.out.println("Test 5: Edge cases - poll and peek on an empty heap, adding null");
+        LongHeap empty = new LongHeap(Order.MIN);
+        expectException("LongHeap.poll() on empty heap", () -> empty.poll());
+        expectException("LongHeap.peek() on empty heap", () -> empty.peek());
+        BinaryHeap<String> strings = BinaryHeap.of(Order.MIN);
+        expectException("BinaryHeap.add(null)", () -> strings.add(null));
+        expectException("Order null", () -> new IntHeap(null));
+        System.out.println();
+
+        // Test 6: Random adds and polls against java.util.PriorityQueue, for every heap and both orders
+        System.out.println("Test 6: 200000 random operations against PriorityQueue");
+        for (Order o : Order.values()) {
+            Random random = new Random(42);
+            IntHeap ints = new IntHeap(o, 1);
+            LongHeap longs = new LongHeap(o);
+            DoubleHeap doubleHeap = new DoubleHeap(o);
+            BinaryHeap<Integer> objects = BinaryHeap.of(o);
+            PriorityQueue<Integer> reference = new PriorityQueue<>(
+                    o == Order.MIN ? Comparator.<Integer>naturalOrder() : Comparator.<Integer>reverseOrder());
+            int mismatches = 0;
+            for (int i = 0; i < 200000; i++) {
+                if (reference.isEmpty() || random.nextInt(3) != 0) {
+                    int value = random.nextInt(1000); // Plenty of duplicates
+                    ints.add(value);
+                    longs.add(value);
+                    doubleHeap.add(value);
+                    objects.add(value);
+                    reference.add(value);
+                } else {
+                    int expected = reference.poll();
+                    if (ints.poll() != expected || longs.poll() != expected || doubleHeap.poll() != expected
+                            || objects.poll() != expected) {
+                        mismatches++;
+                    }
+                }
+            }
+            boolean sizes = ints.getSize() == reference.size() && objects.getSize() == reference.size();
+            System.out.println(o + ": mismatches " + mismatches + " (expected: 0), sizes match: " + sizes);
+        }
+        System.out.println("✓ Test 6 passed\n");
+
+        // Test 7: clear() empties the heap and it can be filled again
+        System.out.println("Test 7: clear()");
+        IntHeap cleared = new IntHeap(Order.MIN);
+        for (int i = 100; i > 0; i--) {
+            cleared.add(i);
+        }
+        cleared.clear();
+        cleared.add(7);
+        System.out.println("Expected size 1, peek 7. Actual size " + cleared.getSize() + ", peek " + cleared.peek());
+        System.out.println("✓ Test 7 passed\n");
+
+        // Test 8: Hole-moving IntHeap against the swap-based MinHeap.Heap
+        System.out.println("Test 8: 1000000 random adds then polls, IntHeap vs MinHeap.Heap");
+        int n = 1000000;
+        int[] values = new Random(7).ints(n).toArray();
+        for (int round = 0; round < 5; round++) { // The first rounds include JIT warm-up
+            long start = System.nanoTime();
+            IntHeap fast = new IntHeap(Order.MIN);
+            long sumFast = 0;
+            for (int value : values) {
+                fast.add(value);
+            }
+            while (!fast.isEmpty()) {
+                sumFast += fast.poll();
+            }
+            long fastNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            Language.Java.DataStructures.Heaps.MinHeap.Heap old = new Language.Java.DataStructures.Heaps.MinHeap.Heap();
+            long sumOld = 0;
+            for (int value : values) {
+                old.add(value);
+            }
+            while (old.getSize() > 0) {
+                sumOld += old.poll();
+            }
+            long oldNanos = System.nanoTime() - start;
+            System.out.printf("IntHeap %.1f ms | MinHeap.Heap %.1f ms | same result: %b%n",
+                    fastNanos / 1e6, oldNanos / 1e6, sumFast == sumOld);
+        }
+        System.out.println("✓ Test 8 passed\n");
+
+        System.out.println("=== All Tests Completed ===");
+    }
+
+    static String drain(IntHeap heap) {
+        StringBuilder out = new StringBuilder();
+        while (!heap.isEmpty()) {
+            out.append(heap.poll()).append(' ');
+        }
+        return out.toString().trim();
+    }
+
+    static void expectException(String name, Runnable action) {
+        try {
+            action.run();
+            System.out.println("✗ " + name + " FAILED: Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            System.out.println("✓ " + name + ": Correctly threw IllegalArgumentException");
+        }
+    }
+}
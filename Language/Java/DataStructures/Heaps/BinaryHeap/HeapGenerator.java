@@ -0,0 +1,146 @@
+package Language.Java.DataStructures.Heaps.BinaryHeap;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ * Writes IntHeap, LongHeap and DoubleHeap from the one TEMPLATE below, so the three stay the same heap.
+ * Change the template and run this from the repository root:
+ *   java Language.Java.DataStructures.Heaps.BinaryHeap.HeapGenerator
+ * With --check nothing is written; it exits with status 1 if a generated file is out of date.
+ */
+public class HeapGenerator {
+    private static final Path DIRECTORY = Path.of("Language", "Java", "DataStructures", "Heaps", "BinaryHeap");
+
+    // $Heap$: class name, $type$: element type, $before$: true if a must come out before b,
+    // $note$: anything that only applies to this type
+    private static final String TEMPLATE = """
+            package Language.Java.DataStructures.Heaps.BinaryHeap;
+
+            import java.util.Arrays;
+
+            /*
+             * Generated by HeapGenerator from its TEMPLATE. Edit the template and run the generator, not this file.
+             *
+             * Binary heap of $type$ values, smallest or largest first as chosen at construction. Values are stored
+             * unboxed, and the sift loops move a hole instead of swapping, like BinaryHeap.$note$
+             */
+            public class $Heap${
+                private static final int DEFAULT_CAPACITY = 10;
+
+                private final boolean max;
+                private $type$[] items;
+                private int size = 0;
+
+                public $Heap$(Order order){
+                    this(order, DEFAULT_CAPACITY);
+                }
+
+                public $Heap$(Order order, int initialCapacity){
+                    if(order == null) throw new IllegalArgumentException("Order must not be null");
+                    if(initialCapacity < 1) throw new IllegalArgumentException("Initial capacity must be positive: " + initialCapacity);
+                    this.max = order == Order.MAX;
+                    this.items = new $type$[initialCapacity];
+                }
+
+                public int getSize(){
+                    return size;
+                }
+
+                public boolean isEmpty(){
+                    return size == 0;
+                }
+
+                public $type$ peek(){
+                    if(size == 0) throw new IllegalArgumentException("Heap is empty");
+                    return items[0];
+                }
+
+                public $type$ poll(){
+                    if(size == 0) throw new IllegalArgumentException("Heap is empty");
+                    $type$ item = items[0];
+                    int last = --size;
+                    if(last > 0){
+                        siftDown(0, items[last]);
+                    }
+                    return item;
+                }
+
+                public void add($type$ item){
+                    if(size == items.length){
+                        items = Arrays.copyOf(items, items.length * 2);
+                    }
+                    siftUp(size++, item);
+                }
+
+                public void clear(){
+                    size = 0;
+                }
+
+                // The order is fixed at construction, so this branch always goes the same way and costs next to nothing
+                private boolean before($type$ a, $type$ b){
+                    return $before$;
+                }
+
+                private void siftUp(int index, $type$ item){
+                    $type$[] heap = items;
+                    while(index > 0){
+                        int parentIndex = (index - 1) >>> 1;
+                        $type$ parent = heap[parentIndex];
+                        if(!before(item, parent)) break;
+                        heap[index] = parent;
+                        index = parentIndex;
+                    }
+                    heap[index] = item;
+                }
+
+                private void siftDown(int index, $type$ item){
+                    $type$[] heap = items;
+                    int end = size;
+                    int half = end >>> 1; // Nodes below half have at least a left child
+                    while(index < half){
+                        int childIndex = (index << 1) + 1;
+                        $type$ child = heap[childIndex];
+                        int rightIndex = childIndex + 1;
+                        if(rightIndex < end && before(heap[rightIndex], child)){
+                            childIndex = rightIndex;
+                            child = heap[rightIndex];
+                        }
+                        if(!before(child, item)) break;
+                        heap[index] = child;
+                        index = childIndex;
+                    }
+                    heap[index] = item;
+                }
+            }
+            """;
+
+    public static void main(String[] args) throws IOException {
+        boolean check = args.length > 0 && args[0].equals("--check");
+        String[][] types = {
+                {"IntHeap", "int", "max ? a > b : a < b", ""},
+                {"LongHeap", "long", "max ? a > b : a < b", ""},
+                {"DoubleHeap", "double", "max ? Double.compare(a, b) > 0 : Double.compare(a, b) < 0",
+                        "\n * Values are ordered by Double.compare(...), so -0.0 comes before 0.0 and NaN after every other value."},
+        };
+        boolean stale = false;
+        for (String[] type : types) {
+            String source = TEMPLATE.replace("$Heap$", type[0]).replace("$type$", type[1])
+                    .replace("$before$", type[2]).replace("$note$", type[3]);
+            Path file = DIRECTORY.resolve(type[0] + ".java");
+            if (check) {
+                if (!Files.exists(file) || !Files.readString(file).equals(source)) {
+                    System.out.println(file + " is out of date");
+                    stale = true;
+                }
+            } else {
+                Files.writeString(file, source);
+                System.out.println("Wrote " + file);
+            }
+        }
+        if (stale) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package Language.Java.DataStructures.Heaps.BinaryHeap;
+
+import java.util.Arrays;
+
+/*
+ * Generated by HeapGenerator from its TEMPLATE. Edit the template and run the generator, not this file.
+ *
+ * Binary heap of int values, smallest or largest first as chosen at construction. Values are stored
+ * unboxed, and the sift loops move a hole instead of swapping, like BinaryHeap.
+ */
+public class IntHeap{
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private final boolean max;
+    private int[] items;
+    private int size = 0;
+
+    public IntHeap(Order order){
+        this(order, DEFAULT_CAPACITY);
+    }
+
+    public IntHeap(Order order, int initialCapacity){
+        if(order == null) throw new IllegalArgumentException("Order must not be null");
+        if(initialCapacity < 1) throw new IllegalArgumentException("Initial capacity must be positive: " + initialCapacity);
+        this.max = order == Order.MAX;
+        this.items = new int[initialCapacity];
+    }
+
+    public int getSize(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    public int peek(){
+        if(size == 0) throw new IllegalArgumentException("Heap is empty");
+        return items[0];
+    }
+
+    public int poll(){
+        if(size == 0) throw new IllegalArgumentException("Heap is empty");
+        int item = items[0];
+        int last = --size;
+        if(last > 0){
+            siftDown(0, items[last]);
+        }
+        return item;
+    }
+
+    public void add(int item){
+        if(size == items.length){
+            items = Arrays.copyOf(items, items.length * 2);
+        }
+        siftUp(size++, item);
+    }
+
+    public void clear(){
+        size = 0;
+    }
+
+    // The order is fixed at construction, so this branch always goes the same way and costs next to nothing
+    private boolean before(int a, int b){
+        return max ? a > b : a < b;
+    }
+
+    private void siftUp(int index, int item){
+        int[] heap = items;
+        while(index > 0){
+            int parentIndex = (index - 1) >>> 1;
+            int parent = heap[parentIndex];
+            if(!before(item, parent)) break;
+            heap[index] = parent;
+            index = parentIndex;
+        }
+        heap[index] = item;
+    }
+
+    private void siftDown(int index, int item){
+        int[] heap = items;
+        int end = size;
+        int half = end >>> 1; // Nodes below half have at least a left child
+        while(index < half){
+            int childIndex = (index << 1) + 1;
+            int child = heap[childIndex];
+            int rightIndex = childIndex + 1;
+            if(rightIndex < end && before(heap[rightIndex], child)){
+                childIndex = rightIndex;
+                child = heap[rightIndex];
+            }
+            if(!before(child, item)) break;
+            heap[index] = child;
+            index = childIndex;
+        }
+        heap[index] = item;
+    }
+}
@@ -0,0 +1,7 @@
+package Language.Java.DataStructures.Heaps.BinaryHeap;
+
+// Which element a heap hands out first
+public enum Order {
+    MIN,
+    MAX
+}
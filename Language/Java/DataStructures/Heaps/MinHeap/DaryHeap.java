@@ -0,0 +1,111 @@
+package Language.Java.DataStructures.Heaps.MinHeap;
+
+import java.util.Arrays;
+
+/*
+ * Min heap of ints where every node has `arity` children instead of two. The tree is log2(arity) times
+ * shallower, and the children of a node sit next to each other in the array, so heapifyDown reads one
+ * cache line per level where a binary heap touches a new line at almost every level deep in a large heap.
+ * poll() compares more children per level; add() gets cheaper because the path to the root is shorter.
+ *
+ * The root is stored at index arity - 1 rather than 0. That puts the first child of every node at a
+ * multiple of arity, so a node's children start at the same offset within a cache line instead of
+ * straddling two lines.
+ */
+public class DaryHeap{
+    private static final int DEFAULT_ARITY = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int arity;
+    private final int shift; // log2(arity)
+    private final int root;  // Index of the root
+    private int[] items;
+    private int end;         // One past the last element
+
+    public DaryHeap(){
+        this(DEFAULT_ARITY);
+    }
+
+    // arity must be a power of two, so child and parent indexes are shifts rather than divisions
+    public DaryHeap(int arity){
+        if(arity < 2 || Integer.bitCount(arity) != 1 || arity > 1 << 10){
+            throw new IllegalArgumentException("Arity must be a power of two between 2 and 1024: " + arity);
+        }
+        this.arity = arity;
+        this.shift = Integer.numberOfTrailingZeros(arity);
+        this.root = arity - 1;
+        this.items = new int[root + DEFAULT_CAPACITY];
+        this.end = root;
+    }
+
+    public int getSize(){
+        return end - root;
+    }
+
+    public boolean isEmpty(){
+        return end == root;
+    }
+
+    public int getArity(){
+        return arity;
+    }
+
+    public int peek(){
+        if(end == root) throw new IllegalArgumentException();
+        return items[root];
+    }
+
+    public int poll(){
+        if(end == root) throw new IllegalArgumentException();
+        int item = items[root];
+        int last = --end;
+        if(last > root){
+            heapifyDown(root, items[last]);
+        }
+        return item;
+    }
+
+    public void add(int item){
+        if(end == items.length){
+            items = Arrays.copyOf(items, root + (items.length - root) * 2);
+        }
+        heapifyUp(end++, item);
+    }
+
+    // Moves a hole up from index until item fits, then writes item once
+    private void heapifyUp(int index, int item){
+        int[] heap = items;
+        while(index > root){
+            int parentIndex = ((index - arity) >> shift) + root;
+            int parent = heap[parentIndex];
+            if(parent <= item) break;
+            heap[index] = parent;
+            index = parentIndex;
+        }
+        heap[index] = item;
+    }
+
+    // Moves a hole down from index, taking the smallest child each level, until item fits
+    private void heapifyDown(int index, int item){
+        int[] heap = items;
+        int last = end;
+        int limit = ((last - 1 - arity) >> shift) + root + 1; // Nodes below limit have at least one child
+        while(index < limit){
+            int child = (index - root + 1) << shift;
+            int stop = Math.min(child + arity, last);
+            int smallestIndex = child;
+            int smallest = heap[child];
+            for(int i = child + 1; i < stop; i++){
+                int value = heap[i];
+                if(value < smallest){
+                    smallest = value;
+                    smallestIndex = i;
+                }
+            }
+            if(smallest >= item) break;
+            heap[index] = smallest;
+            index = smallestIndex;
+        }
+        heap[index] = item;
+    }
+}
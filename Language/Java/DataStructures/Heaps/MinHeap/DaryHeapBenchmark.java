@@ -0,0 +1,130 @@
+package Language.Java.DataStructures.Heaps.MinHeap;
+
+import java.util.Random;
+
+/*
+ * add and poll speed of DaryHeap at arities 2 to 16, against the binary Heap, on 2M ints.
+ *   random:     add 2M random ints, then poll them all
+ *   ascending:  add 0, 1, 2, ...: every add stops at once, so poll does all the work
+ *   descending: add ..., 2, 1, 0: every add sifts all the way to the root
+ *   timers:     a scheduler queue holding 2M timers; each step polls the next deadline and adds one
+ *               that is further in the future, so new deadlines are always larger than the current one
+ * Each number is the best of ROUNDS runs, in ns per operation. Run with a heap large enough for the arrays,
+ * e.g. -Xmx1g.
+ */
+public class DaryHeapBenchmark {
+
+    interface MinHeap {
+        void add(int item);
+
+        int poll();
+    }
+
+    static final int N = 1 << 21;
+    static final int ROUNDS = 5;
+    static final int[] ARITIES = {2, 4, 8, 16};
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        int[] randomValues = random.ints(N).toArray();
+        int[] ascending = new int[N];
+        int[] descending = new int[N];
+        for (int i = 0; i < N; i++) {
+            ascending[i] = i;
+            descending[i] = N - 1 - i;
+        }
+        int[] delays = random.ints(N, 1, N).toArray();
+
+        System.out.printf("%-10s %-12s %10s %10s%n", "Pattern", "Heap", "add (ns)", "poll (ns)");
+        runFill("random", randomValues);
+        runFill("ascending", ascending);
+        runFill("descending", descending);
+        runTimers(randomValues, delays);
+    }
+
+    static void runFill(String pattern, int[] values) {
+        for (int index = 0; index <= ARITIES.length; index++) {
+            double addNanos = Double.MAX_VALUE;
+            double pollNanos = Double.MAX_VALUE;
+            long checksum = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                MinHeap heap = create(index);
+                long start = System.nanoTime();
+                for (int value : values) {
+                    heap.add(value);
+                }
+                addNanos = Math.min(addNanos, (double) (System.nanoTime() - start) / N);
+                int previous = Integer.MIN_VALUE;
+                start = System.nanoTime();
+                for (int i = 0; i < N; i++) {
+                    int value = heap.poll();
+                    if (value < previous) {
+                        throw new RuntimeException(name(index) + " polled out of order");
+                    }
+                    previous = value;
+                    checksum += value;
+                }
+                pollNanos = Math.min(pollNanos, (double) (System.nanoTime() - start) / N);
+            }
+            System.out.printf("%-10s %-12s %10.1f %10.1f%n", pattern, name(index), addNanos, pollNanos);
+            if (checksum == 42) {
+                System.out.println(); // Keeps the loops from being optimized away
+            }
+        }
+    }
+
+    // One poll and one add per step, with the heap staying at N timers
+    static void runTimers(int[] deadlines, int[] delays) {
+        for (int index = 0; index <= ARITIES.length; index++) {
+            double stepNanos = Double.MAX_VALUE;
+            long checksum = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                MinHeap heap = create(index);
+                for (int deadline : deadlines) {
+                    heap.add(deadline >>> 1); // Non-negative, so now + delay cannot overflow for a while
+                }
+                long start = System.nanoTime();
+                for (int delay : delays) {
+                    int now = heap.poll();
+                    heap.add(now + delay);
+                    checksum += now;
+                }
+                stepNanos = Math.min(stepNanos, (double) (System.nanoTime() - start) / N);
+            }
+            System.out.printf("%-10s %-12s %21.1f  (poll + add)%n", "timers", name(index), stepNanos);
+            if (checksum == 42) {
+                System.out.println();
+            }
+        }
+    }
+
+    // Index 0 is the binary Heap, 1.. are the DaryHeap arities
+    static MinHeap create(int index) {
+        if (index == 0) {
+            Heap heap = new Heap();
+            return new MinHeap() {
+                public void add(int item) {
+                    heap.add(item);
+                }
+
+                public int poll() {
+                    return heap.poll();
+                }
+            };
+        }
+        DaryHeap heap = new DaryHeap(ARITIES[index - 1]);
+        return new MinHeap() {
+            public void add(int item) {
+                heap.add(item);
+            }
+
+            public int poll() {
+                return heap.poll();
+            }
+        };
+    }
+
+    static String name(int index) {
+        return index == 0 ? "Heap" : "Dary(" + ARITIES[index - 1] + ")";
+    }
+}
@@ -0,0 +1,93 @@
+package Language.Java.DataStructures.Heaps.MinHeap;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class DaryHeapTest {
+    public static void main(String[] args) {
+        System.out.println("=== D-ary Min Heap Implementation Tests ===\n");
+
+        // Test 1: Default arity
+        System.out.println("Test 1: Creating an empty heap with the default arity");
+        DaryHeap heap1 = new DaryHeap();
+        System.out.println("Expected arity: 4, size: 0");
+        System.out.println("Actual arity: " + heap1.getArity() + ", size: " + heap1.getSize());
+        System.out.println("✓ Test 1 passed\n");
+
+        // Test 2: Same results as Heap for every arity
+        System.out.println("Test 2: Polling [42, 17, 8, 31, 23, 5, 12] at arities 2, 4, 8 and 16");
+        int[] unsorted = {42, 17, 8, 31, 23, 5, 12};
+        System.out.println("Expected: 5 8 12 17 23 31 42");
+        for (int arity : new int[]{2, 4, 8, 16}) {
+            DaryHeap heap = new DaryHeap(arity);
+            for (int num : unsorted) {
+                heap.add(num);
+            }
+            StringBuilder polled = new StringBuilder();
+            while (!heap.isEmpty()) {
+                polled.append(heap.poll()).append(' ');
+            }
+            System.out.println("Arity " + arity + ": " + polled.toString().trim());
+        }
+        System.out.println("✓ Test 2 passed\n");
+
+        // Test 3: Growing past the initial capacity
+        System.out.println("Test 3: Adding 1000 elements in descending order to an 8-ary heap");
+        DaryHeap heap3 = new DaryHeap(8);
+        for (int i = 1000; i >= 1; i--) {
+            heap3.add(i);
+        }
+        System.out.println("Expected size: 1000, minimum: 1");
+        System.out.println("Actual size: " + heap3.getSize() + ", minimum: " + heap3.peek());
+        System.out.println("✓ Test 3 passed\n");
+
+        // Test 4: Edge cases
+        System.out.println("Test 4: Edge cases - empty heap and invalid arities");
+        DaryHeap emptyHeap = new DaryHeap();
+        expectException("peek() on empty heap", () -> emptyHeap.peek());
+        expectException("poll() on empty heap", () -> emptyHeap.poll());
+        expectException("Arity 3 (not a power of two)", () -> new DaryHeap(3));
+        expectException("Arity 1", () -> new DaryHeap(1));
+        System.out.println();
+
+        // Test 5: Random adds and polls against java.util.PriorityQueue
+        System.out.println("Test 5: 300000 random operations against PriorityQueue, including MIN_VALUE and MAX_VALUE");
+        for (int arity : new int[]{2, 4, 8, 16, 64}) {
+            Random random = new Random(arity);
+            DaryHeap heap = new DaryHeap(arity);
+            PriorityQueue<Integer> reference = new PriorityQueue<>();
+            int mismatches = 0;
+            for (int i = 0; i < 300000; i++) {
+                if (reference.isEmpty() || random.nextInt(5) < 3) {
+                    int value = switch (random.nextInt(10)) {
+                        case 0 -> Integer.MIN_VALUE;
+                        case 1 -> Integer.MAX_VALUE;
+                        default -> random.nextInt();
+                    };
+                    heap.add(value);
+                    reference.add(value);
+                } else if (heap.poll() != reference.poll()) {
+                    mismatches++;
+                }
+            }
+            while (!reference.isEmpty()) {
+                if (heap.poll() != reference.poll()) {
+                    mismatches++;
+                }
+            }
+            System.out.println("Arity " + arity + ": mismatches " + mismatches + " (expected: 0), empty: " + heap.isEmpty());
+        }
+        System.out.println("✓ Test 5 passed\n");
+
+        System.out.println("=== All Tests Completed ===");
+    }
+
+    static void expectException(String name, Runnable action) {
+        try {
+            action.run();
+            System.out.println("✗ " + name + " FAILED: Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            System.out.println("✓ " + name + ": Correctly threw IllegalArgumentException");
+        }
+    }
+}